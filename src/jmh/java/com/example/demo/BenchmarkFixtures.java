@@ -0,0 +1,77 @@
+package com.example.demo;
+
+import com.example.demo.models.entities.Booking;
+import com.example.demo.models.entities.Event;
+import com.example.demo.models.entities.Genre;
+import com.example.demo.models.entities.Hall;
+import com.example.demo.models.entities.Performer;
+import com.example.demo.models.entities.User;
+import com.example.demo.models.enums.EventType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Данные для бенчмарков — по образцу Init.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Event event(int index) {
+        Hall hall = new Hall();
+        hall.setId(UUID.randomUUID().toString());
+        hall.setName("Большой зал филармонии");
+        hall.setAddress("ул. Пушкина, д. 1");
+        hall.setCapacity(500);
+
+        Genre genre = new Genre("Классическая музыка");
+        genre.setId(UUID.randomUUID().toString());
+
+        Performer performer = new Performer();
+        performer.setId(UUID.randomUUID().toString());
+        performer.setName("Московский симфонический оркестр");
+        performer.setDescription("Один из ведущих оркестров страны");
+        performer.setGenre(genre);
+
+        Event event = new Event();
+        event.setId(UUID.randomUUID().toString());
+        event.setCreatedAt(LocalDateTime.now());
+        event.setTitle("Вечер классической музыки " + index);
+        event.setDescription("В программе: симфонии Бетховена, произведения Чайковского и Моцарта.");
+        event.setDateTime(LocalDateTime.of(2026, 12, 15, 19, 0).plusDays(index));
+        event.setHall(hall);
+        event.setAvailableSeats(150);
+        event.setEventType(EventType.CONCERT);
+        event.setGenre(genre);
+        event.setImageUrl("https://example.com/images/event-" + index + ".jpg");
+        event.setPerformers(new ArrayList<>(List.of(performer)));
+        return event;
+    }
+
+    public static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(event(i));
+        }
+        return events;
+    }
+
+    public static Booking booking(Event event) {
+        User user = new User("user", "hash", "user@example.com", "Иван Иванов", 30);
+        user.setId(UUID.randomUUID().toString());
+
+        Booking booking = new Booking();
+        booking.setId(UUID.randomUUID().toString());
+        booking.setCreatedAt(LocalDateTime.now());
+        booking.setUser(user);
+        booking.setEvent(event);
+        booking.setSeatsCount(3);
+        booking.setSeatLabels("Партер/3/11, Партер/3/12, Партер/3/13");
+        booking.setComment("Места поближе к сцене");
+        return booking;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.config;
+
+import com.example.demo.BenchmarkFixtures;
+import com.example.demo.dto.ShowDetailedEventInfoDto;
+import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.models.entities.Event;
+import com.example.demo.services.cache.BinaryCacheValueSerializer;
+import com.example.demo.services.mapping.EventMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация значений кэша: список афиши (кэш events) и карточка мероприятия (кэш event)
+ * в прежнем JSON, в двоичной схеме без сжатия и в двоичной схеме с LZ4 (порог 0 — сжимается всё,
+ * что от этого короче). Размер значения в байтах выводится в отчёте вспомогательным счётчиком bytes.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisSerializationBenchmark {
+
+    @Param({"12", "200"})
+    public int events;
+
+    @Param({"JSON", "BINARY", "BINARY_LZ4"})
+    public String format;
+
+    private RedisSerializer<Object> serializer;
+    private ArrayList<ShowEventInfoDto> eventList;
+    private ShowDetailedEventInfoDto eventDetails;
+    private byte[] eventListBytes;
+    private byte[] eventDetailsBytes;
+
+    @Setup
+    public void setUp() {
+        RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer(new RedisConfig().redisObjectMapper());
+        serializer = switch (format) {
+            case "JSON" -> json;
+            case "BINARY" -> new BinaryCacheValueSerializer(json, -1);
+            case "BINARY_LZ4" -> new BinaryCacheValueSerializer(json, 0);
+            default -> throw new IllegalArgumentException("Неизвестный формат: " + format);
+        };
+        EventMapper mapper = Mappers.getMapper(EventMapper.class);
+
+        List<Event> fixtures = BenchmarkFixtures.events(events);
+        eventList = new ArrayList<>();
+        for (Event event : fixtures) {
+            eventList.add(mapper.toShowEventInfoDto(event));
+        }
+
+        eventDetails = mapper.toShowDetailedEventInfoDto(fixtures.get(0));
+
+        eventListBytes = serializer.serialize(eventList);
+        eventDetailsBytes = serializer.serialize(eventDetails);
+    }
+
+    /**
+     * Размер сериализованного значения; одинаков во всех вызовах, поэтому не суммируется, а присваивается.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ValueSize {
+        public long bytes;
+    }
+
+    @Benchmark
+    public byte[] serializeEventList(ValueSize size) {
+        size.bytes = eventListBytes.length;
+        return serializer.serialize(eventList);
+    }
+
+    @Benchmark
+    public Object deserializeEventList(ValueSize size) {
+        size.bytes = eventListBytes.length;
+        return serializer.deserialize(eventListBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeEventDetails(ValueSize size) {
+        size.bytes = eventDetailsBytes.length;
+        return serializer.serialize(eventDetails);
+    }
+
+    @Benchmark
+    public Object deserializeEventDetails(ValueSize size) {
+        size.bytes = eventDetailsBytes.length;
+        return serializer.deserialize(eventDetailsBytes);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.services;
+
+import com.example.demo.models.entities.Event;
+import com.example.demo.models.enums.EventType;
+import com.example.demo.services.search.EventFacetIndex;
+import com.example.demo.services.search.EventSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сборка Specification фильтра афиши (без выполнения запроса).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterSpecBenchmark {
+
+    @Param({"none", "all"})
+    public String filters;
+
+    private EventServiceImpl eventService;
+    private String search;
+    private EventType type;
+    private String genreName;
+
+    @Setup
+    public void setUp() {
+        eventService = new EventServiceImpl(null, null, null, new EventSearchIndex(null), new EventFacetIndex(null, null), null, null, null, null, 1000);
+
+        if (filters.equals("all")) {
+            search = "джаз";
+            type = EventType.CONCERT;
+            genreName = "Джаз";
+        }
+    }
+
+    @Benchmark
+    public Specification<Event> buildFilterSpec() {
+        return eventService.buildFilterSpec(search, type, genreName);
+    }
+}
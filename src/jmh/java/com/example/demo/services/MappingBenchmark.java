@@ -0,0 +1,90 @@
+package com.example.demo.services;
+
+import com.example.demo.BenchmarkFixtures;
+import com.example.demo.dto.BookingViewDto;
+import com.example.demo.dto.ShowDetailedEventInfoDto;
+import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.models.entities.Booking;
+import com.example.demo.models.entities.Event;
+import com.example.demo.services.mapping.BookingMapper;
+import com.example.demo.services.mapping.EventMapper;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity → DTO для карточек афиши, страницы мероприятия и списка бронирований:
+ * сгенерированные мапперы MapStruct против прежнего ModelMapper (рефлексия, донастройка вручную).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private EventMapper eventMapper;
+    private BookingMapper bookingMapper;
+    private Event event;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        eventMapper = Mappers.getMapper(EventMapper.class);
+        bookingMapper = Mappers.getMapper(BookingMapper.class);
+        event = BenchmarkFixtures.event(1);
+        booking = BenchmarkFixtures.booking(event);
+    }
+
+    @Benchmark
+    public ShowEventInfoDto toShowEventInfoDto() {
+        return eventMapper.toShowEventInfoDto(event);
+    }
+
+    @Benchmark
+    public ShowDetailedEventInfoDto toShowDetailedEventInfoDto() {
+        return eventMapper.toShowDetailedEventInfoDto(event);
+    }
+
+    @Benchmark
+    public BookingViewDto toBookingViewDto() {
+        return bookingMapper.toBookingViewDto(booking);
+    }
+
+    @Benchmark
+    public ShowEventInfoDto modelMapperShowEventInfoDto() {
+        ShowEventInfoDto dto = modelMapper.map(event, ShowEventInfoDto.class);
+        dto.setHallName(event.getHall().getName());
+        dto.setGenreName(event.getGenre().getName());
+        return dto;
+    }
+
+    @Benchmark
+    public ShowDetailedEventInfoDto modelMapperShowDetailedEventInfoDto() {
+        ShowDetailedEventInfoDto dto = modelMapper.map(event, ShowDetailedEventInfoDto.class);
+        dto.setHallName(event.getHall().getName());
+        dto.setHallAddress(event.getHall().getAddress());
+        dto.setCapacity(event.getHall().getCapacity());
+        dto.setGenreName(event.getGenre().getName());
+        return dto;
+    }
+
+    @Benchmark
+    public BookingViewDto modelMapperBookingViewDto() {
+        BookingViewDto dto = modelMapper.map(booking, BookingViewDto.class);
+        dto.setEventTitle(booking.getEvent().getTitle());
+        dto.setEventDateTime(booking.getEvent().getDateTime());
+        dto.setHallName(booking.getEvent().getHall().getName());
+        dto.setUserFullName(booking.getUser().getFullName());
+        dto.setUserEmail(booking.getUser().getEmail());
+        if (dto.getComment() == null || dto.getComment().isBlank()) {
+            dto.setComment("Без комментария");
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.demo.services.search;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск по синтетической афише: LIKE по названию (как EventSpecification.titleContains)
+ * против полнотекстового поиска с GIN-индексом и ts_rank (как EventRepository.searchFullText).
+ * Каждый вызов — страница из 10 строк и подсчёт общего числа, как в EventController.showAllEvents.
+ * <p>
+ * Нужен PostgreSQL; таблица bench_events создаётся и удаляется самим бенчмарком.
+ * Адрес базы: {@code -Djmh.args="FullTextSearchBenchmark -jvmArgs -Dbench.db.url=jdbc:postgresql://..."}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FullTextSearchBenchmark {
+
+    private static final String TABLE_DDL = """
+            CREATE TABLE bench_events (
+                id varchar(36) PRIMARY KEY,
+                title varchar(255) NOT NULL,
+                description varchar(255) NOT NULL,
+                search_terms text,
+                search_vector tsvector GENERATED ALWAYS AS (
+                    setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+                    setweight(to_tsvector('russian', coalesce(search_terms, '')), 'B') ||
+                    setweight(to_tsvector('russian', coalesce(description, '')), 'C')
+                ) STORED
+            )
+            """;
+
+    // названия, описания и исполнители собираются из словарей по номеру строки
+    private static final String FILL = """
+            INSERT INTO bench_events (id, title, description, search_terms)
+            SELECT md5(i::text),
+                   (ARRAY['Концерт', 'Вечер', 'Гала-концерт', 'Фестиваль', 'Абонемент'])[1 + i % 5] || ' ' ||
+                   (ARRAY['классической музыки', 'джаза', 'органной музыки', 'романсов', 'камерной музыки',
+                          'народной песни', 'рок-музыки'])[1 + (i / 5) % 7] || ' №' || i,
+                   (ARRAY['В программе произведения Чайковского и Рахманинова',
+                          'Импровизации и стандарты в исполнении оркестра',
+                          'Вечер при свечах в малом зале',
+                          'Премьера новой программы солистов',
+                          'Лучшие концерты сезона для всей семьи'])[1 + (i / 35) % 5],
+                   (ARRAY['Классическая музыка', 'Джаз', 'Рок'])[1 + i % 3] || ' ' ||
+                   (ARRAY['Московский симфонический оркестр', 'Джаз-бэнд «Свинг»', 'Группа «Рок-Волна»',
+                          'Камерный хор', 'Струнный квартет'])[1 + (i / 7) % 5]
+            FROM generate_series(1, ?) AS i
+            """;
+
+    private static final String LIKE_PAGE =
+            "SELECT id, title FROM bench_events WHERE lower(title) LIKE ? ORDER BY title LIMIT 10";
+    private static final String LIKE_COUNT =
+            "SELECT count(*) FROM bench_events WHERE lower(title) LIKE ?";
+    private static final String FULL_TEXT_PAGE = """
+            SELECT id, title FROM bench_events
+            WHERE search_vector @@ websearch_to_tsquery('russian', ?)
+            ORDER BY ts_rank(search_vector, websearch_to_tsquery('russian', ?)) DESC, id
+            LIMIT 10
+            """;
+    private static final String FULL_TEXT_COUNT =
+            "SELECT count(*) FROM bench_events WHERE search_vector @@ websearch_to_tsquery('russian', ?)";
+
+    @Param({"10000", "200000"})
+    public int catalogSize;
+
+    @Param({"джаз", "органной музыки"})
+    public String query;
+
+    private Connection connection;
+    private PreparedStatement likePage;
+    private PreparedStatement likeCount;
+    private PreparedStatement fullTextPage;
+    private PreparedStatement fullTextCount;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5433/philharmonic-db"),
+                System.getProperty("bench.db.username", "postgres"),
+                System.getProperty("bench.db.password", "osdfinale"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_events");
+            statement.execute(TABLE_DDL);
+        }
+        try (PreparedStatement fill = connection.prepareStatement(FILL)) {
+            fill.setInt(1, catalogSize);
+            fill.executeUpdate();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX ON bench_events USING GIN (search_vector)");
+            statement.execute("ANALYZE bench_events");
+        }
+
+        String pattern = "%" + query.toLowerCase() + "%";
+        likePage = connection.prepareStatement(LIKE_PAGE);
+        likePage.setString(1, pattern);
+        likeCount = connection.prepareStatement(LIKE_COUNT);
+        likeCount.setString(1, pattern);
+        fullTextPage = connection.prepareStatement(FULL_TEXT_PAGE);
+        fullTextPage.setString(1, query);
+        fullTextPage.setString(2, query);
+        fullTextCount = connection.prepareStatement(FULL_TEXT_COUNT);
+        fullTextCount.setString(1, query);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_events");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void like(Blackhole blackhole) throws SQLException {
+        consume(likePage, blackhole);
+        consume(likeCount, blackhole);
+    }
+
+    @Benchmark
+    public void fullText(Blackhole blackhole) throws SQLException {
+        consume(fullTextPage, blackhole);
+        consume(fullTextCount, blackhole);
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getString(1));
+            }
+        }
+    }
+}
@@ -172,11 +172,13 @@ public class Init implements CommandLineRunner {
             hall2.setName("Малый камерный зал");
             hall2.setAddress("ул. Пушкина, 10, Москва");
             hall2.setCapacity(300);
+            hall2.setSeatLayout("Партер:10x20;Балкон:5x20");
 
             Hall hall3 = new Hall();
             hall3.setName("Органный зал");
             hall3.setAddress("ул. Гагарина, 5, Москва");
             hall3.setCapacity(500);
+            hall3.setSeatLayout("Партер:20x20;Амфитеатр:5x20");
 
             Hall hall4 = new Hall();
             hall4.setName("Зал имени Чайковского");
@@ -367,6 +369,7 @@ public class Init implements CommandLineRunner {
             event3.setDateTime(LocalDateTime.of(2024, 12, 25, 18, 0));
             event3.setHall(hall1);
             event3.setAvailableSeats(200);
+            event3.setHighDemand(true);
             event3.setEventType(EventType.FESTIVAL);
             event3.setGenre(genre3);
             event3.setImageUrl("https://www.interfax.ru/ftproot/textphotos/2023/06/02/en700.jpg");
@@ -1,18 +1,13 @@
 package com.example.demo.config;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableCaching
 @EnableJpaAuditing
+@EnableScheduling
 public class BeanConfiguration {
-
-    @Bean
-    public ModelMapper mapper() {
-        return new ModelMapper();
-    }
 }
@@ -0,0 +1,69 @@
+package com.example.demo.config;
+
+import com.example.demo.models.enums.BookingPipelineMode;
+import com.example.demo.models.enums.SeatReservationMode;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.services.pipeline.ActorBookingPipeline;
+import com.example.demo.services.pipeline.BookingBatchWriter;
+import com.example.demo.services.pipeline.BookingPipeline;
+import com.example.demo.services.pipeline.DirectBookingPipeline;
+import com.example.demo.services.pipeline.GroupCommitBookingPipeline;
+import com.example.demo.services.seats.ConditionalUpdateSeatReservationStrategy;
+import com.example.demo.services.seats.LedgerSeatReservationStrategy;
+import com.example.demo.services.seats.OptimisticSeatReservationStrategy;
+import com.example.demo.services.seats.PessimisticSeatReservationStrategy;
+import com.example.demo.services.seats.PublishingSeatReservationStrategy;
+import com.example.demo.services.seats.SeatInventoryLedger;
+import com.example.demo.services.seats.SeatReservationStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+public class BookingConfiguration {
+
+    @Bean
+    public SeatReservationStrategy seatReservationStrategy(
+            @Value("${app.booking.seat-strategy:LEDGER}") SeatReservationMode mode,
+            SeatInventoryLedger seatLedger,
+            EventRepository eventRepository,
+            ApplicationEventPublisher eventPublisher) {
+
+        log.info("Стратегия списания мест: {}", mode);
+
+        SeatReservationStrategy strategy = switch (mode) {
+            case LEDGER -> new LedgerSeatReservationStrategy(seatLedger);
+            case OPTIMISTIC -> new OptimisticSeatReservationStrategy(eventRepository);
+            case PESSIMISTIC -> new PessimisticSeatReservationStrategy(eventRepository);
+            case CONDITIONAL_UPDATE -> new ConditionalUpdateSeatReservationStrategy(eventRepository);
+        };
+        return new PublishingSeatReservationStrategy(strategy, eventPublisher);
+    }
+
+    @Bean
+    public BookingPipeline bookingPipeline(
+            @Value("${app.booking.pipeline:DIRECT}") BookingPipelineMode mode,
+            @Value("${app.booking.pipeline.max-batch-size:64}") int maxBatchSize,
+            @Value("${app.booking.pipeline.max-wait-micros:2000}") long maxWaitMicros,
+            @Value("${app.booking.actor.mailbox-capacity:1024}") int mailboxCapacity,
+            @Value("${app.booking.actor.offer-timeout-ms:200}") long offerTimeoutMillis,
+            @Value("${app.booking.actor.idle-timeout-seconds:300}") long idleTimeoutSeconds,
+            BookingBatchWriter batchWriter,
+            MeterRegistry meterRegistry) {
+
+        log.info("Запись бронирований: {}", mode);
+
+        return switch (mode) {
+            case DIRECT -> new DirectBookingPipeline(batchWriter);
+            case GROUP_COMMIT -> new GroupCommitBookingPipeline(batchWriter, meterRegistry, maxBatchSize, maxWaitMicros);
+            case ACTOR -> new ActorBookingPipeline(batchWriter, meterRegistry, mailboxCapacity, maxBatchSize,
+                    Duration.ofMillis(offerTimeoutMillis), Duration.ofSeconds(idleTimeoutSeconds));
+        };
+    }
+}
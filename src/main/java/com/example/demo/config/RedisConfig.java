@@ -1,6 +1,8 @@
 package com.example.demo.config;
 
 
+import com.example.demo.models.enums.CacheValueFormat;
+import com.example.demo.services.cache.BinaryCacheValueSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
@@ -15,6 +17,7 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -51,9 +54,16 @@ public class RedisConfig {
     }
 
     @Bean
-    public RedisCacheConfiguration defaultCacheConfig(ObjectMapper redisObjectMapper) {
+    public RedisCacheConfiguration defaultCacheConfig(
+            ObjectMapper redisObjectMapper,
+            @Value("${app.cache.value-format:JSON}") CacheValueFormat valueFormat,
+            @Value("${app.cache.compression-threshold-bytes:1024}") int compressionThreshold) {
         StringRedisSerializer keySerializer = new StringRedisSerializer();
-        GenericJackson2JsonRedisSerializer valueSerializer = new GenericJackson2JsonRedisSerializer(redisObjectMapper);
+        RedisSerializer<Object> valueSerializer = new GenericJackson2JsonRedisSerializer(redisObjectMapper);
+        if (valueFormat == CacheValueFormat.BINARY) {
+            // JSON остаётся для чтения прежних значений и для типов вне двоичной схемы
+            valueSerializer = new BinaryCacheValueSerializer(valueSerializer, compressionThreshold);
+        }
 
         return RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(2))
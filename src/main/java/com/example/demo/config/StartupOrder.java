@@ -0,0 +1,18 @@
+package com.example.demo.config;
+
+import org.springframework.core.Ordered;
+
+/**
+ * Порядок обработчиков ApplicationReadyEvent, которые зависят друг от друга:
+ * сначала недостающие slug (их показывают карточки во всех индексах и кэшах),
+ * затем индексы в памяти, последним — прогрев кэшей.
+ */
+public final class StartupOrder {
+
+    public static final int SLUGS = Ordered.HIGHEST_PRECEDENCE;
+    public static final int INDEXES = 0;
+    public static final int CACHE_WARMUP = Ordered.LOWEST_PRECEDENCE;
+
+    private StartupOrder() {
+    }
+}
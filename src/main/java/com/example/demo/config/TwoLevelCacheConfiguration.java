@@ -0,0 +1,99 @@
+package com.example.demo.config;
+
+import com.example.demo.services.cache.CacheGenerations;
+import com.example.demo.services.cache.CacheInvalidationBus;
+import com.example.demo.services.cache.CacheLoadPolicy;
+import com.example.demo.services.cache.CacheTagIndex;
+import com.example.demo.services.cache.CacheTagResolver;
+import com.example.demo.services.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+/**
+ * Кэши сервисов: L1 в памяти процесса перед Redis, теги записей и поколения ключей в Redis.
+ * Включается вместе с spring.cache.type=redis; при другом типе (например, none в тестах)
+ * Spring Boot настраивает кэш сам.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class TwoLevelCacheConfiguration {
+
+    @Bean
+    public CacheGenerations cacheGenerations(StringRedisTemplate redisTemplate,
+                                             @Value("${app.cache.l1.ttl-seconds:30}") long localTtlSeconds) {
+        // номер поколения перечитывается так же часто, как истекает L1
+        return new CacheGenerations(redisTemplate, Duration.ofSeconds(localTtlSeconds));
+    }
+
+    @Bean
+    public CacheTagIndex cacheTagIndex(StringRedisTemplate redisTemplate, RedisCacheConfiguration defaultCacheConfig) {
+        // множества тегов живут чуть дольше самих записей
+        return new CacheTagIndex(redisTemplate, defaultCacheConfig.getTtlFunction()
+                .getTimeToLive(Object.class, null).plusMinutes(1));
+    }
+
+    @Bean
+    public CacheLoadPolicy cacheLoadPolicy(StringRedisTemplate redisTemplate,
+                                           RedisCacheConfiguration defaultCacheConfig,
+                                           @Value("${app.cache.load-lock.enabled:false}") boolean lockEnabled,
+                                           @Value("${app.cache.load-lock.timeout-ms:5000}") long lockTimeoutMs,
+                                           @Value("${app.cache.early-refresh.beta:1.0}") double beta) {
+        log.info("Загрузка значений кэша: блокировка между узлами {}, раннее обновление beta={}",
+                lockEnabled ? "включена" : "выключена", beta);
+        return new CacheLoadPolicy(redisTemplate, defaultCacheConfig.getTtlFunction().getTimeToLive(Object.class, null),
+                lockEnabled, Duration.ofMillis(lockTimeoutMs), beta);
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(
+            StringRedisTemplate redisTemplate,
+            CacheGenerations cacheGenerations,
+            @Value("${app.cache.invalidation-channel:app:cache:invalidation}") String channel) {
+        return new CacheInvalidationBus(redisTemplate, cacheGenerations, channel);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                   CacheInvalidationBus cacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(cacheInvalidationBus.channel()));
+        return container;
+    }
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             RedisCacheConfiguration defaultCacheConfig,
+                                             CacheInvalidationBus cacheInvalidationBus,
+                                             CacheTagIndex cacheTagIndex,
+                                             CacheTagResolver cacheTagResolver,
+                                             CacheGenerations cacheGenerations,
+                                             CacheLoadPolicy cacheLoadPolicy,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${app.cache.l1.max-size:10000}") long localMaxSize,
+                                             @Value("${app.cache.l1.ttl-seconds:30}") long localTtlSeconds) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaultCacheConfig.computePrefixWith(cacheGenerations::prefix))
+                .enableStatistics()
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        log.info("Кэш L1 перед Redis: до {} записей на кэш, время жизни {} с", localMaxSize, localTtlSeconds);
+
+        return new TwoLevelCacheManager(redisCacheManager, cacheInvalidationBus, cacheTagIndex, cacheTagResolver,
+                cacheGenerations, cacheLoadPolicy, meterRegistry, localMaxSize, Duration.ofSeconds(localTtlSeconds));
+    }
+}
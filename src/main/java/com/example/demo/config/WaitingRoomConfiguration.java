@@ -0,0 +1,58 @@
+package com.example.demo.config;
+
+import com.example.demo.controllers.WaitingRoomInterceptor;
+import com.example.demo.models.enums.WaitingRoomStoreMode;
+import com.example.demo.services.routing.EventRoutes;
+import com.example.demo.services.waitingroom.AdmissionTokenSigner;
+import com.example.demo.services.waitingroom.InMemoryWaitingRoomStore;
+import com.example.demo.services.waitingroom.RedisWaitingRoomStore;
+import com.example.demo.services.waitingroom.WaitingRoom;
+import com.example.demo.services.waitingroom.WaitingRoomStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Slf4j
+@Configuration
+public class WaitingRoomConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<WaitingRoom> waitingRoom;
+    private final ObjectProvider<EventRoutes> eventRoutes;
+
+    public WaitingRoomConfiguration(ObjectProvider<WaitingRoom> waitingRoom, ObjectProvider<EventRoutes> eventRoutes) {
+        this.waitingRoom = waitingRoom;
+        this.eventRoutes = eventRoutes;
+    }
+
+    @Bean
+    public WaitingRoomStore waitingRoomStore(
+            @Value("${app.waiting-room.store:MEMORY}") WaitingRoomStoreMode mode,
+            ObjectProvider<StringRedisTemplate> redisTemplate) {
+
+        log.info("Хранилище виртуальной очереди: {}", mode);
+
+        return switch (mode) {
+            case MEMORY -> new InMemoryWaitingRoomStore();
+            case REDIS -> new RedisWaitingRoomStore(redisTemplate.getObject());
+        };
+    }
+
+    @Bean
+    public AdmissionTokenSigner admissionTokenSigner(@Value("${app.waiting-room.secret:}") String secret) {
+        if (secret.isBlank()) {
+            log.warn("app.waiting-room.secret не задан: пропуска из очереди действуют только на этом узле");
+        }
+        return new AdmissionTokenSigner(secret);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new WaitingRoomInterceptor(waitingRoom, eventRoutes))
+                .addPathPatterns("/bookings/create/**", "/bookings/hold/**", "/cart/add/**", "/cart/checkout");
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.demo.controllers;
 
 import com.example.demo.dto.BookingCreateDto;
+import com.example.demo.models.exceptions.EventNotFoundException;
 import com.example.demo.services.AuthService;
 import com.example.demo.services.BookingService;
+import com.example.demo.services.SeatHoldService;
+import com.example.demo.services.WaitlistService;
+import com.example.demo.services.routing.EventRoute;
+import com.example.demo.services.routing.EventRoutes;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.security.Principal;
+import java.util.Optional;
 
 @Slf4j
 @Controller
@@ -20,11 +27,21 @@ import java.security.Principal;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final SeatHoldService seatHoldService;
+    private final WaitlistService waitlistService;
     private final AuthService authService;
+    private final EventRoutes eventRoutes;
 
-    public BookingController(BookingService bookingService, AuthService authService) {
+    public BookingController(BookingService bookingService,
+                             SeatHoldService seatHoldService,
+                             WaitlistService waitlistService,
+                             AuthService authService,
+                             EventRoutes eventRoutes) {
         this.bookingService = bookingService;
+        this.seatHoldService = seatHoldService;
+        this.waitlistService = waitlistService;
         this.authService = authService;
+        this.eventRoutes = eventRoutes;
     }
 
     @ModelAttribute("bookingCreateDto")
@@ -44,17 +61,26 @@ public class BookingController {
         return dto;
     }
 
-    @GetMapping("/create/{title}")
+    @GetMapping("/create/{slug}")
     @PreAuthorize("isAuthenticated()")
-    public String showBookingForm(@PathVariable String title,
+    public String showBookingForm(@PathVariable String slug,
                                   Model model,
-                                  Principal principal) {
-        log.debug("Отображение формы бронирования для мероприятия: {}", title);
+                                  Principal principal,
+                                  HttpServletRequest request) {
+        log.debug("Отображение формы бронирования для мероприятия: {}", slug);
+
+        Optional<EventRoute> route = eventRoutes.resolve(slug);
+        if (route.isEmpty()) {
+            return eventRoutes.slugForTitle(slug)
+                    .map(found -> LegacyRedirects.movedPermanently(request, "/bookings/create/" + found))
+                    .orElseThrow(() -> new EventNotFoundException("Мероприятие '" + slug + "' не найдено"));
+        }
 
         try {
             var user = authService.getUser(principal.getName());
             model.addAttribute("user", user);
-            model.addAttribute("title", title);
+            model.addAttribute("title", route.get().title());
+            model.addAttribute("slug", slug);
 
             if (!model.containsAttribute("bookingCreateDto")) {
                 BookingCreateDto dto = new BookingCreateDto();
@@ -71,13 +97,15 @@ public class BookingController {
         return "booking-create";
     }
 
-    @PostMapping("/create/{title}")
+    @PostMapping("/create/{slug}")
     @PreAuthorize("isAuthenticated()")
-    public String createBooking(@PathVariable String title,
+    public String createBooking(@PathVariable String slug,
                                 @Valid @ModelAttribute BookingCreateDto bookingCreateDto,
                                 BindingResult bindingResult,
                                 RedirectAttributes redirectAttributes,
                                 Principal principal) {
+        EventRoute route = eventRoutes.require(slug);
+        String title = route.title();
         log.debug("Обработка бронирования для мероприятия: {}", title);
 
         if (bindingResult.hasErrors()) {
@@ -85,11 +113,11 @@ public class BookingController {
             redirectAttributes.addFlashAttribute("bookingCreateDto", bookingCreateDto);
             redirectAttributes.addFlashAttribute("org.springframework.validation.BindingResult.bookingCreateDto", bindingResult);
 
-            return "redirect:/bookings/create/" + title;
+            return "redirect:/bookings/create/" + slug;
         }
 
         try {
-            bookingService.createBooking(title, bookingCreateDto, principal);
+            bookingService.createBooking(route, bookingCreateDto, principal);
 
             redirectAttributes.addFlashAttribute("successMessage",
                     "Бронирование успешно создано! Билеты зарезервированы.");
@@ -102,10 +130,132 @@ public class BookingController {
             redirectAttributes.addFlashAttribute("errorMessage",
                     "Ошибка: " + e.getMessage());
             redirectAttributes.addFlashAttribute("bookingCreateDto", bookingCreateDto);
-            return "redirect:/bookings/create/" + title;
+            return "redirect:/bookings/create/" + slug;
+        }
+    }
+
+    @PostMapping("/hold/{slug}")
+    @PreAuthorize("isAuthenticated()")
+    public String holdSeats(@PathVariable String slug,
+                            @Valid @ModelAttribute BookingCreateDto bookingCreateDto,
+                            BindingResult bindingResult,
+                            RedirectAttributes redirectAttributes,
+                            Principal principal) {
+        EventRoute route = eventRoutes.require(slug);
+        String title = route.title();
+        log.debug("Удержание мест для мероприятия: {}", title);
+
+        if (bindingResult.hasErrors()) {
+            log.warn("Ошибки валидации при удержании мест: {}", bindingResult.getAllErrors());
+            redirectAttributes.addFlashAttribute("bookingCreateDto", bookingCreateDto);
+            redirectAttributes.addFlashAttribute("org.springframework.validation.BindingResult.bookingCreateDto", bindingResult);
+
+            return "redirect:/bookings/create/" + slug;
+        }
+
+        try {
+            var hold = seatHoldService.placeHold(route, bookingCreateDto, principal);
+            return "redirect:/bookings/checkout/" + hold.getId();
+
+        } catch (Exception e) {
+            log.error("Ошибка при удержании мест: ", e);
+            redirectAttributes.addFlashAttribute("errorMessage",
+                    "Ошибка: " + e.getMessage());
+            redirectAttributes.addFlashAttribute("bookingCreateDto", bookingCreateDto);
+            return "redirect:/bookings/create/" + slug;
+        }
+    }
+
+    @GetMapping("/checkout/{holdId}")
+    @PreAuthorize("isAuthenticated()")
+    public String showCheckout(@PathVariable String holdId,
+                               Model model,
+                               RedirectAttributes redirectAttributes,
+                               Principal principal) {
+        try {
+            model.addAttribute("hold", seatHoldService.getHold(holdId, principal));
+            return "booking-checkout";
+
+        } catch (Exception e) {
+            log.warn("Удержание {} недоступно: {}", holdId, e.getMessage());
+            redirectAttributes.addFlashAttribute("errorMessage", "Ошибка: " + e.getMessage());
+            return "redirect:/events/all";
+        }
+    }
+
+    @PostMapping("/checkout/{holdId}")
+    @PreAuthorize("isAuthenticated()")
+    public String confirmHold(@PathVariable String holdId,
+                              RedirectAttributes redirectAttributes,
+                              Principal principal) {
+        try {
+            seatHoldService.confirmHold(holdId, principal);
+
+            redirectAttributes.addFlashAttribute("successMessage",
+                    "Бронирование успешно создано! Билеты зарезервированы.");
+            log.info("Удержание {} подтверждено пользователем {}", holdId, principal.getName());
+            return "redirect:/users/profile";
+
+        } catch (Exception e) {
+            log.error("Ошибка при подтверждении удержания: ", e);
+            redirectAttributes.addFlashAttribute("errorMessage", "Ошибка: " + e.getMessage());
+            return "redirect:/events/all";
+        }
+    }
+
+    @PostMapping("/holds/{holdId}/release")
+    @PreAuthorize("isAuthenticated()")
+    public String releaseHold(@PathVariable String holdId,
+                              RedirectAttributes redirectAttributes,
+                              Principal principal) {
+        try {
+            seatHoldService.releaseHold(holdId, principal);
+            redirectAttributes.addFlashAttribute("successMessage", "Удержание мест снято");
+        } catch (Exception e) {
+            log.error("Ошибка при снятии удержания: ", e);
+            redirectAttributes.addFlashAttribute("errorMessage", "Ошибка: " + e.getMessage());
+        }
+
+        return "redirect:/events/all";
+    }
+
+    @PostMapping("/waitlist/{slug}")
+    @PreAuthorize("isAuthenticated()")
+    public String joinWaitlist(@PathVariable String slug,
+                               @ModelAttribute BookingCreateDto bookingCreateDto,
+                               RedirectAttributes redirectAttributes,
+                               Principal principal) {
+        EventRoute route = eventRoutes.require(slug);
+        try {
+            waitlistService.join(route, bookingCreateDto.getSeatsCount(), bookingCreateDto.getComment(), principal);
+            redirectAttributes.addFlashAttribute("successMessage",
+                    "Вы в листе ожидания. Когда места освободятся, мы удержим их для вас.");
+            return "redirect:/bookings/my";
+
+        } catch (Exception e) {
+            log.error("Ошибка при постановке в лист ожидания: ", e);
+            redirectAttributes.addFlashAttribute("errorMessage", "Ошибка: " + e.getMessage());
+            redirectAttributes.addFlashAttribute("bookingCreateDto", bookingCreateDto);
+            return "redirect:/bookings/create/" + slug;
         }
     }
 
+    @PostMapping("/waitlist/{entryId}/leave")
+    @PreAuthorize("isAuthenticated()")
+    public String leaveWaitlist(@PathVariable String entryId,
+                                RedirectAttributes redirectAttributes,
+                                Principal principal) {
+        try {
+            waitlistService.leave(entryId, principal);
+            redirectAttributes.addFlashAttribute("successMessage", "Заявка в листе ожидания отозвана");
+        } catch (Exception e) {
+            log.error("Ошибка при выходе из листа ожидания: ", e);
+            redirectAttributes.addFlashAttribute("errorMessage", "Ошибка: " + e.getMessage());
+        }
+
+        return "redirect:/bookings/my";
+    }
+
     @GetMapping("/my")
     @PreAuthorize("isAuthenticated()")
     public String myBookings(Model model, Principal principal) {
@@ -114,6 +264,8 @@ public class BookingController {
         try {
             var bookings = bookingService.getUserBookings(principal);
             model.addAttribute("bookings", bookings);
+            model.addAttribute("holds", seatHoldService.getUserHolds(principal));
+            model.addAttribute("waitlistEntries", waitlistService.getUserEntries(principal));
         } catch (Exception e) {
             log.error("Ошибка при получении бронирований: ", e);
             model.addAttribute("errorMessage", "Не удалось загрузить бронирования");
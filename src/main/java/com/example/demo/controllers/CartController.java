@@ -0,0 +1,96 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dto.CartItemDto;
+import com.example.demo.services.CartService;
+import com.example.demo.services.routing.EventRoute;
+import com.example.demo.services.routing.EventRoutes;
+import jakarta.servlet.http.HttpSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Корзина хранится в сессии и оформляется одним запросом.
+ */
+@Slf4j
+@Controller
+@RequestMapping("/cart")
+public class CartController {
+
+    static final String CART_ATTRIBUTE = "cart";
+
+    private final CartService cartService;
+    private final EventRoutes eventRoutes;
+
+    public CartController(CartService cartService, EventRoutes eventRoutes) {
+        this.cartService = cartService;
+        this.eventRoutes = eventRoutes;
+    }
+
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public String showCart(Model model, HttpSession session) {
+        model.addAttribute("items", cart(session));
+        return "cart";
+    }
+
+    @PostMapping("/add/{slug}")
+    @PreAuthorize("isAuthenticated()")
+    public String addToCart(@PathVariable String slug,
+                            @RequestParam(defaultValue = "1") int seatsCount,
+                            HttpSession session,
+                            RedirectAttributes redirectAttributes) {
+        EventRoute route = eventRoutes.require(slug);
+        List<CartItemDto> cart = cart(session);
+
+        cart.removeIf(item -> slug.equals(item.getEventSlug()));
+        cart.add(new CartItemDto(slug, route.title(), seatsCount));
+        session.setAttribute(CART_ATTRIBUTE, cart);
+
+        redirectAttributes.addFlashAttribute("successMessage", "Мероприятие добавлено в корзину");
+        return "redirect:/cart";
+    }
+
+    @PostMapping("/remove/{slug}")
+    @PreAuthorize("isAuthenticated()")
+    public String removeFromCart(@PathVariable String slug, HttpSession session) {
+        List<CartItemDto> cart = cart(session);
+        cart.removeIf(item -> slug.equals(item.getEventSlug()));
+        session.setAttribute(CART_ATTRIBUTE, cart);
+        return "redirect:/cart";
+    }
+
+    @PostMapping("/checkout")
+    @PreAuthorize("isAuthenticated()")
+    public String checkout(@RequestParam(required = false) String comment,
+                           HttpSession session,
+                           RedirectAttributes redirectAttributes,
+                           Principal principal) {
+        try {
+            cartService.checkout(cart(session), comment, principal);
+            session.removeAttribute(CART_ATTRIBUTE);
+
+            redirectAttributes.addFlashAttribute("successMessage",
+                    "Корзина оформлена! Билеты на все мероприятия зарезервированы.");
+            return "redirect:/bookings/my";
+
+        } catch (Exception e) {
+            log.error("Ошибка при оформлении корзины: ", e);
+            redirectAttributes.addFlashAttribute("errorMessage", "Ошибка: " + e.getMessage());
+            return "redirect:/cart";
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<CartItemDto> cart(HttpSession session) {
+        Object cart = session.getAttribute(CART_ATTRIBUTE);
+        return cart == null ? new ArrayList<>() : (List<CartItemDto>) cart;
+    }
+}
@@ -1,11 +1,25 @@
 package com.example.demo.controllers;
 
 import com.example.demo.dto.AddEventDto;
+import com.example.demo.dto.CalendarDayDto;
+import com.example.demo.dto.EventCursorPageDto;
+import com.example.demo.dto.PerformerDto;
 import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.dto.SuggestionDto;
+import com.example.demo.models.enums.CalendarView;
+import com.example.demo.models.enums.EventSort;
 import com.example.demo.models.enums.EventType;
+import com.example.demo.models.exceptions.EventNotFoundException;
 import com.example.demo.services.EventService;
 import com.example.demo.services.GenreService;
 import com.example.demo.services.HallService;
+import com.example.demo.services.PerformerService;
+import com.example.demo.services.calendar.EventCalendar;
+import com.example.demo.services.routing.EventRoute;
+import com.example.demo.services.routing.EventRoutes;
+import com.example.demo.services.search.EventAutocomplete;
+import com.example.demo.services.search.EventFilter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
@@ -14,6 +28,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -21,6 +36,12 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 @Slf4j
 @Controller
 @RequestMapping("/events")
@@ -29,13 +50,25 @@ public class EventController {
     private final EventService eventService;
     private final HallService hallService;
     private final GenreService genreService;
+    private final EventAutocomplete autocomplete;
+    private final EventRoutes eventRoutes;
+    private final EventCalendar eventCalendar;
+    private final PerformerService performerService;
 
     public EventController(EventService eventService,
                            HallService hallService,
-                           GenreService genreService) {
+                           GenreService genreService,
+                           EventAutocomplete autocomplete,
+                           EventRoutes eventRoutes,
+                           EventCalendar eventCalendar,
+                           PerformerService performerService) {
         this.eventService = eventService;
         this.hallService = hallService;
         this.genreService = genreService;
+        this.autocomplete = autocomplete;
+        this.eventRoutes = eventRoutes;
+        this.eventCalendar = eventCalendar;
+        this.performerService = performerService;
     }
 
     @GetMapping("/add")
@@ -98,16 +131,23 @@ public class EventController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "title") String sortBy,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) EventType type,
             @RequestParam(required = false) String genre,
+            @RequestParam(required = false) String hall,
+            @RequestParam(required = false) YearMonth month,
+            @RequestParam(defaultValue = "false") boolean withSeats,
+            @RequestParam(defaultValue = "false") boolean fullText,
             Model model) {
 
-        log.debug("Отображение списка мероприятий: страница={}, размер={}, сортировка={}, поиск={}, тип={}, жанр={}",
-                page, size, sortBy, search, type, genre);
+        log.debug("Отображение списка мероприятий: страница={}, размер={}, сортировка={}, поиск={}, тип={}, жанр={}, зал={}, месяц={}, с местами={}, полнотекстовый={}",
+                page, size, sortBy, search, type, genre, hall, month, withSeats, fullText);
 
         model.addAttribute("eventTypes", EventType.values());
         model.addAttribute("genres", genreService.getAllGenres());
+        model.addAttribute("halls", hallService.getAllHalls());
+        model.addAttribute("sorts", EventSort.values());
 
         // Сохраняем выбранные фильтры для отображения в форме
         if (search != null && !search.isBlank()) {
@@ -119,36 +159,108 @@ public class EventController {
         if (genre != null && !genre.isBlank()) {
             model.addAttribute("selectedGenre", genre);
         }
+        if (hall != null && !hall.isBlank()) {
+            model.addAttribute("selectedHall", hall);
+        }
+        model.addAttribute("selectedMonth", month);
+        model.addAttribute("withSeats", withSeats);
+        model.addAttribute("fullText", fullText);
+
+        // сортировка только из белого списка: под каждую есть индекс
+        EventSort sort = EventSort.fromParam(sortBy);
+        model.addAttribute("selectedSort", sort);
 
-        // Используем новый метод с комбинированными фильтрами
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy).ascending());
-        Page<ShowEventInfoDto> eventPage = eventService.findEventsWithFiltersPaginated(
-                search, type, genre, pageable
-        );
+        if (fullText) {
+            // полнотекстовый поиск упорядочен по релевантности, страницы — по номерам
+            Pageable pageable = PageRequest.of(page, size, Sort.by(sort.attribute()).ascending());
+            Page<ShowEventInfoDto> eventPage = eventService.searchEventsFullText(search, type, genre, pageable);
+
+            model.addAttribute("eventInfos", eventPage.getContent());
+            model.addAttribute("performers", performersOf(eventPage.getContent()));
+            model.addAttribute("currentPage", page);
+            model.addAttribute("totalPages", eventPage.getTotalPages());
+            model.addAttribute("totalItems", eventPage.getTotalElements());
+            return "event-all";
+        }
+
+        // по курсору: любая страница стоит как первая; фильтры и числа при них — из фасетов в памяти
+        EventFilter filter = new EventFilter(search, type, genre, hall, month, withSeats);
+        EventCursorPageDto eventPage = eventService.findEventsByCursor(filter, sort, cursor, size);
+        model.addAttribute("facets", eventService.eventFacets(filter).orElse(null));
 
         model.addAttribute("eventInfos", eventPage.getContent());
-        model.addAttribute("currentPage", page);
-        model.addAttribute("totalPages", eventPage.getTotalPages());
-        model.addAttribute("totalItems", eventPage.getTotalElements());
+        model.addAttribute("performers", performersOf(eventPage.getContent()));
+        model.addAttribute("previousCursor", eventPage.getPreviousCursor());
+        model.addAttribute("nextCursor", eventPage.getNextCursor());
+        model.addAttribute("totalItems", eventPage.getTotalItems());
 
         return "event-all";
     }
 
-    @GetMapping("/event-details/{event-title}")
-    public String eventDetails(@PathVariable("event-title") String eventTitle, Model model) {
-        log.debug("Просмотр деталей мероприятия: {}", eventTitle);
-        model.addAttribute("eventDetails", eventService.eventDetails(eventTitle));
+    /**
+     * Подсказки для строки поиска по мере ввода; отвечает из памяти, без обращения к базе.
+     */
+    @GetMapping("/suggest")
+    @ResponseBody
+    public List<SuggestionDto> suggest(@RequestParam("q") String prefix,
+                                       @RequestParam(defaultValue = "8") int limit) {
+        return autocomplete.suggest(prefix, limit);
+    }
+
+    /**
+     * Календарь афиши на месяц, неделю или день вокруг даты (по умолчанию — сегодня).
+     */
+    @GetMapping("/calendar")
+    public String calendar(@RequestParam(defaultValue = "month") String view,
+                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                           Model model) {
+        CalendarView calendarView = CalendarView.fromParam(view);
+        LocalDate start = calendarView.start(date != null ? date : LocalDate.now());
+        LocalDate end = calendarView.end(start);
+
+        log.debug("Календарь афиши: масштаб={}, с {} по {}", calendarView, start, end);
+
+        List<CalendarDayDto> days = eventCalendar.days(start, end);
+        model.addAttribute("days", days);
+        model.addAttribute("view", calendarView);
+        model.addAttribute("views", CalendarView.values());
+        model.addAttribute("start", start);
+        model.addAttribute("lastDay", end.minusDays(1));
+        model.addAttribute("previousDate", calendarView.shift(start, -1));
+        model.addAttribute("nextDate", end);
+        model.addAttribute("today", LocalDate.now());
+        return "event-calendar";
+    }
+
+    @GetMapping("/event-details/{slug}")
+    public String eventDetails(@PathVariable String slug, Model model, HttpServletRequest request) {
+        log.debug("Просмотр деталей мероприятия: {}", slug);
+
+        Optional<EventRoute> route = eventRoutes.resolve(slug);
+        if (route.isEmpty()) {
+            // старые ссылки вели на URL-кодированное название
+            return eventRoutes.slugForTitle(slug)
+                    .map(found -> LegacyRedirects.movedPermanently(request, "/events/event-details/" + found))
+                    .orElseThrow(() -> new EventNotFoundException("Мероприятие '" + slug + "' не найдено"));
+        }
+
+        model.addAttribute("eventDetails", eventService.eventDetails(route.get().id()));
+        model.addAttribute("performers", performerService.performersByEvent(List.of(route.get().id()))
+                .getOrDefault(route.get().id(), List.of()));
         return "event-details";
     }
 
-    @GetMapping("/event-delete/{event-title}")
-    public String deleteEvent(@PathVariable("event-title") String eventTitle,
+    @GetMapping("/event-delete/{slug}")
+    public String deleteEvent(@PathVariable String slug,
                               RedirectAttributes redirectAttributes) {
 
-        log.debug("Запрос на удаление мероприятия: {}", eventTitle);
+        log.debug("Запрос на удаление мероприятия: {}", slug);
+
+        EventRoute route = eventRoutes.require(slug);
+        String eventTitle = route.title();
 
         try {
-            eventService.deleteEvent(eventTitle);
+            eventService.deleteEvent(route.id());
             redirectAttributes.addFlashAttribute("successMessage",
                     "Мероприятие '" + eventTitle + "' успешно удалено!");
         } catch (DataIntegrityViolationException e) {
@@ -163,4 +275,11 @@ public class EventController {
 
         return "redirect:/events/all";
     }
-}
\ No newline at end of file
+
+    /**
+     * Исполнители сразу для всех карточек страницы, а не по запросу на карточку.
+     */
+    private Map<String, List<PerformerDto>> performersOf(List<ShowEventInfoDto> cards) {
+        return performerService.performersByEvent(cards.stream().map(ShowEventInfoDto::getId).toList());
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo.controllers;
 
 import com.example.demo.models.exceptions.BookingNotFoundException;
 import com.example.demo.models.exceptions.EventNotFoundException;
+import com.example.demo.models.exceptions.PerformerNotFoundException;
 import com.example.demo.models.exceptions.UserNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -24,6 +25,16 @@ public class GlobalExceptionHandler {
         return "error/custom-error";
     }
 
+    @ExceptionHandler(PerformerNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public String handlePerformerNotFound(PerformerNotFoundException ex, Model model) {
+        log.warn("Исполнитель не найден: {}", ex.getMessage());
+        model.addAttribute("errorTitle", "Исполнитель не найден");
+        model.addAttribute("errorMessage", ex.getMessage());
+        model.addAttribute("errorCode", "404");
+        return "error/custom-error";
+    }
+
     @ExceptionHandler(BookingNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public String handleBookingNotFound(BookingNotFoundException ex, Model model) {
@@ -0,0 +1,20 @@
+package com.example.demo.controllers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.View;
+
+/**
+ * Старые адреса мероприятий по названию: постоянный редирект (301) на адрес по slug,
+ * чтобы закладки и поисковики перешли на новый адрес.
+ */
+final class LegacyRedirects {
+
+    private LegacyRedirects() {
+    }
+
+    static String movedPermanently(HttpServletRequest request, String path) {
+        request.setAttribute(View.RESPONSE_STATUS_ATTRIBUTE, HttpStatus.MOVED_PERMANENTLY);
+        return "redirect:" + path;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dto.PerformerDto;
+import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.services.GenreService;
+import com.example.demo.services.PerformerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@Slf4j
+@Controller
+@RequestMapping("/performers")
+public class PerformerController {
+
+    private final PerformerService performerService;
+    private final GenreService genreService;
+
+    public PerformerController(PerformerService performerService, GenreService genreService) {
+        this.performerService = performerService;
+        this.genreService = genreService;
+    }
+
+    @GetMapping
+    public String performers(@RequestParam(required = false) String genre, Model model) {
+        log.debug("Каталог исполнителей: жанр={}", genre);
+
+        model.addAttribute("performers", performerService.performers(genre));
+        model.addAttribute("genres", genreService.getAllGenres());
+        model.addAttribute("selectedGenre", genre);
+        return "performer-all";
+    }
+
+    @GetMapping("/{id}")
+    public String performer(@PathVariable String id,
+                            @RequestParam(required = false) String genre,
+                            @RequestParam(defaultValue = "true") boolean upcoming,
+                            Model model) {
+        log.debug("Страница исполнителя {}: жанр={}, только предстоящие={}", id, genre, upcoming);
+
+        PerformerDto performer = performerService.performer(id);
+        List<ShowEventInfoDto> events = performerService.performerEvents(id, genre, upcoming);
+
+        model.addAttribute("performer", performer);
+        model.addAttribute("eventInfos", events);
+        model.addAttribute("genres", genreService.getAllGenres());
+        model.addAttribute("selectedGenre", genre);
+        model.addAttribute("upcoming", upcoming);
+        return "performer-details";
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.controllers;
+
+import com.example.demo.services.routing.EventRoute;
+import com.example.demo.services.routing.EventRoutes;
+import com.example.demo.services.waitingroom.WaitingRoom;
+import com.example.demo.services.waitingroom.WaitingRoomStatus;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.security.Principal;
+
+/**
+ * Лёгкая страница очереди: без обращений к БД, обновляется сама.
+ */
+@Slf4j
+@Controller
+@RequestMapping("/waiting-room")
+public class WaitingRoomController {
+
+    private static final int REFRESH_SECONDS = 5;
+
+    private final WaitingRoom waitingRoom;
+    private final EventRoutes eventRoutes;
+
+    public WaitingRoomController(WaitingRoom waitingRoom, EventRoutes eventRoutes) {
+        this.waitingRoom = waitingRoom;
+        this.eventRoutes = eventRoutes;
+    }
+
+    /**
+     * @param slug     slug мероприятия
+     * @param returnTo адрес, с которого пользователь попал в очередь; без него — форма бронирования
+     */
+    @GetMapping("/{slug}")
+    @PreAuthorize("isAuthenticated()")
+    public String waitingRoom(@PathVariable String slug,
+                              @RequestParam(name = WaitingRoomInterceptor.RETURN_PARAMETER, required = false)
+                              String returnTo,
+                              Model model,
+                              HttpServletResponse response,
+                              Principal principal) {
+
+        EventRoute route = eventRoutes.require(slug);
+        String bookingUrl = "redirect:" + WaitingRoomInterceptor.safeReturnPath(returnTo)
+                .orElseGet(() -> "/bookings/create/" + route.slug());
+
+        if (!waitingRoom.isHighDemand(route.id())) {
+            return bookingUrl;
+        }
+
+        WaitingRoomStatus status = waitingRoom.enter(route.id(), principal.getName());
+
+        if (status.admitted()) {
+            Cookie cookie = new Cookie(WaitingRoomInterceptor.COOKIE_PREFIX + route.id(), status.admissionToken());
+            // пропуск нужен и бронированию, и корзине
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) waitingRoom.tokenTtl().toSeconds());
+            response.addCookie(cookie);
+            return bookingUrl;
+        }
+
+        model.addAttribute("title", route.title());
+        model.addAttribute("position", status.position());
+        model.addAttribute("etaSeconds", status.etaSeconds());
+        model.addAttribute("refreshSeconds", REFRESH_SECONDS);
+        return "waiting-room";
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dto.CartItemDto;
+import com.example.demo.services.routing.EventRoute;
+import com.example.demo.services.routing.EventRoutes;
+import com.example.demo.services.waitingroom.WaitingRoom;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.UriUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Не пускает к бронированию мероприятий с высоким спросом без пропуска из виртуальной очереди:
+ * ни к форме и удержанию мест, ни к добавлению в корзину, ни к оформлению корзины,
+ * в которой есть такое мероприятие. Из очереди пользователь возвращается туда, откуда пришёл.
+ * Проверка пропуска не обращается ни к БД, ни к Redis.
+ */
+public class WaitingRoomInterceptor implements HandlerInterceptor {
+
+    public static final String COOKIE_PREFIX = "admission-";
+    public static final String RETURN_PARAMETER = "returnTo";
+
+    private static final String CHECKOUT_PATH = "/cart/checkout";
+    private static final String CART_PATH = "/cart";
+
+    private final ObjectProvider<WaitingRoom> waitingRoom;
+    private final ObjectProvider<EventRoutes> eventRoutes;
+
+    public WaitingRoomInterceptor(ObjectProvider<WaitingRoom> waitingRoom, ObjectProvider<EventRoutes> eventRoutes) {
+        this.waitingRoom = waitingRoom;
+        this.eventRoutes = eventRoutes;
+    }
+
+    /**
+     * @return адрес внутри приложения, если returnTo можно безопасно открыть после очереди
+     */
+    public static Optional<String> safeReturnPath(String returnTo) {
+        if (returnTo == null || !returnTo.startsWith("/") || returnTo.startsWith("//") || returnTo.startsWith("/\\")) {
+            return Optional.empty();
+        }
+        return Optional.of(returnTo);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request,
+                             HttpServletResponse response,
+                             Object handler) throws Exception {
+
+        Principal principal = request.getUserPrincipal();
+        if (principal == null) {
+            return true;
+        }
+
+        if (CHECKOUT_PATH.equals(applicationPath(request))) {
+            return checkCart(request, response, principal);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>)
+                request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables == null) {
+            return true;
+        }
+
+        String slug = pathVariables.get("slug");
+        if (slug == null) {
+            return true;
+        }
+
+        Optional<EventRoute> route = eventRoutes.getObject().resolve(slug);
+        if (route.isEmpty() || admitted(request, principal, route.get().id())) {
+            // несуществующее мероприятие — ответит контроллер
+            return true;
+        }
+
+        redirectToQueue(request, response, slug, returnPath(request, route.get()));
+        return false;
+    }
+
+    /**
+     * Корзину можно оформить, только если пропуск есть на каждое мероприятие с высоким спросом в ней.
+     */
+    private boolean checkCart(HttpServletRequest request, HttpServletResponse response, Principal principal)
+            throws Exception {
+
+        HttpSession session = request.getSession(false);
+        Object cart = session == null ? null : session.getAttribute(CartController.CART_ATTRIBUTE);
+        if (!(cart instanceof List<?> items)) {
+            return true;
+        }
+
+        for (Object item : items) {
+            String slug = ((CartItemDto) item).getEventSlug();
+            Optional<EventRoute> route = eventRoutes.getObject().resolve(slug);
+            if (route.isPresent() && !admitted(request, principal, route.get().id())) {
+                redirectToQueue(request, response, slug, CART_PATH);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean admitted(HttpServletRequest request, Principal principal, String eventId) {
+        return !waitingRoom.getObject().isHighDemand(eventId)
+                || waitingRoom.getObject().isAdmitted(eventId, principal.getName(), admissionToken(request, eventId));
+    }
+
+    private static void redirectToQueue(HttpServletRequest request,
+                                        HttpServletResponse response,
+                                        String slug,
+                                        String returnTo) throws Exception {
+        response.sendRedirect(request.getContextPath() + "/waiting-room/"
+                + UriUtils.encodePathSegment(slug, StandardCharsets.UTF_8)
+                + "?" + RETURN_PARAMETER + "=" + UriUtils.encodeQueryParam(returnTo, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Куда вернуться из очереди: GET-запрос повторяется как есть, POST (форма бронирования, корзина)
+     * повторить редиректом нельзя, поэтому возвращаемся на страницу с формой.
+     */
+    private static String returnPath(HttpServletRequest request, EventRoute route) {
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            String query = request.getQueryString();
+            return applicationPath(request) + (query == null ? "" : "?" + query);
+        }
+
+        return refererPath(request).orElse("/events/event-details/" + route.slug());
+    }
+
+    private static Optional<String> refererPath(HttpServletRequest request) {
+        String referer = request.getHeader("Referer");
+        if (referer == null) {
+            return Optional.empty();
+        }
+
+        try {
+            URI uri = URI.create(referer);
+            if (uri.getHost() != null && !uri.getHost().equalsIgnoreCase(request.getServerName())) {
+                return Optional.empty();
+            }
+            String path = uri.getRawPath();
+            if (path == null || !path.startsWith(request.getContextPath())) {
+                return Optional.empty();
+            }
+            String query = uri.getRawQuery();
+            return safeReturnPath(path.substring(request.getContextPath().length())
+                    + (query == null ? "" : "?" + query));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String applicationPath(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String admissionToken(HttpServletRequest request, String eventId) {
+        if (request.getCookies() == null) {
+            return null;
+        }
+
+        for (Cookie cookie : request.getCookies()) {
+            if (cookie.getName().equals(COOKIE_PREFIX + eventId)) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -15,6 +15,7 @@ public class AddEventDto {
     private Integer availableSeats;
     private String hallId;
     private String genreId;
+    private boolean highDemand;
 
     @NotEmpty(message = "Название события не должно быть пустым!")
     @Size(min = 2, max = 50, message = "Название должно быть от 2 до 50 символов!")
@@ -91,4 +92,12 @@ public class AddEventDto {
     public void setGenreId(String genreId) {
         this.genreId = genreId;
     }
-}
\ No newline at end of file
+
+    public boolean isHighDemand() {
+        return highDemand;
+    }
+
+    public void setHighDemand(boolean highDemand) {
+        this.highDemand = highDemand;
+    }
+}
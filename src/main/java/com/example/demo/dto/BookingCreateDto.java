@@ -2,12 +2,17 @@ package com.example.demo.dto;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 public class BookingCreateDto {
     private String comment;
 
     @NotNull(message = "Количество мест обязательно")
     @Min(value = 1, message = "Минимум 1 место")
     private Integer seatsCount;
+
+    // конкретные места через запятую (Секция/Ряд/Место); пусто — лучшие свободные
+    @Size(max = 500, message = "Слишком длинный список мест")
+    private String seats;
     private String userFullName;
     private String userEmail;
 
@@ -32,6 +37,14 @@ public class BookingCreateDto {
         this.seatsCount = seatsCount;
     }
 
+    public String getSeats() {
+        return seats;
+    }
+
+    public void setSeats(String seats) {
+        this.seats = seats;
+    }
+
     public String getUserFullName() {
         return userFullName;
     }
@@ -15,6 +15,7 @@ public class BookingViewDto {
     private String hallName;
     private String comment;
     private Integer seatsCount;
+    private String seatLabels;
     private LocalDateTime createdAt;
     private String userFullName;
     private String userEmail;
@@ -69,6 +70,14 @@ public class BookingViewDto {
         this.seatsCount = seatsCount;
     }
 
+    public String getSeatLabels() {
+        return seatLabels;
+    }
+
+    public void setSeatLabels(String seatLabels) {
+        this.seatLabels = seatLabels;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * День календаря афиши с мероприятиями в порядке времени начала.
+ */
+public class CalendarDayDto {
+    private final LocalDate date;
+    private final List<ShowEventInfoDto> events;
+
+    public CalendarDayDto(LocalDate date, List<ShowEventInfoDto> events) {
+        this.date = date;
+        this.events = events;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public List<ShowEventInfoDto> getEvents() {
+        return events;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.dto;
+
+import java.io.Serializable;
+
+public class CartItemDto implements Serializable {
+    private String eventSlug;
+    private String eventTitle;
+    private Integer seatsCount;
+
+    public CartItemDto() {}
+
+    public CartItemDto(String eventSlug, String eventTitle, Integer seatsCount) {
+        this.eventSlug = eventSlug;
+        this.eventTitle = eventTitle;
+        this.seatsCount = seatsCount;
+    }
+
+    public String getEventSlug() {
+        return eventSlug;
+    }
+
+    public void setEventSlug(String eventSlug) {
+        this.eventSlug = eventSlug;
+    }
+
+    public String getEventTitle() {
+        return eventTitle;
+    }
+
+    public void setEventTitle(String eventTitle) {
+        this.eventTitle = eventTitle;
+    }
+
+    public Integer getSeatsCount() {
+        return seatsCount;
+    }
+
+    public void setSeatsCount(Integer seatsCount) {
+        this.seatsCount = seatsCount;
+    }
+}
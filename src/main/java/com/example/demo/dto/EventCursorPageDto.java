@@ -0,0 +1,39 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * Страница афиши при выводе по курсорам: ссылки соседних страниц вместо номеров.
+ */
+public class EventCursorPageDto {
+    private final List<ShowEventInfoDto> content;
+    private final String previousCursor; // null — это первая страница
+    private final String nextCursor; // null — дальше ничего нет
+    private final int totalItems;
+
+    public EventCursorPageDto(List<ShowEventInfoDto> content,
+                              String previousCursor,
+                              String nextCursor,
+                              int totalItems) {
+        this.content = content;
+        this.previousCursor = previousCursor;
+        this.nextCursor = nextCursor;
+        this.totalItems = totalItems;
+    }
+
+    public List<ShowEventInfoDto> getContent() {
+        return content;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.dto;
+
+import com.example.demo.models.enums.EventType;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Сколько мероприятий останется, если выбрать значение фасета при прочих выбранных фильтрах.
+ */
+public class EventFacetsDto {
+    private final Map<EventType, Integer> types;
+    private final Map<String, Integer> genres;
+    private final Map<String, Integer> halls;
+    private final Map<YearMonth, Integer> months;
+    private final int withSeats;
+
+    public EventFacetsDto(Map<EventType, Integer> types,
+                          Map<String, Integer> genres,
+                          Map<String, Integer> halls,
+                          Map<YearMonth, Integer> months,
+                          int withSeats) {
+        this.types = types;
+        this.genres = genres;
+        this.halls = halls;
+        this.months = months;
+        this.withSeats = withSeats;
+    }
+
+    public Map<EventType, Integer> getTypes() {
+        return types;
+    }
+
+    public Map<String, Integer> getGenres() {
+        return genres;
+    }
+
+    public Map<String, Integer> getHalls() {
+        return halls;
+    }
+
+    public Map<YearMonth, Integer> getMonths() {
+        return months;
+    }
+
+    public int getWithSeats() {
+        return withSeats;
+    }
+}
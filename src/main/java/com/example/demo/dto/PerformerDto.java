@@ -0,0 +1,35 @@
+package com.example.demo.dto;
+
+/**
+ * Исполнитель в каталоге и в списке исполнителей на карточке мероприятия.
+ */
+public class PerformerDto {
+    private final String id;
+    private final String name;
+    private final String genreName;
+    // null — число неизвестно (индекс исполнителей ещё не построен)
+    private final Integer upcomingEvents;
+
+    public PerformerDto(String id, String name, String genreName, Integer upcomingEvents) {
+        this.id = id;
+        this.name = name;
+        this.genreName = genreName;
+        this.upcomingEvents = upcomingEvents;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getGenreName() {
+        return genreName;
+    }
+
+    public Integer getUpcomingEvents() {
+        return upcomingEvents;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+public class SeatHoldDto {
+    private String id;
+    private String eventTitle;
+    private Integer seatsCount;
+    private String seatLabels;
+    private String comment;
+    private LocalDateTime expiresAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEventTitle() {
+        return eventTitle;
+    }
+
+    public void setEventTitle(String eventTitle) {
+        this.eventTitle = eventTitle;
+    }
+
+    public Integer getSeatsCount() {
+        return seatsCount;
+    }
+
+    public void setSeatsCount(Integer seatsCount) {
+        this.seatsCount = seatsCount;
+    }
+
+    public String getSeatLabels() {
+        return seatLabels;
+    }
+
+    public void setSeatLabels(String seatLabels) {
+        this.seatLabels = seatLabels;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 
 public class ShowDetailedEventInfoDto implements Serializable {
     private String title;
+    private String slug;
     private String description;
     private LocalDateTime dateTime;
     private String hallName;
@@ -25,6 +26,14 @@ public class ShowDetailedEventInfoDto implements Serializable {
         this.title = title;
     }
 
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -4,7 +4,9 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 public class ShowEventInfoDto implements Serializable {
+    private String id; // для курсора постраничного вывода
     private String title;
+    private String slug;
     private LocalDateTime dateTime;
     private String hallName;
     private Integer availableSeats;
@@ -13,6 +15,33 @@ public class ShowEventInfoDto implements Serializable {
 
     public ShowEventInfoDto() {}
 
+    // проекция карточки в EventCardRepository: только показываемые колонки
+    public ShowEventInfoDto(String id,
+                            String title,
+                            String slug,
+                            LocalDateTime dateTime,
+                            String hallName,
+                            Integer availableSeats,
+                            String imageUrl,
+                            String genreName) {
+        this.id = id;
+        this.title = title;
+        this.slug = slug;
+        this.dateTime = dateTime;
+        this.hallName = hallName;
+        this.availableSeats = availableSeats;
+        this.imageUrl = imageUrl;
+        this.genreName = genreName;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -21,6 +50,14 @@ public class ShowEventInfoDto implements Serializable {
         this.title = title;
     }
 
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
     public LocalDateTime getDateTime() {
         return dateTime;
     }
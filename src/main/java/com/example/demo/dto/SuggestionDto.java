@@ -0,0 +1,24 @@
+package com.example.demo.dto;
+
+import com.example.demo.models.enums.SuggestionType;
+
+/**
+ * Подсказка для строки поиска: название мероприятия, имя исполнителя или жанр.
+ */
+public class SuggestionDto {
+    private final String text;
+    private final SuggestionType type;
+
+    public SuggestionDto(String text, SuggestionType type) {
+        this.text = text;
+        this.type = type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public SuggestionType getType() {
+        return type;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo.dto;
 
 public class TopEventDto {
     private String title;
+    private String slug;
     private Integer totalBookedSeats; // общее количество забронированных билетов
     private String imageUrl;
     private int position; // место в топе (1, 2, 3...)
@@ -14,6 +15,14 @@ public class TopEventDto {
         this.title = title;
     }
 
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
     public Integer getTotalBookedSeats() {
         return totalBookedSeats;
     }
@@ -38,8 +47,9 @@ public class TopEventDto {
         this.position = position;
     }
 
-    public TopEventDto(String title, Integer totalBookedSeats, String imageUrl, int position) {
+    public TopEventDto(String title, String slug, Integer totalBookedSeats, String imageUrl, int position) {
         this.title = title;
+        this.slug = slug;
         this.totalBookedSeats = totalBookedSeats;
         this.imageUrl = imageUrl;
         this.position = position;
@@ -20,6 +20,9 @@ public class Booking extends BaseEntity {
     @Column(nullable = false)
     private int seatsCount;
 
+    @Column(name = "seat_labels", length = 1000)
+    private String seatLabels;
+
     public User getUser() { return user; }
     public Event getEvent() { return event; }
 
@@ -33,4 +36,8 @@ public class Booking extends BaseEntity {
     public int getSeatsCount() {return seatsCount;}
 
     public void setSeatsCount(int seatsCount) {this.seatsCount = seatsCount;}
+
+    public String getSeatLabels() {return seatLabels;}
+
+    public void setSeatLabels(String seatLabels) {this.seatLabels = seatLabels;}
 }
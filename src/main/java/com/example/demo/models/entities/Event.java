@@ -7,12 +7,20 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        // сортировки афиши (EventSort) с id для постраничного вывода по курсору
+        @Index(name = "idx_events_title_id", columnList = "title, id"),
+        @Index(name = "idx_events_date_time_id", columnList = "dateTime, id")
+})
 public class Event extends BaseEntity {
 
     @Column(nullable = false)
     private String title;
 
+    // адрес страницы мероприятия; уникальный индекс создаёт unique = true
+    @Column(unique = true, length = 100)
+    private String slug;
+
     @Column(nullable = false)
     private String description;
 
@@ -37,6 +45,19 @@ public class Event extends BaseEntity {
     @Column(nullable = false)
     private Integer availableSeats;
 
+    // бит на место, пишется только через SeatMapRegistry
+    @Column(name = "seat_map", updatable = false)
+    private byte[] seatMap;
+
+    // продажи идут через виртуальную очередь
+    @Column(name = "high_demand", columnDefinition = "boolean default false not null")
+    private boolean highDemand;
+
+    // default 0 — чтобы ddl update мог добавить колонку к существующим строкам
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     @ManyToMany
     @JoinTable(
             name = "events_performers",
@@ -51,6 +72,7 @@ public class Event extends BaseEntity {
     // Геттеры
     public String getTitle() { return title; }
     public String getDescription() { return description; }
+    public String getSlug() { return slug; }
     public LocalDateTime getDateTime() { return dateTime; }
     public Hall getHall() { return hall; }
     public Integer getAvailableSeats() { return availableSeats; }
@@ -59,13 +81,18 @@ public class Event extends BaseEntity {
     public String getImageUrl() { return imageUrl; }
     public EventType getEventType() { return eventType; }
     public Genre getGenre() { return genre; }
+    public Long getVersion() { return version; }
+    public byte[] getSeatMap() { return seatMap; }
+    public boolean isHighDemand() { return highDemand; }
 
     // Сеттеры
     public void setTitle(String title) { this.title = title; }
     public void setDescription(String description) { this.description = description; }
     public void setDateTime(LocalDateTime dateTime) { this.dateTime = dateTime; }
+    public void setSlug(String slug) { this.slug = slug; }
     public void setHall(Hall hall) { this.hall = hall; }
     public void setAvailableSeats(Integer availableSeats) { this.availableSeats = availableSeats; }
+    public void setHighDemand(boolean highDemand) { this.highDemand = highDemand; }
     public void setPerformers(List<Performer> performers) { this.performers = performers; }
     public void setEventType(EventType eventType) { this.eventType = eventType; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
@@ -17,14 +17,20 @@ public class Hall extends BaseEntity {
     @Column(nullable = false)
     private Integer capacity;
 
+    // схема рассадки, см. SeatLayout; null — продажа без мест
+    @Column(name = "seat_layout", length = 2000)
+    private String seatLayout;
+
     @OneToMany(mappedBy = "hall")
     private List<Event> events = new ArrayList<>();
 
     public String getName() { return name; }
     public String getAddress() { return address; }
     public Integer getCapacity() { return capacity; }
+    public String getSeatLayout() { return seatLayout; }
 
     public void setName(String name) { this.name = name; }
     public void setAddress(String address) { this.address = address; }
     public void setCapacity(Integer capacity) { this.capacity = capacity; }
+    public void setSeatLayout(String seatLayout) { this.seatLayout = seatLayout; }
 }
@@ -0,0 +1,47 @@
+package com.example.demo.models.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Временное удержание мест на время оформления бронирования.
+ */
+@Entity
+@Table(name = "seat_holds")
+public class SeatHold extends BaseEntity {
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @Column(nullable = false)
+    private int seatsCount;
+
+    @Column(name = "seat_labels", length = 1000)
+    private String seatLabels;
+
+    @Column(nullable = false)
+    private String comment;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public User getUser() { return user; }
+    public Event getEvent() { return event; }
+    public int getSeatsCount() { return seatsCount; }
+    public String getSeatLabels() { return seatLabels; }
+    public String getComment() { return comment; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+
+    public void setUser(User user) { this.user = user; }
+    public void setEvent(Event event) { this.event = event; }
+    public void setSeatsCount(int seatsCount) { this.seatsCount = seatsCount; }
+    public void setSeatLabels(String seatLabels) { this.seatLabels = seatLabels; }
+    public void setComment(String comment) { this.comment = comment; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
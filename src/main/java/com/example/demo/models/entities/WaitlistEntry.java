@@ -0,0 +1,36 @@
+package com.example.demo.models.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Заявка в листе ожидания мероприятия. Очередность — по created_at.
+ */
+@Entity
+@Table(name = "waitlist_entries",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "event_id"}))
+public class WaitlistEntry extends BaseEntity {
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @Column(nullable = false)
+    private int seatsCount;
+
+    @Column(nullable = false)
+    private String comment;
+
+    public User getUser() { return user; }
+    public Event getEvent() { return event; }
+    public int getSeatsCount() { return seatsCount; }
+    public String getComment() { return comment; }
+
+    public void setUser(User user) { this.user = user; }
+    public void setEvent(Event event) { this.event = event; }
+    public void setSeatsCount(int seatsCount) { this.seatsCount = seatsCount; }
+    public void setComment(String comment) { this.comment = comment; }
+}
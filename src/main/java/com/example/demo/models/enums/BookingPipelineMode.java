@@ -0,0 +1,7 @@
+package com.example.demo.models.enums;
+
+public enum BookingPipelineMode {
+    DIRECT,
+    GROUP_COMMIT,
+    ACTOR
+}
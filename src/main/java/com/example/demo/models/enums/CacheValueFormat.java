@@ -0,0 +1,6 @@
+package com.example.demo.models.enums;
+
+public enum CacheValueFormat {
+    JSON,
+    BINARY
+}
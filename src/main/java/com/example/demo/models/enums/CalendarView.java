@@ -0,0 +1,52 @@
+package com.example.demo.models.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Масштаб календаря афиши: какие дни показываются вокруг выбранной даты.
+ */
+public enum CalendarView {
+    MONTH,
+    WEEK,
+    DAY;
+
+    /**
+     * Первый день периода, в который попадает дата (неделя — с понедельника).
+     */
+    public LocalDate start(LocalDate date) {
+        return switch (this) {
+            case MONTH -> date.withDayOfMonth(1);
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case DAY -> date;
+        };
+    }
+
+    /**
+     * Первый день следующего периода.
+     */
+    public LocalDate end(LocalDate date) {
+        return shift(start(date), 1);
+    }
+
+    public LocalDate shift(LocalDate date, int periods) {
+        return switch (this) {
+            case MONTH -> date.plusMonths(periods);
+            case WEEK -> date.plusWeeks(periods);
+            case DAY -> date.plusDays(periods);
+        };
+    }
+
+    /**
+     * Масштаб из параметра запроса; неизвестные значения — месяц.
+     */
+    public static CalendarView fromParam(String value) {
+        for (CalendarView view : values()) {
+            if (view.name().equalsIgnoreCase(value)) {
+                return view;
+            }
+        }
+        return MONTH;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.models.enums;
+
+/**
+ * Допустимые сортировки афиши; под каждую есть индекс (поле, id) в таблице events.
+ */
+public enum EventSort {
+    TITLE("title"),
+    DATE("dateTime");
+
+    private final String attribute;
+
+    EventSort(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * Сортировка из параметра запроса; неизвестные значения — по названию.
+     */
+    public static EventSort fromParam(String value) {
+        for (EventSort sort : values()) {
+            if (sort.name().equalsIgnoreCase(value) || sort.attribute.equals(value)) {
+                return sort;
+            }
+        }
+        return TITLE;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.models.enums;
+
+public enum SeatReservationMode {
+    LEDGER,
+    OPTIMISTIC,
+    PESSIMISTIC,
+    CONDITIONAL_UPDATE
+}
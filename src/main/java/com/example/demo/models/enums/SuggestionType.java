@@ -0,0 +1,10 @@
+package com.example.demo.models.enums;
+
+/**
+ * Что подсказывает автодополнение в строке поиска афиши.
+ */
+public enum SuggestionType {
+    EVENT,
+    PERFORMER,
+    GENRE
+}
@@ -0,0 +1,11 @@
+package com.example.demo.models.events;
+
+/**
+ * Мероприятие добавлено в афишу. Публикуется внутри транзакции;
+ * слушатели обновляют свои индексы после коммита.
+ */
+public record EventCreatedEvent(String eventId,
+                                String title,
+                                int availableSeats,
+                                boolean highDemand) {
+}
@@ -0,0 +1,7 @@
+package com.example.demo.models.events;
+
+/**
+ * Мероприятие удалено из афиши.
+ */
+public record EventDeletedEvent(String eventId, String title) {
+}
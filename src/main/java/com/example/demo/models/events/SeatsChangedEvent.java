@@ -0,0 +1,10 @@
+package com.example.demo.models.events;
+
+/**
+ * Число свободных мест мероприятия изменилось (списание или возврат).
+ * Публикует стратегия списания; слушатели перечитывают остаток после коммита.
+ *
+ * @param soldOutChanged остаток перешёл через ноль: мероприятие распродано или снова в продаже
+ */
+public record SeatsChangedEvent(String eventId, boolean soldOutChanged) {
+}
@@ -0,0 +1,12 @@
+package com.example.demo.models.events;
+
+import java.util.Set;
+
+/**
+ * Учёт мест в памяти записал накопленные изменения остатка в таблицу events.
+ * Публикуется после коммита сброса; до него в БД лежит прежний остаток.
+ *
+ * @param soldOutChanged среди сброшенных изменений есть переход остатка через ноль
+ */
+public record SeatsFlushedEvent(Set<String> eventIds, boolean soldOutChanged) {
+}
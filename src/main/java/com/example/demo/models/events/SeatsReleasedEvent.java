@@ -0,0 +1,7 @@
+package com.example.demo.models.events;
+
+/**
+ * Места мероприятия вернулись в продажу: отмена бронирования, снятие или истечение удержания.
+ */
+public record SeatsReleasedEvent(String eventId, int seats) {
+}
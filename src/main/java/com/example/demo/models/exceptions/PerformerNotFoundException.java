@@ -0,0 +1,8 @@
+package com.example.demo.models.exceptions;
+
+
+public class PerformerNotFoundException extends RuntimeException {
+    public PerformerNotFoundException(String message) {
+        super(message);
+    }
+}
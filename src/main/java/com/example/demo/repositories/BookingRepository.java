@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, String> {
@@ -16,6 +17,9 @@ public interface BookingRepository extends JpaRepository<Booking, String> {
 
     List<Booking> findByEventId(String eventId);
 
+    @Query("SELECT b.event.id FROM Booking b WHERE b.id = :id")
+    Optional<String> findEventIdById(@Param("id") String id);
+
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.event.id = :eventId")
     Long countByEventId(@Param("eventId") String eventId);
 
@@ -0,0 +1,24 @@
+package com.example.demo.repositories;
+
+import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.models.entities.Event;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Карточки афиши одним запросом с join зала и жанра: выбираются только показываемые колонки,
+ * сущности Event не загружаются (и не тянут за собой зал и жанр отдельными select).
+ */
+public interface EventCardRepository {
+
+    /**
+     * @param limit сколько строк выбрать; 0 — все
+     */
+    List<ShowEventInfoDto> findCards(Specification<Event> spec, Sort sort, int limit);
+
+    Page<ShowEventInfoDto> findCards(Specification<Event> spec, Pageable pageable);
+}
@@ -0,0 +1,94 @@
+package com.example.demo.repositories;
+
+import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.models.entities.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+class EventCardRepositoryImpl implements EventCardRepository {
+
+    private static final String NOT_SPECIFIED = "Не указан";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ShowEventInfoDto> findCards(Specification<Event> spec, Sort sort, int limit) {
+        TypedQuery<ShowEventInfoDto> query = cardQuery(spec, sort);
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Page<ShowEventInfoDto> findCards(Specification<Event> spec, Pageable pageable) {
+        TypedQuery<ShowEventInfoDto> query = cardQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    private TypedQuery<ShowEventInfoDto> cardQuery(Specification<Event> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ShowEventInfoDto> query = cb.createQuery(ShowEventInfoDto.class);
+        Root<Event> root = query.from(Event.class);
+        // спецификации переиспользуют эти join, а не добавляют свои
+        Join<?, ?> hall = root.join("hall", JoinType.LEFT);
+        Join<?, ?> genre = root.join("genre", JoinType.LEFT);
+
+        query.select(cb.construct(
+                ShowEventInfoDto.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("slug"),
+                root.get("dateTime"),
+                cb.coalesce(hall.<String>get("name"), NOT_SPECIFIED),
+                root.get("availableSeats"),
+                root.get("imageUrl"),
+                cb.coalesce(genre.<String>get("name"), NOT_SPECIFIED)
+        ));
+        applySpec(spec, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Event> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+
+        query.select(cb.count(root));
+        applySpec(spec, root, query, cb);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void applySpec(Specification<Event> spec, Root<Event> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (spec == null) {
+            return;
+        }
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -2,22 +2,26 @@ package com.example.demo.repositories;
 
 import com.example.demo.models.entities.Event;
 import com.example.demo.models.enums.EventType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, String>,
-        JpaSpecificationExecutor<Event> {
+        JpaSpecificationExecutor<Event>, EventCardRepository {
 
     List<Event> findByEventType(EventType eventType);
     List<Event> findByTitleContainingIgnoreCase(String title);
@@ -40,4 +44,127 @@ public interface EventRepository extends JpaRepository<Event, String>,
         ORDER BY COALESCE(SUM(b.seatsCount), 0) DESC
     """)
     List<Object[]> findTopEventsByBookings(Pageable pageable);
+
+    // учёт мест
+    @Query("SELECT e.id, e.availableSeats FROM Event e")
+    List<Object[]> findSeatSnapshot();
+
+    // корзина: slug → id одним запросом
+    @Query("SELECT e.slug, e.id FROM Event e WHERE e.slug IN :slugs")
+    List<Object[]> findIdsBySlugs(@Param("slugs") Collection<String> slugs);
+
+    // виртуальная очередь
+    @Query("SELECT e.id FROM Event e WHERE e.highDemand = true")
+    List<String> findHighDemandEventIds();
+
+    // поисковый индекс: название и исполнители, по строке на исполнителя
+    @Query("SELECT e.id, e.title, p.name FROM Event e LEFT JOIN e.performers p")
+    List<Object[]> findSearchSnapshot();
+
+    // автодополнение: id, название, жанр, исполнитель (по строке на исполнителя), забронировано мест
+    @Query("""
+        SELECT e.id, e.title, g.name, p.name,
+               (SELECT COALESCE(SUM(b.seatsCount), 0) FROM Booking b WHERE b.event = e)
+        FROM Event e LEFT JOIN e.genre g LEFT JOIN e.performers p
+    """)
+    List<Object[]> findSuggestionSnapshot();
+
+    @Query("""
+        SELECT e.id, e.title, g.name, p.name,
+               (SELECT COALESCE(SUM(b.seatsCount), 0) FROM Booking b WHERE b.event = e)
+        FROM Event e LEFT JOIN e.genre g LEFT JOIN e.performers p
+        WHERE e.id = :id
+    """)
+    List<Object[]> findSuggestionRows(@Param("id") String id);
+
+    // фасеты афиши: id, тип, жанр, зал, дата, свободные места
+    @Query("""
+        SELECT e.id, e.eventType, g.name, h.name, e.dateTime, e.availableSeats
+        FROM Event e LEFT JOIN e.genre g LEFT JOIN e.hall h
+    """)
+    List<Object[]> findFacetSnapshot();
+
+    @Query("""
+        SELECT e.id, e.eventType, g.name, h.name, e.dateTime, e.availableSeats
+        FROM Event e LEFT JOIN e.genre g LEFT JOIN e.hall h
+        WHERE e.id = :id
+    """)
+    List<Object[]> findFacetRow(@Param("id") String id);
+
+    // исполнители → мероприятия: id и дата мероприятия, его жанр, исполнитель и жанр исполнителя
+    @Query("""
+        SELECT e.id, e.dateTime, g.name, p.id, p.name, pg.name
+        FROM Event e JOIN e.performers p LEFT JOIN e.genre g LEFT JOIN p.genre pg
+    """)
+    List<Object[]> findPerformerSnapshot();
+
+    @Query("""
+        SELECT e.id, e.dateTime, g.name, p.id, p.name, pg.name
+        FROM Event e JOIN e.performers p LEFT JOIN e.genre g LEFT JOIN p.genre pg
+        WHERE e.id IN :ids
+    """)
+    List<Object[]> findPerformerRows(@Param("ids") Collection<String> ids);
+
+    // полнотекстовый поиск: схема в FullTextSearchSchema, сортировка по ts_rank; карточки — по id
+    @Query(value = """
+        SELECT e.id FROM events e
+        LEFT JOIN genres g ON g.id = e.genre_id
+        WHERE e.search_vector @@ websearch_to_tsquery('russian', :query)
+          AND (CAST(:type AS varchar) IS NULL OR e.event_type = :type)
+          AND (CAST(:genreName AS varchar) IS NULL OR g.name = :genreName)
+        ORDER BY ts_rank(e.search_vector, websearch_to_tsquery('russian', :query)) DESC, e.id
+    """, countQuery = """
+        SELECT count(*) FROM events e
+        LEFT JOIN genres g ON g.id = e.genre_id
+        WHERE e.search_vector @@ websearch_to_tsquery('russian', :query)
+          AND (CAST(:type AS varchar) IS NULL OR e.event_type = :type)
+          AND (CAST(:genreName AS varchar) IS NULL OR g.name = :genreName)
+    """, nativeQuery = true)
+    Page<String> searchFullTextIds(@Param("query") String query,
+                                   @Param("type") String type,
+                                   @Param("genreName") String genreName,
+                                   Pageable pageable);
+
+    @Query("SELECT e.availableSeats FROM Event e WHERE e.id = :id")
+    Optional<Integer> findAvailableSeatsById(@Param("id") String id);
+
+    @Query("SELECT h.seatLayout, e.seatMap FROM Event e LEFT JOIN e.hall h WHERE e.id = :id")
+    List<Object[]> findSeatMapSource(@Param("id") String id);
+
+    // адреса мероприятий: slug → id и название; старые адреса по названию → slug
+    @Query("SELECT e.id, e.title, e.slug FROM Event e WHERE e.slug = :slug")
+    List<Object[]> findRouteBySlug(@Param("slug") String slug);
+
+    @Query("SELECT e.slug FROM Event e WHERE e.title = :title AND e.slug IS NOT NULL ORDER BY e.createdAt")
+    List<String> findSlugsByTitle(@Param("title") String title);
+
+    @Query("SELECT e.slug FROM Event e WHERE e.slug = :base OR e.slug LIKE CONCAT(:base, '-%')")
+    List<String> findSlugsWithBase(@Param("base") String base);
+
+    @Query("SELECT e.id, e.title FROM Event e WHERE e.slug IS NULL ORDER BY e.createdAt")
+    List<Object[]> findWithoutSlug();
+
+    @Modifying
+    @Query("UPDATE Event e SET e.slug = :slug WHERE e.id = :id")
+    int updateSlug(@Param("id") String id, @Param("slug") String slug);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") String id);
+
+    @Modifying
+    @Query("""
+        UPDATE Event e
+        SET e.availableSeats = e.availableSeats - :seats, e.version = e.version + 1
+        WHERE e.id = :id AND e.availableSeats >= :seats
+    """)
+    int decrementAvailableSeats(@Param("id") String id, @Param("seats") int seats);
+
+    @Modifying
+    @Query("""
+        UPDATE Event e
+        SET e.availableSeats = e.availableSeats + :seats, e.version = e.version + 1
+        WHERE e.id = :id
+    """)
+    int incrementAvailableSeats(@Param("id") String id, @Param("seats") int seats);
 }
\ No newline at end of file
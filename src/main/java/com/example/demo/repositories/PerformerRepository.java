@@ -19,4 +19,8 @@ public interface PerformerRepository extends JpaRepository<Performer, String> {
     // Исполнители определённого жанра
     @Query("SELECT p FROM Performer p WHERE p.genre.name = :genreName")
     List<Performer> findByGenreName(@Param("genreName") String genreName);
+
+    // каталог исполнителей: id, имя, жанр
+    @Query("SELECT p.id, p.name, g.name FROM Performer p LEFT JOIN p.genre g")
+    List<Object[]> findCatalogSnapshot();
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.demo.repositories;
+
+import com.example.demo.models.entities.SeatHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, String> {
+
+    @Query("SELECT h.id, h.expiresAt FROM SeatHold h")
+    List<Object[]> findExpirySchedule();
+
+    List<SeatHold> findByUserIdAndEventId(String userId, String eventId);
+
+    List<SeatHold> findByUserIdOrderByExpiresAtAsc(String userId);
+
+    // удаляет только тот, кто успел первым: подтверждение или истечение срока
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.id = :id")
+    int deleteHoldById(@Param("id") String id);
+}
@@ -0,0 +1,29 @@
+package com.example.demo.repositories;
+
+import com.example.demo.models.entities.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, String> {
+
+    // очереди в памяти восстанавливаются в порядке постановки
+    @Query("SELECT w.id, w.event.id FROM WaitlistEntry w ORDER BY w.createdAt")
+    List<Object[]> findQueueSnapshot();
+
+    List<WaitlistEntry> findByUserIdOrderByCreatedAtAsc(String userId);
+
+    boolean existsByUserIdAndEventId(String userId, String eventId);
+
+    Optional<WaitlistEntry> findFirstByEventIdOrderByCreatedAtAsc(String eventId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.id = :id")
+    int deleteEntryById(@Param("id") String id);
+}
@@ -6,8 +6,11 @@ import org.springframework.data.jpa.domain.Specification;
 
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Root;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
 
 public final class EventSpecification {
 
@@ -24,6 +27,13 @@ public final class EventSpecification {
                 );
     }
 
+    public static Specification<Event> idIn(Collection<String> ids) {
+        return (root, query, cb) ->
+                ids.isEmpty()
+                        ? cb.disjunction()
+                        : root.get("id").in(ids);
+    }
+
     public static Specification<Event> hasType(EventType type) {
         return (root, query, cb) ->
                 type == null
@@ -38,6 +48,30 @@ public final class EventSpecification {
                         : cb.equal(genreJoin(root).get("name"), genreName);
     }
 
+    public static Specification<Event> hasPerformerId(String performerId) {
+        return (root, query, cb) ->
+                isBlank(performerId)
+                        ? cb.conjunction()
+                        : cb.equal(root.join("performers", JoinType.INNER).get("id"), performerId);
+    }
+
+    public static Specification<Event> hasHallName(String hallName) {
+        return (root, query, cb) ->
+                isBlank(hallName)
+                        ? cb.conjunction()
+                        : cb.equal(leftJoin(root, "hall").get("name"), hallName);
+    }
+
+    public static Specification<Event> inMonth(YearMonth month) {
+        return (root, query, cb) ->
+                month == null
+                        ? cb.conjunction()
+                        : cb.and(
+                        cb.greaterThanOrEqualTo(root.get("dateTime"), month.atDay(1).atStartOfDay()),
+                        cb.lessThan(root.get("dateTime"), month.plusMonths(1).atDay(1).atStartOfDay())
+                );
+    }
+
     public static Specification<Event> hasGenreId(String genreId) {
         return (root, query, cb) ->
                 isBlank(genreId)
@@ -45,11 +79,48 @@ public final class EventSpecification {
                         : cb.equal(genreJoin(root).get("id"), genreId);
     }
 
+    /**
+     * Строки строго после (или до) граничной в порядке (поле, id).
+     * Условие «поле >= значение» вынесено отдельно, чтобы база шла по индексу (поле, id).
+     */
+    public static <Y extends Comparable<? super Y>> Specification<Event> seek(
+            String attribute, Y value, String id, boolean backward) {
+        return (root, query, cb) -> {
+            Path<Y> key = root.get(attribute);
+            Path<String> eventId = root.get("id");
+            return backward
+                    ? cb.and(cb.lessThanOrEqualTo(key, value),
+                             cb.or(cb.lessThan(key, value), cb.lessThan(eventId, id)))
+                    : cb.and(cb.greaterThanOrEqualTo(key, value),
+                             cb.or(cb.greaterThan(key, value), cb.greaterThan(eventId, id)));
+        };
+    }
+
     public static Specification<Event> isFuture() {
         return (root, query, cb) ->
                 cb.greaterThan(root.get("dateTime"), LocalDateTime.now());
     }
 
+    /**
+     * Мероприятия в полуинтервале [from, to); null — граница не задана.
+     * Идёт по индексу idx_events_date_time_id.
+     */
+    public static Specification<Event> dateTimeBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> dateTime = root.get("dateTime");
+            if (from == null && to == null) {
+                return cb.conjunction();
+            }
+            if (from == null) {
+                return cb.lessThan(dateTime, to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(dateTime, from);
+            }
+            return cb.and(cb.greaterThanOrEqualTo(dateTime, from), cb.lessThan(dateTime, to));
+        };
+    }
+
     public static Specification<Event> hasAvailableSeats() {
         return (root, query, cb) ->
                 cb.greaterThan(root.get("availableSeats"), 0);
@@ -60,6 +131,15 @@ public final class EventSpecification {
     }
 
     private static Join<?, ?> genreJoin(Root<Event> root) {
-        return root.join("genre", JoinType.LEFT);
+        return leftJoin(root, "genre");
+    }
+
+    // join, уже добавленный запросом (например, проекцией карточек), используется повторно
+    private static Join<?, ?> leftJoin(Root<Event> root, String attribute) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals(attribute)
+                        && join.getJoinType() == JoinType.LEFT)
+                .findFirst()
+                .orElseGet(() -> root.join(attribute, JoinType.LEFT));
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.BookingCreateDto;
+import com.example.demo.services.seats.SeatMapRegistry;
+
+import java.util.List;
+
+/**
+ * Общие правила заявки на места — для бронирования и для удержания.
+ */
+public final class BookingRequests {
+
+    public static final int MAX_SEATS_PER_BOOKING = 10;
+
+    private BookingRequests() {
+    }
+
+    /**
+     * Проверяет заявку и возвращает явно выбранные места (количество мест берётся из них).
+     */
+    public static List<String> requestedSeats(BookingCreateDto bookingCreateDto) {
+        List<String> requestedSeats = SeatMapRegistry.parseLabels(bookingCreateDto.getSeats());
+        if (!requestedSeats.isEmpty()) {
+            bookingCreateDto.setSeatsCount(requestedSeats.size());
+        }
+
+        if (bookingCreateDto.getSeatsCount() > MAX_SEATS_PER_BOOKING) {
+            throw new IllegalArgumentException(
+                    "Максимальное количество мест для одного бронирования — " + MAX_SEATS_PER_BOOKING
+            );
+        }
+
+        return requestedSeats;
+    }
+
+    public static String comment(String comment) {
+        return comment == null || comment.isBlank()
+                ? "Без комментария"
+                : comment.trim();
+    }
+
+    public static String seatLabels(List<String> labels) {
+        return labels.isEmpty() ? null : String.join(", ", labels);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo.services;
 
 import com.example.demo.dto.BookingCreateDto;
 import com.example.demo.dto.BookingViewDto;
+import com.example.demo.services.routing.EventRoute;
 
 import java.security.Principal;
 import java.util.List;
@@ -9,7 +10,7 @@ import java.util.List;
 
 public interface BookingService {
 
-    void createBooking(String eventTitle,
+    void createBooking(EventRoute event,
                        BookingCreateDto bookingCreateDto,
                        Principal principal);
 
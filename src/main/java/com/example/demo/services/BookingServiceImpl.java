@@ -3,15 +3,17 @@ package com.example.demo.services;
 import com.example.demo.dto.BookingCreateDto;
 import com.example.demo.dto.BookingViewDto;
 import com.example.demo.models.entities.Booking;
-import com.example.demo.models.entities.Event;
 import com.example.demo.models.entities.User;
 import com.example.demo.models.exceptions.BookingNotFoundException;
-import com.example.demo.models.exceptions.EventNotFoundException;
 import com.example.demo.repositories.BookingRepository;
-import com.example.demo.repositories.EventRepository;
+import com.example.demo.services.mapping.BookingMapper;
+import com.example.demo.services.pipeline.BookingCommand;
+import com.example.demo.services.pipeline.BookingPipeline;
+import com.example.demo.services.routing.EventRoute;
+import com.example.demo.services.seats.SeatTransactionRunner;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.Principal;
@@ -25,62 +27,41 @@ import java.util.stream.Collectors;
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
-    private final EventRepository eventRepository;
     private final AuthService authService;
-    private final ModelMapper mapper;
+    private final SeatTransactionRunner seatTransactions;
+    private final SeatHoldService seatHoldService;
+    private final BookingPipeline bookingPipeline;
+    private final BookingMapper bookingMapper;
 
     public BookingServiceImpl(BookingRepository bookingRepository,
-                              EventRepository eventRepository,
                               AuthService authService,
-                              ModelMapper mapper) {
+                              SeatTransactionRunner seatTransactions,
+                              SeatHoldService seatHoldService,
+                              BookingPipeline bookingPipeline,
+                              BookingMapper bookingMapper) {
         this.bookingRepository = bookingRepository;
-        this.eventRepository = eventRepository;
         this.authService = authService;
-        this.mapper = mapper;
+        this.seatTransactions = seatTransactions;
+        this.seatHoldService = seatHoldService;
+        this.bookingPipeline = bookingPipeline;
+        this.bookingMapper = bookingMapper;
     }
 
     @Override
-    @Transactional
-    public void createBooking(String eventTitle,
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void createBooking(EventRoute event,
                               BookingCreateDto bookingCreateDto,
                               Principal principal) {
 
-        User user = getCurrentUser(principal);
-
-        Event event = eventRepository.findByTitle(eventTitle)
-                .orElseThrow(() ->
-                        new EventNotFoundException(
-                                "Мероприятие '" + eventTitle + "' не найдено"
-                        )
-                );
-
-        if (bookingCreateDto.getSeatsCount() > event.getAvailableSeats()) {
-            throw new IllegalArgumentException("Недостаточно свободных мест");
-        }
+        List<String> requestedSeats = BookingRequests.requestedSeats(bookingCreateDto);
 
-        if (bookingCreateDto.getSeatsCount() > 10) {
-            throw new IllegalArgumentException(
-                    "Максимальное количество мест для одного бронирования — 10"
-            );
-        }
-
-        Booking booking = new Booking();
-        booking.setUser(user);
-        booking.setEvent(event);
-        booking.setSeatsCount(bookingCreateDto.getSeatsCount());
-        booking.setComment(
-                bookingCreateDto.getComment() == null ||
-                        bookingCreateDto.getComment().isBlank()
-                        ? "Без комментария"
-                        : bookingCreateDto.getComment().trim()
-        );
-
-        event.setAvailableSeats(
-                event.getAvailableSeats() - bookingCreateDto.getSeatsCount()
-        );
-
-        bookingRepository.save(booking);
-        eventRepository.save(event);
+        bookingPipeline.submit(new BookingCommand(
+                event.id(),
+                getCurrentUser(principal),
+                bookingCreateDto.getSeatsCount(),
+                requestedSeats,
+                BookingRequests.comment(bookingCreateDto.getComment())
+        ));
     }
 
     @Override
@@ -89,7 +70,7 @@ public class BookingServiceImpl implements BookingService {
 
         return bookingRepository.findByUserOrderByCreatedAtDesc(user)
                 .stream()
-                .map(this::toBookingViewDto)
+                .map(bookingMapper::toBookingViewDto)
                 .collect(Collectors.toList());
     }
 
@@ -108,12 +89,24 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalArgumentException("Доступ запрещен");
         }
 
-        return toBookingViewDto(booking);
+        return bookingMapper.toBookingViewDto(booking);
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cancelBooking(String bookingId, Principal principal) {
+        bookingPipeline.cancel(
+                () -> bookingRepository.findEventIdById(bookingId)
+                        .orElseThrow(() ->
+                                new BookingNotFoundException(
+                                        "Бронирование с ID '" + bookingId + "' не найдено"
+                                )
+                        ),
+                () -> seatTransactions.run(() -> deleteBooking(bookingId, principal))
+        );
+    }
+
+    private void deleteBooking(String bookingId, Principal principal) {
         User user = getCurrentUser(principal);
 
         Booking booking = bookingRepository.findById(bookingId)
@@ -129,33 +122,11 @@ public class BookingServiceImpl implements BookingService {
             );
         }
 
-        Event event = booking.getEvent();
-        event.setAvailableSeats(
-                event.getAvailableSeats() + booking.getSeatsCount()
-        );
-
         bookingRepository.delete(booking);
-        eventRepository.save(event);
+        seatHoldService.releaseSeats(booking.getEvent().getId(), booking.getSeatsCount(), booking.getSeatLabels());
     }
 
     private User getCurrentUser(Principal principal) {
         return authService.getUser(principal.getName());
     }
-
-    private BookingViewDto toBookingViewDto(Booking booking) {
-        BookingViewDto dto = mapper.map(booking, BookingViewDto.class);
-
-        dto.setEventTitle(booking.getEvent().getTitle());
-        dto.setEventDateTime(booking.getEvent().getDateTime());
-        dto.setHallName(booking.getEvent().getHall().getName());
-
-        dto.setUserFullName(booking.getUser().getFullName());
-        dto.setUserEmail(booking.getUser().getEmail());
-
-        if (dto.getComment() == null || dto.getComment().isBlank()) {
-            dto.setComment("Без комментария");
-        }
-
-        return dto;
-    }
 }
\ No newline at end of file
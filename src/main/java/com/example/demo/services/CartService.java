@@ -0,0 +1,14 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.CartItemDto;
+
+import java.security.Principal;
+import java.util.List;
+
+public interface CartService {
+
+    /**
+     * Бронирует все позиции корзины одной транзакцией: либо все, либо ни одной.
+     */
+    void checkout(List<CartItemDto> items, String comment, Principal principal);
+}
@@ -0,0 +1,131 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.CartItemDto;
+import com.example.demo.models.entities.Booking;
+import com.example.demo.models.entities.User;
+import com.example.demo.models.exceptions.EventNotFoundException;
+import com.example.demo.repositories.BookingRepository;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.services.seats.SeatMapRegistry;
+import com.example.demo.services.seats.SeatReservationStrategy;
+import com.example.demo.services.seats.SeatTransactionRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Оформление корзины из нескольких мероприятий (абонементы).
+ * Места списываются в порядке id мероприятий: в режимах PESSIMISTIC и CONDITIONAL_UPDATE
+ * блокировки строк events берутся в одном порядке всеми транзакциями, поэтому
+ * встречные корзины не могут взаимно заблокироваться.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class CartServiceImpl implements CartService {
+
+    public static final int MAX_CART_ITEMS = 20;
+
+    private final BookingRepository bookingRepository;
+    private final EventRepository eventRepository;
+    private final AuthService authService;
+    private final SeatReservationStrategy seatStrategy;
+    private final SeatTransactionRunner seatTransactions;
+    private final SeatMapRegistry seatMaps;
+
+    public CartServiceImpl(BookingRepository bookingRepository,
+                           EventRepository eventRepository,
+                           AuthService authService,
+                           SeatReservationStrategy seatStrategy,
+                           SeatTransactionRunner seatTransactions,
+                           SeatMapRegistry seatMaps) {
+        this.bookingRepository = bookingRepository;
+        this.eventRepository = eventRepository;
+        this.authService = authService;
+        this.seatStrategy = seatStrategy;
+        this.seatTransactions = seatTransactions;
+        this.seatMaps = seatMaps;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void checkout(List<CartItemDto> items, String comment, Principal principal) {
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("Корзина пуста");
+        }
+        if (items.size() > MAX_CART_ITEMS) {
+            throw new IllegalArgumentException("В корзине не может быть больше " + MAX_CART_ITEMS + " мероприятий");
+        }
+
+        // id мероприятия → мест; TreeMap задаёт порядок блокировок
+        TreeMap<String, Integer> seatsByEvent = resolveSeats(items);
+        User user = getCurrentUser(principal);
+        String bookingComment = BookingRequests.comment(comment);
+
+        seatTransactions.run(() -> {
+            List<Booking> bookings = new ArrayList<>(seatsByEvent.size());
+
+            seatsByEvent.forEach((eventId, seats) -> {
+                seatStrategy.reserve(eventId, seats);
+                List<String> seatLabels = seatMaps.allocate(eventId, seats, List.of());
+
+                Booking booking = new Booking();
+                booking.setUser(user);
+                booking.setEvent(eventRepository.getReferenceById(eventId));
+                booking.setSeatsCount(seats);
+                booking.setSeatLabels(BookingRequests.seatLabels(seatLabels));
+                booking.setComment(bookingComment);
+                bookings.add(booking);
+            });
+
+            bookingRepository.saveAll(bookings);
+        });
+
+        log.info("Корзина оформлена пользователем {}: {} мероприятий", principal.getName(), seatsByEvent.size());
+    }
+
+    private TreeMap<String, Integer> resolveSeats(List<CartItemDto> items) {
+        Map<String, Integer> seatsBySlug = new HashMap<>();
+        Map<String, String> titlesBySlug = new HashMap<>();
+        for (CartItemDto item : items) {
+            if (item.getSeatsCount() == null || item.getSeatsCount() < 1) {
+                throw new IllegalArgumentException("Количество мест должно быть больше 0");
+            }
+            seatsBySlug.merge(item.getEventSlug(), item.getSeatsCount(), Integer::sum);
+            titlesBySlug.put(item.getEventSlug(), item.getEventTitle());
+        }
+
+        Map<String, String> idsBySlug = new HashMap<>();
+        for (Object[] row : eventRepository.findIdsBySlugs(seatsBySlug.keySet())) {
+            idsBySlug.put((String) row[0], (String) row[1]);
+        }
+
+        TreeMap<String, Integer> seatsByEvent = new TreeMap<>();
+        seatsBySlug.forEach((slug, seats) -> {
+            String title = titlesBySlug.get(slug);
+            String eventId = idsBySlug.get(slug);
+            if (eventId == null) {
+                throw new EventNotFoundException("Мероприятие '" + title + "' не найдено");
+            }
+            if (seats > BookingRequests.MAX_SEATS_PER_BOOKING) {
+                throw new IllegalArgumentException("Максимальное количество мест для одного бронирования — "
+                        + BookingRequests.MAX_SEATS_PER_BOOKING + " ('" + title + "')");
+            }
+            seatsByEvent.put(eventId, seats);
+        });
+
+        return seatsByEvent;
+    }
+
+    private User getCurrentUser(Principal principal) {
+        return authService.getUser(principal.getName());
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.demo.services;
 
 import com.example.demo.dto.AddEventDto;
+import com.example.demo.dto.EventCursorPageDto;
+import com.example.demo.dto.EventFacetsDto;
 import com.example.demo.dto.ShowEventInfoDto;
 import com.example.demo.dto.ShowDetailedEventInfoDto;
 import com.example.demo.dto.TopEventDto;
+import com.example.demo.models.enums.EventSort;
 import com.example.demo.models.enums.EventType;
+import com.example.demo.services.search.EventFilter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface EventService {
     List<ShowEventInfoDto> allEvents();
@@ -17,14 +22,17 @@ public interface EventService {
     List<ShowEventInfoDto> findByEventType(EventType type);
     List<ShowEventInfoDto> findByGenreId(String genreId);
     List<ShowEventInfoDto> findByGenreName(String genreName);
-    ShowDetailedEventInfoDto eventDetails(String eventTitle);
+    ShowDetailedEventInfoDto eventDetails(String eventId);
 
     // НОВЫЕ МЕТОДЫ ДЛЯ ФИЛЬТРАЦИИ
     List<ShowEventInfoDto> findEventsWithFilters(String search, EventType type, String genreName);
     Page<ShowEventInfoDto> findEventsWithFiltersPaginated(String search, EventType type, String genreName, Pageable pageable);
+    EventCursorPageDto findEventsByCursor(EventFilter filter, EventSort sort, String cursor, int size);
+    Optional<EventFacetsDto> eventFacets(EventFilter filter);
+    Page<ShowEventInfoDto> searchEventsFullText(String search, EventType type, String genreName, Pageable pageable);
 
     void addEvent(AddEventDto dto);
-    void deleteEvent(String eventTitle);
+    void deleteEvent(String eventId);
 
     List<TopEventDto> getTopEventsByBookings(int limit);
 }
\ No newline at end of file
@@ -1,33 +1,53 @@
 package com.example.demo.services;
 
 import com.example.demo.dto.AddEventDto;
+import com.example.demo.dto.EventCursorPageDto;
+import com.example.demo.dto.EventFacetsDto;
 import com.example.demo.dto.ShowEventInfoDto;
 import com.example.demo.dto.ShowDetailedEventInfoDto;
 import com.example.demo.dto.TopEventDto;
 import com.example.demo.models.entities.Event;
 import com.example.demo.models.entities.Genre;
 import com.example.demo.models.entities.Hall;
+import com.example.demo.models.enums.EventSort;
 import com.example.demo.models.enums.EventType;
+import com.example.demo.models.events.EventCreatedEvent;
+import com.example.demo.models.events.EventDeletedEvent;
 import com.example.demo.models.exceptions.EventNotFoundException;
 import com.example.demo.repositories.EventRepository;
 import com.example.demo.repositories.GenreRepository;
 import com.example.demo.repositories.HallRepository;
 import com.example.demo.repositories.specifications.EventSpecification;
-import org.modelmapper.ModelMapper;
+import com.example.demo.services.mapping.EventMapper;
+import com.example.demo.services.routing.EventRoutes;
+import com.example.demo.services.search.EventCounts;
+import com.example.demo.services.search.EventFacetIndex;
+import com.example.demo.services.search.EventFilter;
+import com.example.demo.services.search.EventSearchIndex;
+import com.example.demo.utils.pagination.KeysetCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,80 +56,80 @@ public class EventServiceImpl implements EventService {
     private final EventRepository eventRepository;
     private final HallRepository hallRepository;
     private final GenreRepository genreRepository;
-    private final ModelMapper mapper;
+    private final EventSearchIndex searchIndex;
+    private final EventFacetIndex facetIndex;
+    private final EventCounts eventCounts;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventRoutes eventRoutes;
+    private final EventMapper eventMapper;
+    private final int maxSearchIds;
 
     private static final Logger log = LoggerFactory.getLogger(EventServiceImpl.class);
 
     public EventServiceImpl(EventRepository eventRepository,
                             HallRepository hallRepository,
                             GenreRepository genreRepository,
-                            ModelMapper mapper) {
+                            EventSearchIndex searchIndex,
+                            EventFacetIndex facetIndex,
+                            EventCounts eventCounts,
+                            ApplicationEventPublisher eventPublisher,
+                            EventRoutes eventRoutes,
+                            EventMapper eventMapper,
+                            @Value("${app.search.max-ids-in-query:1000}") int maxSearchIds) {
         this.eventRepository = eventRepository;
         this.hallRepository = hallRepository;
         this.genreRepository = genreRepository;
-        this.mapper = mapper;
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
+        this.eventCounts = eventCounts;
+        this.eventPublisher = eventPublisher;
+        this.eventRoutes = eventRoutes;
+        this.eventMapper = eventMapper;
+        this.maxSearchIds = maxSearchIds;
     }
 
     @Override
-    @Cacheable(value = "events", key = "'all'", unless = "#result.isEmpty()")
+    @Cacheable(value = "events", key = "'all'", sync = true)
     public List<ShowEventInfoDto> allEvents() {
-        return eventRepository.findAll()
-                .stream()
-                .map(this::toShowEventInfoDto)
-                .collect(Collectors.toList());
+        return eventRepository.findCards(null, Sort.unsorted(), 0);
     }
 
     @Override
     public Page<ShowEventInfoDto> allEventsPaginated(Pageable pageable) {
-        return eventRepository.findAll(pageable)
-                .map(this::toShowEventInfoDto);
+        return eventRepository.findCards(null, pageable);
     }
 
     @Override
     public List<ShowEventInfoDto> searchEvents(String search) {
-        return eventRepository.findByTitleContainingIgnoreCase(search)
-                .stream()
-                .map(this::toShowEventInfoDto)
-                .collect(Collectors.toList());
+        return eventRepository.findCards(searchSpec(search), Sort.unsorted(), 0);
     }
 
     @Override
-    @Cacheable(value = "events", key = "'type_' + #type")
+    @Cacheable(value = "events", key = "'type_' + #type", sync = true)
     public List<ShowEventInfoDto> findByEventType(EventType type) {
-        return eventRepository.findByEventType(type)
-                .stream()
-                .map(this::toShowEventInfoDto)
-                .collect(Collectors.toList());
+        return eventRepository.findCards(EventSpecification.hasType(type), Sort.unsorted(), 0);
     }
 
     @Override
     public List<ShowEventInfoDto> findByGenreId(String genreId) {
-        return eventRepository.findAll(EventSpecification.hasGenreId(genreId))
-                .stream()
-                .map(this::toShowEventInfoDto)
-                .collect(Collectors.toList());
+        return eventRepository.findCards(EventSpecification.hasGenreId(genreId), Sort.unsorted(), 0);
     }
 
     @Override
-    @Cacheable(value = "events", key = "'genre_' + #genreName")
+    @Cacheable(value = "events", key = "'genre_' + #genreName", sync = true)
     public List<ShowEventInfoDto> findByGenreName(String genreName) {
-        return eventRepository.findAll(EventSpecification.hasGenreName(genreName))
-                .stream()
-                .map(this::toShowEventInfoDto)
-                .collect(Collectors.toList());
+        return eventRepository.findCards(EventSpecification.hasGenreName(genreName), Sort.unsorted(), 0);
     }
 
     @Override
-    @Cacheable(value = "event", key = "#eventTitle", unless = "#result == null")
-    public ShowDetailedEventInfoDto eventDetails(String eventTitle) {
-        log.debug("Получение деталей мероприятия: {}", eventTitle);
+    @Cacheable(value = "event", key = "#eventId", sync = true)
+    public ShowDetailedEventInfoDto eventDetails(String eventId) {
+        log.debug("Получение деталей мероприятия: {}", eventId);
 
-        Event event = eventRepository.findByTitle(eventTitle)
-                .orElseThrow(() ->
-                        new EventNotFoundException("Мероприятие '" + eventTitle + "' не найдено")
-                );
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Мероприятие не найдено"));
 
-        return toShowDetailedEventInfoDto(event);
+        return eventMapper.toShowDetailedEventInfoDto(event);
     }
 
     @Override
@@ -118,10 +138,7 @@ public class EventServiceImpl implements EventService {
             EventType type,
             String genreName
     ) {
-        return eventRepository.findAll(buildFilterSpec(search, type, genreName))
-                .stream()
-                .map(this::toShowEventInfoDto)
-                .collect(Collectors.toList());
+        return eventRepository.findCards(buildFilterSpec(search, type, genreName), Sort.unsorted(), 0);
     }
 
     @Override
@@ -131,18 +148,122 @@ public class EventServiceImpl implements EventService {
             String genreName,
             Pageable pageable
     ) {
-        return eventRepository.findAll(
-                        buildFilterSpec(search, type, genreName),
-                        pageable
-                )
-                .map(this::toShowEventInfoDto);
+        return eventRepository.findCards(buildFilterSpec(search, type, genreName), pageable);
+    }
+
+    @Override
+    public EventCursorPageDto findEventsByCursor(
+            EventFilter filter,
+            EventSort sort,
+            String cursor,
+            int size
+    ) {
+        Specification<Event> filterSpec = databaseFilterSpec(filter);
+
+        // курсор другой сортировки (пользователь её сменил) — начинаем сначала
+        KeysetCursor position = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        if (position != null && !position.sort().equals(sort.name())) {
+            position = null;
+        }
+        boolean backward = position != null && position.backward();
+
+        Specification<Event> seek = position == null ? filterSpec : filterSpec.and(seekSpec(sort, position));
+        Sort.Direction direction = backward ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort order = Sort.by(direction, sort.attribute()).and(Sort.by(direction, "id"));
+
+        // лишняя строка показывает, есть ли что-то за страницей; COUNT и OFFSET не нужны
+        List<ShowEventInfoDto> rows = eventRepository.findCards(seek, order, size + 1);
+        boolean more = rows.size() > size;
+        List<ShowEventInfoDto> page = new ArrayList<>(more ? rows.subList(0, size) : rows);
+        if (backward) {
+            Collections.reverse(page);
+        }
+
+        String previousCursor = null;
+        String nextCursor = null;
+        if (!page.isEmpty()) {
+            if (backward ? more : position != null) {
+                previousCursor = cursorAt(sort, page.get(0), true);
+            }
+            if (backward || more) {
+                nextCursor = cursorAt(sort, page.get(page.size() - 1), false);
+            }
+        }
+
+        return new EventCursorPageDto(
+                page,
+                previousCursor,
+                nextCursor,
+                matchingCount(filter).orElseGet(() -> eventCounts.count(filter, filterSpec))
+        );
+    }
+
+    @Override
+    public Optional<EventFacetsDto> eventFacets(EventFilter filter) {
+        Optional<List<String>> searchIds = searchIndex.search(filter.search());
+        if (filter.search() != null && searchIds.isEmpty()) {
+            return Optional.empty();
+        }
+        return facetIndex.facets(filter, searchIds.orElse(null));
+    }
+
+    private static Specification<Event> seekSpec(EventSort sort, KeysetCursor position) {
+        try {
+            return switch (sort) {
+                case TITLE -> EventSpecification.seek(
+                        sort.attribute(), position.value(), position.id(), position.backward());
+                case DATE -> EventSpecification.seek(
+                        sort.attribute(), LocalDateTime.parse(position.value()), position.id(), position.backward());
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Некорректная ссылка на страницу", e);
+        }
+    }
+
+    private static String cursorAt(EventSort sort, ShowEventInfoDto event, boolean backward) {
+        String value = switch (sort) {
+            case TITLE -> event.getTitle();
+            case DATE -> event.getDateTime().toString();
+        };
+        return new KeysetCursor(sort.name(), value, event.getId(), backward).encode();
+    }
+
+    @Override
+    public Page<ShowEventInfoDto> searchEventsFullText(
+            String search,
+            EventType type,
+            String genreName,
+            Pageable pageable
+    ) {
+        if (search == null || search.isBlank()) {
+            return findEventsWithFiltersPaginated(search, type, genreName, pageable);
+        }
+
+        // порядок задаёт ts_rank, сортировка из запроса не применяется
+        Page<String> ids = eventRepository.searchFullTextIds(
+                search.trim(),
+                type != null ? type.name() : null,
+                genreName == null || genreName.isBlank() ? null : genreName,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+        );
+
+        // карточки страницы одним запросом, затем в порядке релевантности
+        Map<String, ShowEventInfoDto> cards = eventRepository
+                .findCards(EventSpecification.idIn(ids.getContent()), Sort.unsorted(), 0)
+                .stream()
+                .collect(Collectors.toMap(ShowEventInfoDto::getId, Function.identity()));
+        List<ShowEventInfoDto> content = ids.getContent().stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = "event", allEntries = true)
     public void addEvent(AddEventDto dto) {
-        Event event = mapper.map(dto, Event.class);
+        Event event = eventMapper.toEvent(dto);
+        event.setSlug(eventRoutes.uniqueSlug(dto.getTitle()));
         Hall hall = hallRepository.findById(String.valueOf(dto.getHallId()))
                 .orElseThrow(() -> new IllegalArgumentException("Зал не найден"));
         event.setHall(hall);
@@ -154,20 +275,20 @@ public class EventServiceImpl implements EventService {
         }
 
         eventRepository.save(event);
+        eventPublisher.publishEvent(new EventCreatedEvent(
+                event.getId(), event.getTitle(), event.getAvailableSeats(), event.isHighDemand()));
         log.info("Мероприятие '{}' добавлено", dto.getTitle());
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = "event", allEntries = true)
-    public void deleteEvent(String eventTitle) {
-        Event event = eventRepository.findByTitle(eventTitle)
-                .orElseThrow(() ->
-                        new EventNotFoundException("Мероприятие '" + eventTitle + "' не найдено")
-                );
+    public void deleteEvent(String eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Мероприятие не найдено"));
 
         try {
             eventRepository.delete(event);
+            eventPublisher.publishEvent(new EventDeletedEvent(event.getId(), event.getTitle()));
         } catch (DataIntegrityViolationException ex) {
             throw new IllegalArgumentException(
                     "Нельзя удалить мероприятие. Есть связанные бронирования."
@@ -175,43 +296,43 @@ public class EventServiceImpl implements EventService {
         }
     }
 
-    private Specification<Event> buildFilterSpec(
+    // пакетная видимость — для JMH-бенчмарков (src/jmh)
+    Specification<Event> buildFilterSpec(
             String search,
             EventType type,
             String genreName
     ) {
-        return Specification
-                .where(EventSpecification.titleContains(search))
-                .and(EventSpecification.hasType(type))
-                .and(EventSpecification.hasGenreName(genreName));
-    }
-
-    private ShowEventInfoDto toShowEventInfoDto(Event event) {
-        ShowEventInfoDto dto = mapper.map(event, ShowEventInfoDto.class);
-        dto.setHallName(event.getHall() != null ? event.getHall().getName() : "Не указан");
-        dto.setGenreName(event.getGenre() != null ? event.getGenre().getName() : "Не указан");
-        return dto;
+        return databaseFilterSpec(new EventFilter(search, type, genreName, null, null, false));
     }
 
-    private ShowDetailedEventInfoDto toShowDetailedEventInfoDto(Event event) {
-        ShowDetailedEventInfoDto dto = mapper.map(event, ShowDetailedEventInfoDto.class);
-
-        if (event.getHall() != null) {
-            dto.setHallName(event.getHall().getName());
-            dto.setHallAddress(event.getHall().getAddress());
-            dto.setCapacity(event.getHall().getCapacity());
-        } else {
-            dto.setHallName("Не указан");
-            dto.setHallAddress("Не указан");
-            dto.setCapacity(0);
+    // общее число считают фасеты в памяти, без COUNT в базе; пока они не построены — пусто
+    private Optional<Integer> matchingCount(EventFilter filter) {
+        Optional<List<String>> searchIds = searchIndex.search(filter.search());
+        if (filter.search() != null && searchIds.isEmpty()) {
+            return Optional.empty();
         }
+        return facetIndex.count(filter, searchIds.orElse(null));
+    }
 
-        dto.setGenreName(event.getGenre() != null
-                ? event.getGenre().getName()
-                : "Не указан");
+    // фильтры — условия запроса (и keyset-страница идёт по индексу); строку ищет триграммный индекс
+    private Specification<Event> databaseFilterSpec(EventFilter filter) {
+        return Specification
+                .where(searchSpec(filter.search()))
+                .and(EventSpecification.hasType(filter.type()))
+                .and(EventSpecification.hasGenreName(filter.genreName()))
+                .and(EventSpecification.hasHallName(filter.hallName()))
+                .and(EventSpecification.inMonth(filter.month()))
+                .and(filter.withSeats() ? EventSpecification.hasAvailableSeats() : null);
+    }
 
-        return dto;
+    // слишком общий запрос дал бы IN на тысячи параметров — тогда ищет база (только по названию)
+    private Specification<Event> searchSpec(String search) {
+        return searchIndex.search(search)
+                .filter(ids -> ids.size() <= maxSearchIds)
+                .map(EventSpecification::idIn)
+                .orElseGet(() -> EventSpecification.titleContains(search));
     }
+
     @Override
     public List<TopEventDto> getTopEventsByBookings(int limit) {
         Pageable pageable = PageRequest.of(0, limit);
@@ -226,6 +347,7 @@ public class EventServiceImpl implements EventService {
 
             TopEventDto dto = new TopEventDto(
                     event.getTitle(),
+                    event.getSlug(),
                     totalSeats != null ? totalSeats.intValue() : 0,
                     event.getImageUrl() != null ? event.getImageUrl() : "/images/default-event.jpg",
                     position
@@ -0,0 +1,15 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.PerformerDto;
+import com.example.demo.dto.ShowEventInfoDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface PerformerService {
+    List<PerformerDto> performers(String genreName);
+    PerformerDto performer(String performerId);
+    List<ShowEventInfoDto> performerEvents(String performerId, String genreName, boolean upcomingOnly);
+    Map<String, List<PerformerDto>> performersByEvent(Collection<String> eventIds);
+}
@@ -0,0 +1,106 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.PerformerDto;
+import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.models.entities.Event;
+import com.example.demo.models.entities.Performer;
+import com.example.demo.models.exceptions.PerformerNotFoundException;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.repositories.PerformerRepository;
+import com.example.demo.repositories.specifications.EventSpecification;
+import com.example.demo.services.search.PerformerEventIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Каталог исполнителей. Отвечает из индекса «исполнитель → мероприятия» в памяти;
+ * пока индекс не построен (первые секунды после старта) — запросами к базе.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class PerformerServiceImpl implements PerformerService {
+
+    private static final Sort BY_DATE = Sort.by("dateTime", "id");
+
+    private final PerformerRepository performerRepository;
+    private final EventRepository eventRepository;
+    private final PerformerEventIndex performerIndex;
+
+    public PerformerServiceImpl(PerformerRepository performerRepository,
+                                EventRepository eventRepository,
+                                PerformerEventIndex performerIndex) {
+        this.performerRepository = performerRepository;
+        this.eventRepository = eventRepository;
+        this.performerIndex = performerIndex;
+    }
+
+    @Override
+    public List<PerformerDto> performers(String genreName) {
+        String genre = blankToNull(genreName);
+        return performerIndex.performers(genre).orElseGet(() -> {
+            log.debug("Индекс исполнителей не построен, каталог читается из базы");
+            return performerRepository.findCatalogSnapshot().stream()
+                    .filter(row -> genre == null || genre.equals(row[2]))
+                    .map(row -> new PerformerDto((String) row[0], (String) row[1], (String) row[2], null))
+                    .sorted(Comparator.comparing(PerformerDto::getName, String.CASE_INSENSITIVE_ORDER))
+                    .toList();
+        });
+    }
+
+    @Override
+    public PerformerDto performer(String performerId) {
+        return performerIndex.performer(performerId)
+                .or(() -> performerRepository.findById(performerId).map(PerformerServiceImpl::toDto))
+                .orElseThrow(() -> new PerformerNotFoundException("Исполнитель не найден"));
+    }
+
+    @Override
+    public List<ShowEventInfoDto> performerEvents(String performerId, String genreName, boolean upcomingOnly) {
+        String genre = blankToNull(genreName);
+        Specification<Event> spec = performerIndex.eventIds(performerId, genre, upcomingOnly)
+                .map(EventSpecification::idIn)
+                .orElseGet(() -> Specification
+                        .where(EventSpecification.hasPerformerId(performerId))
+                        .and(EventSpecification.hasGenreName(genre))
+                        .and(EventSpecification.dateTimeBetween(upcomingOnly ? LocalDateTime.now() : null, null)));
+
+        return eventRepository.findCards(spec, BY_DATE, 0);
+    }
+
+    @Override
+    public Map<String, List<PerformerDto>> performersByEvent(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Map.of();
+        }
+        return performerIndex.performersByEvent(eventIds).orElseGet(() -> {
+            // одним запросом на все карточки, а не по запросу на каждую
+            Map<String, List<PerformerDto>> result = new LinkedHashMap<>();
+            for (Object[] row : eventRepository.findPerformerRows(eventIds)) {
+                result.computeIfAbsent((String) row[0], id -> new ArrayList<>())
+                        .add(new PerformerDto((String) row[3], (String) row[4], (String) row[5], null));
+            }
+            return result;
+        });
+    }
+
+    private static PerformerDto toDto(Performer performer) {
+        return new PerformerDto(performer.getId(), performer.getName(),
+                performer.getGenre() != null ? performer.getGenre().getName() : null, null);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.BookingCreateDto;
+import com.example.demo.dto.SeatHoldDto;
+import com.example.demo.models.entities.User;
+import com.example.demo.services.routing.EventRoute;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+
+public interface SeatHoldService {
+
+    SeatHoldDto placeHold(EventRoute event, BookingCreateDto bookingCreateDto, Principal principal);
+
+    /**
+     * Удерживает лучшие свободные места для пользователя в текущей транзакции
+     * (продвижение из листа ожидания).
+     */
+    SeatHoldDto placeHold(User user, String eventId, int seatsCount, String comment, Duration ttl);
+
+    List<SeatHoldDto> getUserHolds(Principal principal);
+
+    SeatHoldDto getHold(String holdId, Principal principal);
+
+    void confirmHold(String holdId, Principal principal);
+
+    void releaseHold(String holdId, Principal principal);
+
+    /**
+     * Возвращает места отменённого бронирования или снятого удержания в текущей транзакции:
+     * сначала первым в листе ожидания, остаток — в продажу.
+     */
+    void releaseSeats(String eventId, int seatsCount, String seatLabels);
+}
@@ -0,0 +1,331 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.BookingCreateDto;
+import com.example.demo.dto.SeatHoldDto;
+import com.example.demo.models.entities.Booking;
+import com.example.demo.models.entities.SeatHold;
+import com.example.demo.models.entities.User;
+import com.example.demo.models.entities.WaitlistEntry;
+import com.example.demo.models.events.SeatsReleasedEvent;
+import com.example.demo.models.exceptions.BookingNotFoundException;
+import com.example.demo.repositories.BookingRepository;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.repositories.SeatHoldRepository;
+import com.example.demo.repositories.WaitlistEntryRepository;
+import com.example.demo.services.mapping.BookingMapper;
+import com.example.demo.services.routing.EventRoute;
+import com.example.demo.services.seats.SeatMapRegistry;
+import com.example.demo.services.seats.SeatReservationStrategy;
+import com.example.demo.services.seats.SeatTransactionRunner;
+import com.example.demo.utils.timing.HierarchicalTimingWheel;
+import com.example.demo.utils.transaction.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Удержание мест на время оформления. Сроки отслеживает колесо таймеров в памяти;
+ * после рестарта оно заполняется заново из таблицы seat_holds.
+ * <p>
+ * Освободившиеся места (отмена бронирования, снятие и истечение удержания) сначала передаются
+ * первым в листе ожидания — удержанием в той же транзакции, так что параллельное бронирование
+ * перехватить их не может. В продажу возвращается только остаток.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class SeatHoldServiceImpl implements SeatHoldService {
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final BookingRepository bookingRepository;
+    private final WaitlistEntryRepository waitlistRepository;
+    private final EventRepository eventRepository;
+    private final AuthService authService;
+    private final SeatReservationStrategy seatStrategy;
+    private final SeatTransactionRunner seatTransactions;
+    private final SeatMapRegistry seatMaps;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingMapper bookingMapper;
+    private final Duration holdTtl;
+    private final Duration waitlistHoldTtl;
+    private final HierarchicalTimingWheel<String> expiryWheel;
+
+    public SeatHoldServiceImpl(SeatHoldRepository seatHoldRepository,
+                               BookingRepository bookingRepository,
+                               WaitlistEntryRepository waitlistRepository,
+                               EventRepository eventRepository,
+                               AuthService authService,
+                               SeatReservationStrategy seatStrategy,
+                               SeatTransactionRunner seatTransactions,
+                               SeatMapRegistry seatMaps,
+                               ApplicationEventPublisher eventPublisher,
+                               BookingMapper bookingMapper,
+                               @Value("${app.booking.hold.ttl-seconds:600}") long holdTtlSeconds,
+                               @Value("${app.booking.hold.tick-ms:1000}") long tickMillis,
+                               @Value("${app.booking.waitlist.hold-ttl-seconds:900}") long waitlistHoldTtlSeconds) {
+        this.seatHoldRepository = seatHoldRepository;
+        this.bookingRepository = bookingRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.eventRepository = eventRepository;
+        this.authService = authService;
+        this.seatStrategy = seatStrategy;
+        this.seatTransactions = seatTransactions;
+        this.seatMaps = seatMaps;
+        this.eventPublisher = eventPublisher;
+        this.bookingMapper = bookingMapper;
+        this.holdTtl = Duration.ofSeconds(holdTtlSeconds);
+        this.waitlistHoldTtl = Duration.ofSeconds(waitlistHoldTtlSeconds);
+        this.expiryWheel = new HierarchicalTimingWheel<>(tickMillis, 64, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreHolds() {
+        List<Object[]> schedule = seatHoldRepository.findExpirySchedule();
+
+        for (Object[] row : schedule) {
+            expiryWheel.add((String) row[0], toMillis((LocalDateTime) row[1]));
+        }
+
+        log.info("Восстановлено удержаний мест: {}", schedule.size());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SeatHoldDto placeHold(EventRoute event,
+                                 BookingCreateDto bookingCreateDto,
+                                 Principal principal) {
+
+        List<String> requestedSeats = BookingRequests.requestedSeats(bookingCreateDto);
+
+        SeatHold hold = seatTransactions.execute(() -> createHold(
+                getCurrentUser(principal),
+                event.id(),
+                bookingCreateDto.getSeatsCount(),
+                requestedSeats,
+                BookingRequests.comment(bookingCreateDto.getComment()),
+                holdTtl
+        ));
+
+        log.info("Места удержаны: {} для мероприятия '{}' до {}",
+                hold.getSeatsCount(), event.title(), hold.getExpiresAt());
+
+        return bookingMapper.toSeatHoldDto(hold, event.title());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public SeatHoldDto placeHold(User user, String eventId, int seatsCount, String comment, Duration ttl) {
+        SeatHold hold = createHold(user, eventId, seatsCount, List.of(), comment, ttl);
+        return bookingMapper.toSeatHoldDto(hold, hold.getEvent().getTitle());
+    }
+
+    private SeatHold createHold(User user,
+                                String eventId,
+                                int seatsCount,
+                                List<String> requestedSeats,
+                                String comment,
+                                Duration ttl) {
+        releaseUserHolds(user, eventId);
+
+        seatStrategy.reserve(eventId, seatsCount);
+        return saveHold(user, eventId, seatsCount, seatMaps.allocate(eventId, seatsCount, requestedSeats), comment, ttl);
+    }
+
+    // у пользователя одно удержание на мероприятие: повторная заявка заменяет прежнюю
+    private void releaseUserHolds(User user, String eventId) {
+        seatHoldRepository.findByUserIdAndEventId(user.getId(), eventId)
+                .forEach(this::releaseIfActive);
+    }
+
+    // места уже списаны со счётчика
+    private SeatHold saveHold(User user,
+                              String eventId,
+                              int seatsCount,
+                              List<String> seatLabels,
+                              String comment,
+                              Duration ttl) {
+        SeatHold hold = new SeatHold();
+        hold.setUser(user);
+        hold.setEvent(eventRepository.getReferenceById(eventId));
+        hold.setSeatsCount(seatsCount);
+        hold.setSeatLabels(BookingRequests.seatLabels(seatLabels));
+        hold.setComment(comment);
+        hold.setExpiresAt(LocalDateTime.now().plus(ttl));
+        seatHoldRepository.save(hold);
+
+        TransactionCallbacks.afterCommit(() ->
+                expiryWheel.add(hold.getId(), toMillis(hold.getExpiresAt())));
+        return hold;
+    }
+
+    @Override
+    public List<SeatHoldDto> getUserHolds(Principal principal) {
+        return seatHoldRepository.findByUserIdOrderByExpiresAtAsc(getCurrentUser(principal).getId())
+                .stream()
+                .map(hold -> bookingMapper.toSeatHoldDto(hold, hold.getEvent().getTitle()))
+                .toList();
+    }
+
+    @Override
+    public SeatHoldDto getHold(String holdId, Principal principal) {
+        SeatHold hold = findOwnHold(holdId, getCurrentUser(principal));
+        return bookingMapper.toSeatHoldDto(hold, hold.getEvent().getTitle());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void confirmHold(String holdId, Principal principal) {
+        seatTransactions.run(() -> {
+            User user = getCurrentUser(principal);
+            SeatHold hold = findOwnHold(holdId, user);
+
+            if (hold.getExpiresAt().isBefore(LocalDateTime.now())
+                    || seatHoldRepository.deleteHoldById(holdId) == 0) {
+                throw new BookingNotFoundException("Время удержания мест истекло");
+            }
+
+            // места уже списаны при удержании
+            Booking booking = new Booking();
+            booking.setUser(user);
+            booking.setEvent(hold.getEvent());
+            booking.setSeatsCount(hold.getSeatsCount());
+            booking.setSeatLabels(hold.getSeatLabels());
+            booking.setComment(hold.getComment());
+            bookingRepository.save(booking);
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void releaseHold(String holdId, Principal principal) {
+        seatTransactions.run(() -> releaseIfActive(findOwnHold(holdId, getCurrentUser(principal))));
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.hold.tick-ms:1000}")
+    public void expireHolds() {
+        List<String> expiredIds = expiryWheel.advance(System.currentTimeMillis());
+        if (expiredIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            int released = seatTransactions.execute(() -> releaseExpired(expiredIds));
+            log.info("Истёк срок удержания: {} (освобождено {})", expiredIds.size(), released);
+        } catch (RuntimeException e) {
+            log.error("Не удалось освободить истёкшие удержания, повтор через минуту", e);
+            long retryAt = System.currentTimeMillis() + Duration.ofMinutes(1).toMillis();
+            expiredIds.forEach(id -> expiryWheel.add(id, retryAt));
+        }
+    }
+
+    /**
+     * Освобождает пачку истёкших удержаний: по одному изменению счётчика мест на мероприятие.
+     */
+    private int releaseExpired(List<String> holdIds) {
+        Map<String, Integer> seatsByEvent = new HashMap<>();
+        Map<String, List<String>> labelsByEvent = new HashMap<>();
+
+        for (SeatHold hold : seatHoldRepository.findAllById(holdIds)) {
+            if (seatHoldRepository.deleteHoldById(hold.getId()) == 1) {
+                String eventId = hold.getEvent().getId();
+                seatsByEvent.merge(eventId, hold.getSeatsCount(), Integer::sum);
+                labelsByEvent.computeIfAbsent(eventId, key -> new ArrayList<>())
+                        .addAll(SeatMapRegistry.parseLabels(hold.getSeatLabels()));
+            }
+        }
+
+        seatsByEvent.forEach((eventId, seats) -> returnSeats(eventId, seats, labelsByEvent.get(eventId)));
+        return seatsByEvent.size();
+    }
+
+    private void releaseIfActive(SeatHold hold) {
+        if (seatHoldRepository.deleteHoldById(hold.getId()) == 1) {
+            releaseSeats(hold.getEvent().getId(), hold.getSeatsCount(), hold.getSeatLabels());
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseSeats(String eventId, int seatsCount, String seatLabels) {
+        returnSeats(eventId, seatsCount, new ArrayList<>(SeatMapRegistry.parseLabels(seatLabels)));
+    }
+
+    private void returnSeats(String eventId, int seats, List<String> seatLabels) {
+        int unclaimed = transferToWaitlist(eventId, seats, seatLabels);
+        seatMaps.release(eventId, BookingRequests.seatLabels(seatLabels));
+        if (unclaimed > 0) {
+            seatStrategy.release(eventId, unclaimed);
+            eventPublisher.publishEvent(new SeatsReleasedEvent(eventId, unclaimed));
+        }
+    }
+
+    /**
+     * Передаёт места первым в листе ожидания, пока первому их хватает: те же места,
+     * со счётчика и со схемы зала они не снимаются. Первого не обходят: если ему нужно больше,
+     * остаток уходит в продажу, а заявку продвинет WaitlistService, когда свободных мест наберётся.
+     *
+     * @param seatLabels подписи освободившихся мест; переданные из списка удаляются
+     * @return сколько мест не передано
+     */
+    private int transferToWaitlist(String eventId, int seats, List<String> seatLabels) {
+        int remaining = seats;
+
+        while (remaining > 0) {
+            WaitlistEntry head = waitlistRepository.findFirstByEventIdOrderByCreatedAtAsc(eventId).orElse(null);
+            if (head == null || head.getSeatsCount() > remaining) {
+                break;
+            }
+            // заявку уже отозвали или продвинули параллельно
+            if (waitlistRepository.deleteEntryById(head.getId()) == 0) {
+                continue;
+            }
+
+            List<String> transferred = seatLabels.subList(0, Math.min(head.getSeatsCount(), seatLabels.size()));
+            List<String> holdLabels = List.copyOf(transferred);
+            transferred.clear();
+
+            releaseUserHolds(head.getUser(), eventId);
+            SeatHold hold = saveHold(head.getUser(), eventId, head.getSeatsCount(), holdLabels,
+                    head.getComment(), waitlistHoldTtl);
+            remaining -= head.getSeatsCount();
+
+            log.info("Лист ожидания: пользователю {} переданы {} освободившихся мест на '{}' до {}",
+                    head.getUser().getUsername(), hold.getSeatsCount(), head.getEvent().getTitle(), hold.getExpiresAt());
+        }
+        return remaining;
+    }
+
+    private SeatHold findOwnHold(String holdId, User user) {
+        SeatHold hold = seatHoldRepository.findById(holdId)
+                .orElseThrow(() -> new BookingNotFoundException("Удержание мест не найдено или истекло"));
+
+        if (!hold.getUser().getId().equals(user.getId())) {
+            throw new IllegalArgumentException("Доступ запрещен");
+        }
+
+        return hold;
+    }
+
+    private User getCurrentUser(Principal principal) {
+        return authService.getUser(principal.getName());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.WaitlistEntryDto;
+import com.example.demo.services.routing.EventRoute;
+
+import java.security.Principal;
+import java.util.List;
+
+public interface WaitlistService {
+
+    void join(EventRoute event, int seatsCount, String comment, Principal principal);
+
+    void leave(String entryId, Principal principal);
+
+    List<WaitlistEntryDto> getUserEntries(Principal principal);
+}
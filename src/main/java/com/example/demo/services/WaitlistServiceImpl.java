@@ -0,0 +1,234 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.WaitlistEntryDto;
+import com.example.demo.models.entities.User;
+import com.example.demo.models.entities.WaitlistEntry;
+import com.example.demo.models.events.EventDeletedEvent;
+import com.example.demo.models.events.SeatsReleasedEvent;
+import com.example.demo.models.exceptions.BookingNotFoundException;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.repositories.WaitlistEntryRepository;
+import com.example.demo.services.mapping.BookingMapper;
+import com.example.demo.services.routing.EventRoute;
+import com.example.demo.services.seats.SeatTransactionRunner;
+import com.example.demo.utils.transaction.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Листы ожидания: таблица waitlist_entries и очереди в памяти по мероприятиям.
+ * Освободившиеся места первым в очереди передаёт сам возврат мест, в своей транзакции
+ * ({@link SeatHoldService#releaseSeats}). Здесь очередь продвигается, когда места вернулись
+ * в продажу ({@link SeatsReleasedEvent}) или первый ушёл из очереди: первые получают удержание
+ * на holdTtl из свободных мест — строго по порядку, без опроса по расписанию.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final EventRepository eventRepository;
+    private final AuthService authService;
+    private final SeatHoldService seatHoldService;
+    private final SeatTransactionRunner seatTransactions;
+    private final BookingMapper bookingMapper;
+    private final Duration holdTtl;
+
+    private final ConcurrentMap<String, EventWaitlist> waitlists = new ConcurrentHashMap<>();
+    private final ExecutorService promoters = Executors.newVirtualThreadPerTaskExecutor();
+
+    public WaitlistServiceImpl(WaitlistEntryRepository waitlistRepository,
+                               EventRepository eventRepository,
+                               AuthService authService,
+                               SeatHoldService seatHoldService,
+                               SeatTransactionRunner seatTransactions,
+                               BookingMapper bookingMapper,
+                               @Value("${app.booking.waitlist.hold-ttl-seconds:900}") long holdTtlSeconds) {
+        this.waitlistRepository = waitlistRepository;
+        this.eventRepository = eventRepository;
+        this.authService = authService;
+        this.seatHoldService = seatHoldService;
+        this.seatTransactions = seatTransactions;
+        this.bookingMapper = bookingMapper;
+        this.holdTtl = Duration.ofSeconds(holdTtlSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreQueues() {
+        List<Object[]> snapshot = waitlistRepository.findQueueSnapshot();
+
+        for (Object[] row : snapshot) {
+            waitlist((String) row[1]).entryIds.add((String) row[0]);
+        }
+
+        // пока приложение было остановлено, места могли освободиться
+        waitlists.values().forEach(EventWaitlist::signal);
+        log.info("Восстановлено заявок в листах ожидания: {}", snapshot.size());
+    }
+
+    @Override
+    @Transactional
+    public void join(EventRoute event, int seatsCount, String comment, Principal principal) {
+        if (seatsCount < 1 || seatsCount > BookingRequests.MAX_SEATS_PER_BOOKING) {
+            throw new IllegalArgumentException(
+                    "Количество мест должно быть от 1 до " + BookingRequests.MAX_SEATS_PER_BOOKING);
+        }
+
+        String eventId = event.id();
+        User user = getCurrentUser(principal);
+
+        if (waitlistRepository.existsByUserIdAndEventId(user.getId(), eventId)) {
+            throw new IllegalArgumentException("Вы уже в листе ожидания этого мероприятия");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setUser(user);
+        entry.setEvent(eventRepository.getReferenceById(eventId));
+        entry.setSeatsCount(seatsCount);
+        entry.setComment(BookingRequests.comment(comment));
+        waitlistRepository.save(entry);
+
+        TransactionCallbacks.afterCommit(() -> {
+            EventWaitlist waitlist = waitlist(eventId);
+            waitlist.entryIds.add(entry.getId());
+            // места могли освободиться, пока пользователь заполнял форму
+            waitlist.signal();
+        });
+
+        log.info("Пользователь {} встал в лист ожидания '{}' на {} мест", user.getUsername(), event.title(), seatsCount);
+    }
+
+    @Override
+    @Transactional
+    public void leave(String entryId, Principal principal) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId)
+                .orElseThrow(() -> new BookingNotFoundException("Заявка в листе ожидания не найдена"));
+
+        if (!entry.getUser().getId().equals(getCurrentUser(principal).getId())) {
+            throw new IllegalArgumentException("Доступ запрещен");
+        }
+
+        waitlistRepository.deleteEntryById(entryId);
+        String eventId = entry.getEvent().getId();
+        // если заявка стояла первой, следующая может пройти сразу
+        TransactionCallbacks.afterCommit(() -> waitlist(eventId).signal());
+    }
+
+    @Override
+    public List<WaitlistEntryDto> getUserEntries(Principal principal) {
+        return waitlistRepository.findByUserIdOrderByCreatedAtAsc(getCurrentUser(principal).getId())
+                .stream()
+                .map(bookingMapper::toWaitlistEntryDto)
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsReleased(SeatsReleasedEvent event) {
+        EventWaitlist waitlist = waitlists.get(event.eventId());
+        if (waitlist != null && !waitlist.entryIds.isEmpty()) {
+            waitlist.signal();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventDeleted(EventDeletedEvent event) {
+        waitlists.remove(event.eventId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        promoters.shutdown();
+    }
+
+    /**
+     * Продвигает очередь, пока первому хватает мест. Первого не обходят:
+     * если ему нужно больше мест, чем освободилось, ждут все.
+     */
+    private void promote(String eventId, EventWaitlist waitlist) {
+        String entryId;
+
+        while ((entryId = waitlist.entryIds.peek()) != null) {
+            String headId = entryId;
+            try {
+                seatTransactions.run(() -> promoteEntry(headId));
+            } catch (IllegalArgumentException e) {
+                log.debug("Лист ожидания {}: первому пока не хватает мест ({})", eventId, e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Ошибка продвижения листа ожидания мероприятия {}", eventId, e);
+                return;
+            }
+            waitlist.entryIds.remove(headId);
+        }
+    }
+
+    private void promoteEntry(String entryId) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId).orElse(null);
+
+        // заявку уже отозвали
+        if (entry == null || waitlistRepository.deleteEntryById(entryId) == 0) {
+            return;
+        }
+
+        var hold = seatHoldService.placeHold(
+                entry.getUser(), entry.getEvent().getId(), entry.getSeatsCount(), entry.getComment(), holdTtl);
+
+        log.info("Лист ожидания: пользователю {} удержано {} мест на '{}' до {}",
+                entry.getUser().getUsername(), hold.getSeatsCount(), hold.getEventTitle(), hold.getExpiresAt());
+    }
+
+    private EventWaitlist waitlist(String eventId) {
+        return waitlists.computeIfAbsent(eventId, EventWaitlist::new);
+    }
+
+    private User getCurrentUser(Principal principal) {
+        return authService.getUser(principal.getName());
+    }
+
+    /**
+     * Очередь мероприятия. Сигналы о свободных местах сворачиваются:
+     * одновременно очередь продвигает не больше одного потока.
+     */
+    private final class EventWaitlist {
+
+        private final String eventId;
+        private final ConcurrentLinkedQueue<String> entryIds = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger signals = new AtomicInteger();
+
+        EventWaitlist(String eventId) {
+            this.eventId = eventId;
+        }
+
+        void signal() {
+            if (signals.getAndIncrement() == 0) {
+                promoters.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int seen;
+            do {
+                seen = signals.get();
+                promote(eventId, this);
+            } while (signals.addAndGet(-seen) != 0);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.example.demo.services.cache;
+
+import com.example.demo.dto.ShowDetailedEventInfoDto;
+import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.models.enums.EventType;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Компактный двоичный формат значений кэша: поля DTO пишутся подряд в известном порядке, без имён полей
+ * и классов, числа — varint. Заголовок — метка формата, номер схемы и флаги; тело длиннее порога
+ * сжимается LZ4, если от этого становится короче.
+ * <p>
+ * Схема версионируется: при изменении полей DTO номер схемы повышается, а чтение прежних номеров
+ * остаётся. Значение неизвестной (более новой) схемы читается как промах кэша.
+ * Значения без метки — JSON прежнего формата — читаются резервным сериализатором, им же пишутся
+ * типы, которых двоичная схема не знает.
+ */
+public class BinaryCacheValueSerializer implements RedisSerializer<Object> {
+
+    // JSON начинается с ASCII-символа, так что метка его не спутает
+    static final byte MAGIC = (byte) 0xCB;
+    // 2 — добавлен конверт CachedValue со сроком значения
+    static final byte SCHEMA_VERSION = 2;
+    private static final byte OLDEST_READABLE_VERSION = 1;
+
+    private static final int HEADER_LENGTH = 3;
+    private static final byte FLAG_LZ4 = 1;
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte STRING = 4;
+    private static final byte LIST = 5;
+    private static final byte EVENT_CARD = 6;
+    private static final byte EVENT_DETAILS = 7;
+    private static final byte CACHED_VALUE = 8;
+
+    private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+
+    /**
+     * @param fallback             сериализатор прежнего формата и неизвестных схеме типов
+     * @param compressionThreshold с какого размера тела в байтах пробовать сжатие; отрицательный — не сжимать
+     */
+    public BinaryCacheValueSerializer(RedisSerializer<Object> fallback, int compressionThreshold) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (!supported(value)) {
+            return fallback.serialize(value);
+        }
+
+        Output body = new Output(256);
+        body.writeByte(MAGIC);
+        body.writeByte(SCHEMA_VERSION);
+        body.writeByte(0);
+        writeValue(body, value);
+
+        int bodyLength = body.length - HEADER_LENGTH;
+        if (compressionThreshold < 0 || bodyLength < compressionThreshold) {
+            return body.toByteArray();
+        }
+
+        Output compressed = new Output(HEADER_LENGTH + 5 + COMPRESSOR.maxCompressedLength(bodyLength));
+        compressed.writeByte(MAGIC);
+        compressed.writeByte(SCHEMA_VERSION);
+        compressed.writeByte(FLAG_LZ4);
+        compressed.writeVarInt(bodyLength);
+        compressed.ensure(COMPRESSOR.maxCompressedLength(bodyLength));
+        compressed.length += COMPRESSOR.compress(body.bytes, HEADER_LENGTH, bodyLength,
+                compressed.bytes, compressed.length, compressed.bytes.length - compressed.length);
+
+        return compressed.length < body.length ? compressed.toByteArray() : body.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("Повреждённое значение кэша: нет заголовка");
+        }
+        if (bytes[1] < OLDEST_READABLE_VERSION || bytes[1] > SCHEMA_VERSION) {
+            // записано узлом с другой схемой — для этого узла промах, значение перезапишется
+            return null;
+        }
+
+        try {
+            Input input = new Input(bytes, HEADER_LENGTH);
+            if ((bytes[2] & FLAG_LZ4) != 0) {
+                input = decompress(input);
+            }
+            return readValue(input);
+        } catch (LZ4Exception | IndexOutOfBoundsException | NegativeArraySizeException | IllegalArgumentException e) {
+            throw new SerializationException("Повреждённое значение кэша", e);
+        }
+    }
+
+    private static Input decompress(Input input) {
+        int bodyLength = input.readVarInt();
+        int compressedLength = input.bytes.length - input.position;
+        // LZ4 сжимает не больше чем в 255 раз: длина больше — повреждённый заголовок, а не повод выделять память
+        if (bodyLength < 0 || (long) bodyLength > (long) compressedLength * 255) {
+            throw new IllegalArgumentException("Неверная длина сжатого тела: " + bodyLength);
+        }
+        byte[] body = new byte[bodyLength];
+        DECOMPRESSOR.decompress(input.bytes, input.position, body, 0, bodyLength);
+        return new Input(body, 0);
+    }
+
+    private static boolean supported(Object value) {
+        if (value instanceof CachedValue cached) {
+            return cached.getValue() == null || supported(cached.getValue());
+        }
+        if (value instanceof List<?> list) {
+            for (Object element : list) {
+                if (element != null && !supported(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return value instanceof ShowEventInfoDto
+                || value instanceof ShowDetailedEventInfoDto
+                || value instanceof String
+                || value instanceof Integer
+                || value instanceof Long
+                || value instanceof Boolean;
+    }
+
+    private static void writeValue(Output out, Object value) {
+        switch (value) {
+            case null -> out.writeByte(NULL);
+            case Boolean flag -> {
+                out.writeByte(BOOLEAN);
+                out.writeByte(flag ? 1 : 0);
+            }
+            case Integer number -> {
+                out.writeByte(INT);
+                out.writeVarLong(zigZag(number));
+            }
+            case Long number -> {
+                out.writeByte(LONG);
+                out.writeVarLong(zigZag(number));
+            }
+            case String text -> {
+                out.writeByte(STRING);
+                out.writeString(text);
+            }
+            case List<?> list -> {
+                out.writeByte(LIST);
+                out.writeVarInt(list.size());
+                for (Object element : list) {
+                    writeValue(out, element);
+                }
+            }
+            case CachedValue cached -> {
+                out.writeByte(CACHED_VALUE);
+                out.writeVarLong(zigZag(cached.getExpiresAt()));
+                writeValue(out, cached.getValue());
+            }
+            case ShowEventInfoDto card -> {
+                out.writeByte(EVENT_CARD);
+                out.writeString(card.getId());
+                out.writeString(card.getTitle());
+                out.writeString(card.getSlug());
+                out.writeDateTime(card.getDateTime());
+                out.writeString(card.getHallName());
+                out.writeInteger(card.getAvailableSeats());
+                out.writeString(card.getImageUrl());
+                out.writeString(card.getGenreName());
+            }
+            case ShowDetailedEventInfoDto details -> {
+                out.writeByte(EVENT_DETAILS);
+                out.writeString(details.getTitle());
+                out.writeString(details.getSlug());
+                out.writeString(details.getDescription());
+                out.writeDateTime(details.getDateTime());
+                out.writeString(details.getHallName());
+                out.writeString(details.getHallAddress());
+                out.writeInteger(details.getCapacity());
+                out.writeInteger(details.getAvailableSeats());
+                out.writeString(details.getImageUrl());
+                out.writeString(details.getEventType() != null ? details.getEventType().name() : null);
+                out.writeString(details.getGenreName());
+            }
+            default -> throw new SerializationException("Тип не поддерживается двоичной схемой: " + value.getClass());
+        }
+    }
+
+    private static Object readValue(Input in) {
+        byte type = in.readByte();
+        return switch (type) {
+            case NULL -> null;
+            case BOOLEAN -> in.readByte() != 0;
+            case INT -> (int) unZigZag(in.readVarLong());
+            case LONG -> unZigZag(in.readVarLong());
+            case STRING -> in.readString();
+            case LIST -> {
+                int size = in.readVarInt();
+                // каждый элемент занимает хотя бы байт
+                if (size < 0 || size > in.remaining()) {
+                    throw new IllegalArgumentException("Неверная длина списка: " + size);
+                }
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case CACHED_VALUE -> {
+                long expiresAt = unZigZag(in.readVarLong());
+                yield new CachedValue(readValue(in), expiresAt);
+            }
+            case EVENT_CARD -> new ShowEventInfoDto(
+                    in.readString(), in.readString(), in.readString(), in.readDateTime(),
+                    in.readString(), in.readInteger(), in.readString(), in.readString());
+            case EVENT_DETAILS -> {
+                ShowDetailedEventInfoDto details = new ShowDetailedEventInfoDto();
+                details.setTitle(in.readString());
+                details.setSlug(in.readString());
+                details.setDescription(in.readString());
+                details.setDateTime(in.readDateTime());
+                details.setHallName(in.readString());
+                details.setHallAddress(in.readString());
+                details.setCapacity(in.readInteger());
+                details.setAvailableSeats(in.readInteger());
+                details.setImageUrl(in.readString());
+                String eventType = in.readString();
+                details.setEventType(eventType != null ? EventType.valueOf(eventType) : null);
+                details.setGenreName(in.readString());
+                yield details;
+            }
+            default -> throw new SerializationException("Неизвестный тип в значении кэша: " + type);
+        };
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Output {
+
+        private byte[] bytes;
+        private int length;
+
+        Output(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[length++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        /**
+         * Длина + 1 (0 — null), затем UTF-8.
+         */
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(utf8.length + 1);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+        }
+
+        void writeInteger(Integer value) {
+            if (value == null) {
+                writeByte(0);
+                return;
+            }
+            writeByte(1);
+            writeVarLong(zigZag(value));
+        }
+
+        void writeDateTime(LocalDateTime value) {
+            if (value == null) {
+                writeByte(0);
+                return;
+            }
+            writeByte(1);
+            writeVarLong(zigZag(value.toEpochSecond(ZoneOffset.UTC)));
+            writeVarInt(value.getNano());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        byte readByte() {
+            return bytes[position++];
+        }
+
+        int remaining() {
+            return bytes.length - position;
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = bytes[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Слишком длинное число varint");
+        }
+
+        String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        Integer readInteger() {
+            return readByte() == 0 ? null : (int) unZigZag(readVarLong());
+        }
+
+        LocalDateTime readDateTime() {
+            if (readByte() == 0) {
+                return null;
+            }
+            long epochSecond = unZigZag(readVarLong());
+            int nano = readVarInt();
+            return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        }
+    }
+}
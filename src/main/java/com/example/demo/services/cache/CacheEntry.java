@@ -0,0 +1,15 @@
+package com.example.demo.services.cache;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Запись L1 вместе с моментом, когда истечёт её копия в Redis (мс от эпохи; {@link Long#MAX_VALUE} — неизвестно).
+ * По нему решается, пора ли обновить значение заранее.
+ */
+record CacheEntry(Object value, long expiresAt) implements Cache.ValueWrapper {
+
+    @Override
+    public Object get() {
+        return value;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.services.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Поколения кэшей: номер поколения входит в префикс ключей в Redis («events::g3::all»).
+ * Полная очистка кэша — INCR номера, а не обход ключей через KEYS/SCAN: записи прежнего поколения
+ * больше никто не читает, и они истекают сами по времени жизни.
+ * <p>
+ * Узел держит номер у себя и перечитывает его из Redis не реже раза за период обновления;
+ * о новом поколении другие узлы узнают сразу через {@link CacheInvalidationBus}.
+ */
+public class CacheGenerations {
+
+    private static final String PREFIX = "app:cache:generation:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final LoadingCache<String, Long> generations;
+
+    public CacheGenerations(StringRedisTemplate redisTemplate, Duration refreshInterval) {
+        this.redisTemplate = redisTemplate;
+        this.generations = Caffeine.newBuilder()
+                .expireAfterWrite(refreshInterval)
+                .build(this::load);
+    }
+
+    /**
+     * Префикс ключей кэша в Redis для текущего поколения.
+     */
+    public String prefix(String cacheName) {
+        return cacheName + "::g" + generations.get(cacheName) + "::";
+    }
+
+    long bump(String cacheName) {
+        Long next = redisTemplate.opsForValue().increment(PREFIX + cacheName);
+        long generation = next == null ? 0 : next;
+        advance(cacheName, generation);
+        return generation;
+    }
+
+    /**
+     * Переход на поколение, объявленное другим узлом; старые номера не применяются.
+     */
+    void advance(String cacheName, long generation) {
+        generations.asMap().merge(cacheName, generation, Math::max);
+    }
+
+    private Long load(String cacheName) {
+        String generation = redisTemplate.opsForValue().get(PREFIX + cacheName);
+        return generation == null ? 0L : Long.parseLong(generation);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.services.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Команды сброса L1 между узлами через Redis pub/sub. Сообщение — «узел, команда, кэш, аргумент»:
+ * сброс ключа (аргумент — ключ) или очистка кэша (аргумент — новое поколение, см. {@link CacheGenerations}).
+ * Свои сообщения узел пропускает: свой L1 он уже обновил.
+ * <p>
+ * Доставка pub/sub не гарантирована, поэтому у L1 ограничено время жизни записи.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    private static final char SEPARATOR = '\u001F';
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheGenerations generations;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, CacheGenerations generations, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.generations = generations;
+        this.channel = channel;
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    void register(TwoLevelCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(EVICT, cacheName, key);
+    }
+
+    void publishClear(String cacheName, long generation) {
+        publish(CLEAR, cacheName, String.valueOf(generation));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR), 4);
+        if (parts.length < 4 || parts[0].equals(nodeId)) {
+            return;
+        }
+
+        if (CLEAR.equals(parts[1])) {
+            generations.advance(parts[2], Long.parseLong(parts[3]));
+        }
+
+        // кэш ещё не создан на этом узле — сбрасывать нечего
+        TwoLevelCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+
+        if (EVICT.equals(parts[1])) {
+            cache.evictLocal(parts[3]);
+        } else {
+            cache.clearLocal();
+        }
+    }
+
+    private void publish(String command, String cacheName, String argument) {
+        try {
+            redisTemplate.convertAndSend(channel,
+                    nodeId + SEPARATOR + command + SEPARATOR + cacheName + SEPARATOR + argument);
+        } catch (DataAccessException e) {
+            // L2 уже изменён; другие узлы увидят изменение по истечении времени жизни L1
+            log.warn("Не удалось разослать сброс кэша другим узлам: {}", e.getMessage());
+        }
+    }
+}
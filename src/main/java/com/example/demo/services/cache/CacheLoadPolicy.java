@@ -0,0 +1,141 @@
+package com.example.demo.services.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Как кэш загружает отсутствующие и почти истёкшие значения.
+ * <ul>
+ *     <li>Блокировка загрузки между узлами (необязательная): значение ключа грузит узел, взявший
+ *     блокировку в Redis, остальные ждут, пока оно появится в Redis, — но не дольше времени блокировки.</li>
+ *     <li>Вероятностное раннее обновление (XFetch): запись обновляется в фоне, когда
+ *     {@code now + delta * beta * -ln(rand) >= expiresAt}, где delta — время загрузки значения.
+ *     Чем ближе истечение и чем дольше загрузка, тем вероятнее обновление; при частых обращениях
+ *     горячий ключ обновляется раньше, чем истечёт, и не даёт промаха.</li>
+ * </ul>
+ */
+@Slf4j
+public class CacheLoadPolicy {
+
+    private static final String LOCK_PREFIX = "app:cache:lock:";
+    private static final long LOCK_POLL_MILLIS = 20;
+
+    // снимаем только свою блокировку: чужая могла появиться, если наша истекла во время загрузки
+    private static final DefaultRedisScript<Long> UNLOCK = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration remoteTtl;
+    private final boolean lockEnabled;
+    private final Duration lockTimeout;
+    private final double beta;
+    private final ExecutorService refreshers = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param remoteTtl   время жизни записей в Redis
+     * @param lockEnabled брать ли блокировку загрузки между узлами
+     * @param lockTimeout время жизни блокировки и предел ожидания чужой загрузки
+     * @param beta        множитель раннего обновления; 0 — не обновлять заранее
+     */
+    public CacheLoadPolicy(StringRedisTemplate redisTemplate,
+                           Duration remoteTtl,
+                           boolean lockEnabled,
+                           Duration lockTimeout,
+                           double beta) {
+        this.redisTemplate = redisTemplate;
+        this.remoteTtl = remoteTtl;
+        this.lockEnabled = lockEnabled;
+        this.lockTimeout = lockTimeout;
+        this.beta = beta;
+    }
+
+    public void shutdown() {
+        refreshers.shutdown();
+    }
+
+    boolean locking() {
+        return lockEnabled;
+    }
+
+    /**
+     * @return метка блокировки или null, если её держит другой узел
+     */
+    String tryLock(String redisKey) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + redisKey, token, lockTimeout);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    void unlock(String redisKey, String token) {
+        try {
+            redisTemplate.execute(UNLOCK, List.of(LOCK_PREFIX + redisKey), token);
+        } catch (DataAccessException e) {
+            // блокировка истечёт сама
+            log.warn("Не удалось снять блокировку загрузки {}: {}", redisKey, e.getMessage());
+        }
+    }
+
+    /**
+     * Ждёт значение, которое грузит другой узел: пока оно не появится, пока блокировка не снята
+     * или пока не выйдет её время.
+     *
+     * @return значение или null, если дождаться не удалось и грузить придётся самому
+     */
+    <T> T awaitLoaded(String redisKey, Supplier<T> read) {
+        long deadline = System.nanoTime() + lockTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+
+            T value = read.get();
+            if (value != null) {
+                return value;
+            }
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(LOCK_PREFIX + redisKey))) {
+                // загрузивший узел снял блокировку, не записав значение (ошибка загрузки)
+                return read.get();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Когда истечёт только что записанное в Redis значение.
+     */
+    long expiresAfterWrite() {
+        return remoteTtl.isZero() ? Long.MAX_VALUE : System.currentTimeMillis() + remoteTtl.toMillis();
+    }
+
+    /**
+     * @param loadMillis сколько обычно грузится значение этого кэша
+     */
+    boolean refreshEarly(CacheEntry entry, double loadMillis) {
+        if (beta <= 0 || entry.expiresAt() == Long.MAX_VALUE) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return System.currentTimeMillis() - loadMillis * beta * Math.log(random) >= entry.expiresAt();
+    }
+
+    void refreshInBackground(Runnable refresh) {
+        refreshers.execute(refresh);
+    }
+}
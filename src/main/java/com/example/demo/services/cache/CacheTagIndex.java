@@ -0,0 +1,82 @@
+package com.example.demo.services.cache;
+
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Обратный индекс «тег → записи кэша» в Redis: по множеству на тег, элемент — «кэш, ключ».
+ * Общий для всех узлов, так что сброс по тегу находит записи, положенные любым узлом.
+ * <p>
+ * Множество живёт чуть дольше записей и продлевается при каждом добавлении; ссылки на уже истёкшие
+ * записи безвредны — их сброс ничего не удаляет.
+ */
+public class CacheTagIndex {
+
+    static final char SEPARATOR = '\u001F';
+
+    private static final String PREFIX = "app:cache:tags:";
+
+    // чтение и удаление множеств атомарны: запись, помеченная после чтения, попадёт в новое множество
+    private static final DefaultRedisScript<List> POP = new DefaultRedisScript<>("""
+            local members = {}
+            for _, key in ipairs(KEYS) do
+                for _, member in ipairs(redis.call('SMEMBERS', key)) do
+                    members[#members + 1] = member
+                end
+                redis.call('DEL', key)
+            end
+            return members
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public CacheTagIndex(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Помечает запись тегами; команды уходят в Redis одним пакетом.
+     */
+    void tag(String cacheName, String key, Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+
+        String member = cacheName + SEPARATOR + key;
+        long ttlSeconds = ttl.toSeconds();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String tag : tags) {
+                redis.sAdd(PREFIX + tag, member);
+                redis.expire(PREFIX + tag, ttlSeconds);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Записи под любым из тегов («кэш, ключ»); сами теги при этом удаляются.
+     */
+    @SuppressWarnings("unchecked")
+    List<String> pop(Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> keys = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            keys.add(PREFIX + tag);
+        }
+        List<String> members = redisTemplate.execute(POP, keys);
+        return members == null ? List.of() : members;
+    }
+}
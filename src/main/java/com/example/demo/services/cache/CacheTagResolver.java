@@ -0,0 +1,15 @@
+package com.example.demo.services.cache;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Теги записи кэша: по ним запись сбрасывается, когда меняются данные, из которых она собрана.
+ */
+@FunctionalInterface
+public interface CacheTagResolver {
+
+    CacheTagResolver NONE = (cacheName, key, value) -> List.of();
+
+    Collection<String> tags(String cacheName, String key, Object value);
+}
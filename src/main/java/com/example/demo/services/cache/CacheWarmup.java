@@ -0,0 +1,270 @@
+package com.example.demo.services.cache;
+
+import com.example.demo.config.StartupOrder;
+import com.example.demo.models.entities.Event;
+import com.example.demo.models.entities.Genre;
+import com.example.demo.models.enums.EventType;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.repositories.GenreRepository;
+import com.example.demo.services.EventService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Прогрев кэшей афиши: список «все», списки по типам и жанрам и детали самых бронируемых мероприятий
+ * загружаются через EventService заранее, чтобы их не ждали первые посетители.
+ * <ul>
+ *     <li>При старте — после Init и построения индексов, в обработчике ApplicationReadyEvent. Spring Boot
+ *     объявляет готовность (readiness: ACCEPTING_TRAFFIC) только после этих обработчиков, так что
+ *     балансировщик не направит запросы на узел с холодным кэшем.</li>
+ *     <li>После сбросов по изменениям афиши ({@link EventCacheInvalidation}) — в фоне, с задержкой,
+ *     собирающей частые изменения мест в один прогрев. Загружаются только сброшенные ключи из набора,
+ *     выбранного при старте; сам набор (жанры, самые бронируемые) заново не выбирается.</li>
+ * </ul>
+ * Ключи грузятся на виртуальных потоках, одновременно не больше заданного числа запросов к БД.
+ * Время прогрева — таймер cache.warmup{reason}, доля загруженных ключей — cache.warmup.coverage.
+ * Без двухуровневого кэша (spring.cache.type не redis) ничего не делает.
+ */
+@Slf4j
+@Component
+public class CacheWarmup {
+
+    private final ObjectProvider<TwoLevelCacheManager> cacheManager;
+    private final EventService eventService;
+    private final EventRepository eventRepository;
+    private final GenreRepository genreRepository;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int concurrency;
+    private final int topEvents;
+    private final long timeoutSeconds;
+    private final long rewarmDelayMs;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("cache-warmup").factory());
+    private final AtomicBoolean rewarmScheduled = new AtomicBoolean();
+    private final Set<String> evicted = ConcurrentHashMap.newKeySet();
+    private volatile Map<String, WarmupKey> plan = Map.of();
+    private volatile double coverage = Double.NaN;
+
+    public CacheWarmup(ObjectProvider<TwoLevelCacheManager> cacheManager,
+                       EventService eventService,
+                       EventRepository eventRepository,
+                       GenreRepository genreRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.cache.warmup.enabled:true}") boolean enabled,
+                       @Value("${app.cache.warmup.concurrency:4}") int concurrency,
+                       @Value("${app.cache.warmup.top-events:20}") int topEvents,
+                       @Value("${app.cache.warmup.timeout-seconds:60}") long timeoutSeconds,
+                       @Value("${app.cache.warmup.rewarm-delay-ms:2000}") long rewarmDelayMs) {
+        this.cacheManager = cacheManager;
+        this.eventService = eventService;
+        this.eventRepository = eventRepository;
+        this.genreRepository = genreRepository;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.concurrency = concurrency;
+        this.topEvents = topEvents;
+        this.timeoutSeconds = timeoutSeconds;
+        this.rewarmDelayMs = rewarmDelayMs;
+
+        Gauge.builder("cache.warmup.coverage", this, warmup -> warmup.coverage)
+                .description("Доля ключей, загруженных последним прогревом")
+                .register(meterRegistry);
+    }
+
+    @Order(StartupOrder.CACHE_WARMUP)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (!active()) {
+            return;
+        }
+
+        try {
+            plan = plan();
+        } catch (DataAccessException e) {
+            log.warn("Прогрев кэша пропущен: не удалось выбрать ключи: {}", e.getMessage());
+            return;
+        }
+        warmUp(plan.values(), "startup");
+    }
+
+    /**
+     * Сброшенные записи («кэш, ключ», как в {@link CacheTagIndex}) будут загружены повторно,
+     * если входят в набор прогрева. Все сбросы за время задержки дают один прогрев.
+     */
+    public void rewarm(Collection<String> evictedMembers) {
+        Map<String, WarmupKey> current = plan;
+        boolean added = false;
+        for (String member : evictedMembers) {
+            if (current.containsKey(member)) {
+                added |= evicted.add(member);
+            }
+        }
+        if (added && rewarmScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.schedule(this::rewarmEvicted, rewarmDelayMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // узел останавливается
+                rewarmScheduled.set(false);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Загружает ключи и ждёт окончания, но не дольше тайм-аута.
+     *
+     * @return сколько ключей загружено
+     */
+    int warmUp(Collection<WarmupKey> keys, String reason) {
+        long start = System.nanoTime();
+
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicInteger warmed = new AtomicInteger();
+        ExecutorService loaders = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<?>> loads = new ArrayList<>(keys.size());
+        for (WarmupKey key : keys) {
+            loads.add(loaders.submit(() -> {
+                permits.acquire();
+                try {
+                    key.load().run();
+                    warmed.incrementAndGet();
+                } catch (RuntimeException e) {
+                    log.warn("Прогрев кэша: ключ {} не загружен: {}", key.name(), e.getMessage());
+                } finally {
+                    permits.release();
+                }
+                return null;
+            }));
+        }
+
+        awaitAll(loads, start + TimeUnit.SECONDS.toNanos(timeoutSeconds), reason);
+        // не дождавшиеся загрузки прерываются, чтобы не держать соединения с БД
+        loaders.shutdownNow();
+
+        long elapsed = System.nanoTime() - start;
+        coverage = keys.isEmpty() ? 1.0 : (double) warmed.get() / keys.size();
+        Timer.builder("cache.warmup")
+                .description("Время прогрева кэшей афиши")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+        log.info("Прогрев кэша ({}): загружено {} из {} ключей за {} мс",
+                reason, warmed.get(), keys.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return warmed.get();
+    }
+
+    /**
+     * Ключи прогрева в порядке важности: главная афиша, фильтры, детали популярных мероприятий.
+     */
+    private Map<String, WarmupKey> plan() {
+        Map<String, WarmupKey> keys = new LinkedHashMap<>();
+        add(keys, new WarmupKey(EventCacheTags.EVENT_LISTS, "all", eventService::allEvents));
+        for (EventType type : EventType.values()) {
+            add(keys, new WarmupKey(EventCacheTags.EVENT_LISTS, "type_" + type,
+                    () -> eventService.findByEventType(type)));
+        }
+        for (Genre genre : genreRepository.findAll()) {
+            String genreName = genre.getName();
+            add(keys, new WarmupKey(EventCacheTags.EVENT_LISTS, "genre_" + genreName,
+                    () -> eventService.findByGenreName(genreName)));
+        }
+        for (Object[] row : eventRepository.findTopEventsByBookings(PageRequest.of(0, topEvents))) {
+            String eventId = ((Event) row[0]).getId();
+            add(keys, new WarmupKey(EventCacheTags.EVENT_DETAILS, eventId, () -> eventService.eventDetails(eventId)));
+        }
+        return keys;
+    }
+
+    private static void add(Map<String, WarmupKey> keys, WarmupKey key) {
+        keys.put(key.member(), key);
+    }
+
+    private void awaitAll(List<Future<?>> loads, long deadline, String reason) {
+        for (Future<?> load : loads) {
+            try {
+                load.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("Прогрев кэша ({}) прерван по тайм-ауту {} с", reason, timeoutSeconds);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // ошибки ключей уже записаны в лог
+            }
+        }
+    }
+
+    private void rewarmEvicted() {
+        rewarmScheduled.set(false);
+        Map<String, WarmupKey> current = plan;
+        List<WarmupKey> keys = new ArrayList<>();
+        for (String member : evicted) {
+            // сброшенное во время прогрева останется в наборе и запланирует следующий
+            if (evicted.remove(member) && current.containsKey(member)) {
+                keys.add(current.get(member));
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        try {
+            warmUp(keys, "invalidation");
+        } catch (RuntimeException e) {
+            log.warn("Повторный прогрев кэша не удался: {}", e.getMessage());
+        }
+    }
+
+    private boolean active() {
+        return enabled && cacheManager.getIfAvailable() != null;
+    }
+
+    record WarmupKey(String cacheName, String key, Runnable load) {
+
+        String member() {
+            return cacheName + CacheTagIndex.SEPARATOR + key;
+        }
+
+        String name() {
+            return cacheName + "::" + key;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.services.cache;
+
+import java.io.Serializable;
+
+/**
+ * Значение в Redis вместе с моментом его истечения (мс от эпохи; {@link Long#MAX_VALUE} — без срока).
+ * Срок записывает узел, положивший значение, — читающему узлу не нужен отдельный запрос PTTL,
+ * чтобы решить, пора ли обновить значение заранее.
+ */
+public class CachedValue implements Serializable {
+
+    private Object value;
+    private long expiresAt;
+
+    public CachedValue() {}
+
+    public CachedValue(Object value, long expiresAt) {
+        this.value = value;
+        this.expiresAt = expiresAt;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public void setValue(Object value) {
+        this.value = value;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
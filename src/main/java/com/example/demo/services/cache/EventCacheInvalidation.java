@@ -0,0 +1,104 @@
+package com.example.demo.services.cache;
+
+import com.example.demo.models.enums.EventType;
+import com.example.demo.models.enums.SeatReservationMode;
+import com.example.demo.models.events.EventCreatedEvent;
+import com.example.demo.models.events.EventDeletedEvent;
+import com.example.demo.models.events.SeatsChangedEvent;
+import com.example.demo.models.events.SeatsFlushedEvent;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.services.seats.SeatReservationStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Сброс кэшей афиши после коммита — только затронутых ключей:
+ * <ul>
+ *     <li>новое мероприятие — списки «все», его типа и жанра;</li>
+ *     <li>удаление и изменение мест — деталь мероприятия и списки, в которых есть его карточка.</li>
+ * </ul>
+ * Числа под фильтрами очищаются целиком (новое поколение ключей) при добавлении и удалении мероприятия
+ * и когда остаток мест переходит через ноль — от остатка они зависят только через фильтр «есть места».
+ * При учёте мест в памяти (LEDGER) остаток попадает в БД только при сбросе учёта,
+ * поэтому ключи мест сбрасываются по {@link SeatsFlushedEvent}, а не по коммиту бронирования.
+ * Сброшенные ключи передаются {@link CacheWarmup} для повторной загрузки.
+ * Без двухуровневого кэша (spring.cache.type не redis) ничего не делает.
+ */
+@Slf4j
+@Component
+public class EventCacheInvalidation {
+
+    private final ObjectProvider<TwoLevelCacheManager> cacheManager;
+    private final EventRepository eventRepository;
+    private final CacheWarmup cacheWarmup;
+    private final SeatReservationStrategy seatStrategy;
+
+    public EventCacheInvalidation(ObjectProvider<TwoLevelCacheManager> cacheManager,
+                                  EventRepository eventRepository,
+                                  CacheWarmup cacheWarmup,
+                                  SeatReservationStrategy seatStrategy) {
+        this.cacheManager = cacheManager;
+        this.eventRepository = eventRepository;
+        this.cacheWarmup = cacheWarmup;
+        this.seatStrategy = seatStrategy;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventCreated(EventCreatedEvent event) {
+        if (cacheManager.getIfAvailable() == null) {
+            return;
+        }
+
+        List<String> tags = new ArrayList<>(List.of(EventCacheTags.ALL_EVENTS));
+        for (Object[] row : eventRepository.findFacetRow(event.eventId())) {
+            tags.add(EventCacheTags.type((EventType) row[1]));
+            if (row[2] != null) {
+                tags.add(EventCacheTags.genre((String) row[2]));
+            }
+        }
+        evict(tags, true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventDeleted(EventDeletedEvent event) {
+        evict(List.of(EventCacheTags.event(event.eventId())), true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent event) {
+        if (seatStrategy.mode() == SeatReservationMode.LEDGER) {
+            // в БД прежний остаток — прогрев закэшировал бы его снова
+            return;
+        }
+        evict(List.of(EventCacheTags.event(event.eventId())), event.soldOutChanged());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsFlushed(SeatsFlushedEvent event) {
+        evict(event.eventIds().stream().map(EventCacheTags::event).toList(), event.soldOutChanged());
+    }
+
+    private void evict(Collection<String> tags, boolean counts) {
+        TwoLevelCacheManager manager = cacheManager.getIfAvailable();
+        if (manager == null) {
+            return;
+        }
+
+        try {
+            cacheWarmup.rewarm(manager.evictTags(tags));
+            if (counts) {
+                manager.clear(EventCacheTags.EVENT_COUNTS);
+            }
+        } catch (DataAccessException e) {
+            // данные уже закоммичены; записи кэша истекут по времени жизни
+            log.warn("Не удалось сбросить кэш по тегам {}: {}", tags, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.services.cache;
+
+import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.models.enums.EventType;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Теги записей кэшей афиши (имена кэшей и ключи — из аннотаций в EventServiceImpl):
+ * <ul>
+ *     <li>event — деталь мероприятия, тег по его id;</li>
+ *     <li>events — списки карточек: тег по id каждой карточки и тег самой выборки
+ *     (все, тип, жанр), чтобы новое мероприятие сбрасывало только списки, куда оно попадает;</li>
+ *     <li>eventCounts — без тегов: числа зависят от всех мероприятий, кэш очищается целиком.</li>
+ * </ul>
+ */
+@Component
+public class EventCacheTags implements CacheTagResolver {
+
+    public static final String EVENT_DETAILS = "event";
+    public static final String EVENT_LISTS = "events";
+    public static final String EVENT_COUNTS = "eventCounts";
+
+    public static final String ALL_EVENTS = "events:all";
+
+    private static final String TYPE_KEY = "type_";
+    private static final String GENRE_KEY = "genre_";
+
+    public static String event(String eventId) {
+        return "event:" + eventId;
+    }
+
+    public static String type(EventType type) {
+        return "type:" + type;
+    }
+
+    public static String genre(String genreName) {
+        return "genre:" + genreName;
+    }
+
+    @Override
+    public Collection<String> tags(String cacheName, String key, Object value) {
+        return switch (cacheName) {
+            case EVENT_DETAILS -> List.of(event(key));
+            case EVENT_LISTS -> listTags(key, value);
+            default -> List.of();
+        };
+    }
+
+    private static Set<String> listTags(String key, Object value) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (key.equals("all")) {
+            tags.add(ALL_EVENTS);
+        } else if (key.startsWith(TYPE_KEY)) {
+            tags.add("type:" + key.substring(TYPE_KEY.length()));
+        } else if (key.startsWith(GENRE_KEY)) {
+            tags.add(genre(key.substring(GENRE_KEY.length())));
+        }
+
+        if (value instanceof Collection<?> cards) {
+            for (Object card : cards) {
+                if (card instanceof ShowEventInfoDto info) {
+                    tags.add(event(info.getId()));
+                }
+            }
+        }
+        return tags;
+    }
+}
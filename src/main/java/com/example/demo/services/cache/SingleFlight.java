@@ -0,0 +1,52 @@
+package com.example.demo.services.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Одна загрузка на ключ в пределах узла: пока значение грузится, остальные запросы того же ключа
+ * ждут её результат (или её исключение), а не запускают свою. Разные ключи друг друга не ждут.
+ */
+class SingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @return результат загрузки и признак, что загрузку выполнил этот вызов
+     */
+    Result load(String key, Callable<Object> loader) throws Exception {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            return new Result(await(running), false);
+        }
+
+        try {
+            Object value = loader.call();
+            own.complete(value);
+            return new Result(value, true);
+        } catch (Exception | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> running) throws Exception {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw (Error) e.getCause();
+        }
+    }
+
+    record Result(Object value, boolean loaded) {
+    }
+}
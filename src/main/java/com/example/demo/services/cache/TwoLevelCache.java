@@ -0,0 +1,388 @@
+package com.example.demo.services.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Кэш из двух уровней: ограниченный по размеру и времени жизни L1 в памяти процесса (Caffeine)
+ * перед общим L2 в Redis. Попадание в L1 не стоит ни сетевого запроса, ни десериализации:
+ * отдаётся тот же объект, что был прочитан из Redis, поэтому значения в кэше нельзя изменять.
+ * <p>
+ * Запись и удаление идут в оба уровня, а другие узлы получают через {@link CacheInvalidationBus}
+ * команду сбросить свой L1. Время жизни L1 ограничивает устаревание, если команда потерялась.
+ * <p>
+ * Каждая запись в L2 помечается тегами ({@link CacheTagIndex}), чтобы изменения данных сбрасывали
+ * ровно затронутые ключи. Очистка целиком — переход на новое поколение ключей ({@link CacheGenerations}).
+ * <p>
+ * Загрузка через {@link #get(Object, Callable)} (кэши с sync = true): на узле один загрузчик на ключ
+ * ({@link SingleFlight}), между узлами — по желанию блокировка в Redis, а почти истёкшие горячие
+ * записи обновляются в фоне заранее ({@link CacheLoadPolicy}).
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    // вес последней загрузки в скользящем среднем времени загрузки
+    private static final double LOAD_TIME_WEIGHT = 0.2;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local;
+    private final Cache remote;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheTagIndex tagIndex;
+    private final CacheTagResolver tagResolver;
+    private final CacheGenerations generations;
+    private final CacheLoadPolicy loadPolicy;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private volatile double loadMillis;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local,
+                         Cache remote,
+                         CacheInvalidationBus invalidationBus,
+                         CacheTagIndex tagIndex,
+                         CacheTagResolver tagResolver,
+                         CacheGenerations generations,
+                         CacheLoadPolicy loadPolicy) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        this.tagIndex = tagIndex;
+        this.tagResolver = tagResolver;
+        this.generations = generations;
+        this.loadPolicy = loadPolicy;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+
+        ValueWrapper loaded = remote.get(key);
+        if (loaded == null) {
+            misses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        CacheEntry entry = entry(loaded);
+        local.put(localKey, entry);
+        return entry;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Значение в кэше " + name + " не типа " + type.getName() + ": " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        ValueWrapper cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            localHits.increment();
+            refreshIfExpiring(key, localKey, cached, valueLoader);
+            return (T) cached.get();
+        }
+
+        ValueWrapper stored = remote.get(key);
+        if (stored != null) {
+            remoteHits.increment();
+            CacheEntry entry = entry(stored);
+            local.put(localKey, entry);
+            refreshIfExpiring(key, localKey, entry, valueLoader);
+            return (T) entry.get();
+        }
+
+        misses.increment();
+        try {
+            SingleFlight.Result result = singleFlight.load(localKey, () -> loadShared(key, localKey, valueLoader));
+            if (!result.loaded()) {
+                coalescedLoads.increment();
+            }
+            return (T) result.value();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = localKey(key);
+        CachedValue stored = new CachedValue(value, loadPolicy.expiresAfterWrite());
+        remote.put(key, stored);
+        tag(localKey, value);
+        local.put(localKey, new CacheEntry(value, stored.getExpiresAt()));
+        puts.increment();
+        invalidationBus.publishEvict(name, localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        String localKey = localKey(key);
+        CachedValue stored = new CachedValue(value, loadPolicy.expiresAfterWrite());
+        ValueWrapper existing = remote.putIfAbsent(key, stored);
+        if (existing != null) {
+            CacheEntry entry = entry(existing);
+            local.put(localKey, entry);
+            return entry;
+        }
+
+        tag(localKey, value);
+        local.put(localKey, new CacheEntry(value, stored.getExpiresAt()));
+        puts.increment();
+        invalidationBus.publishEvict(name, localKey);
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        remote.evict(key);
+        local.invalidate(localKey);
+        evictions.increment();
+        invalidationBus.publishEvict(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        String localKey = localKey(key);
+        boolean evicted = remote.evictIfPresent(key);
+        local.invalidate(localKey);
+        if (evicted) {
+            evictions.increment();
+        }
+        invalidationBus.publishEvict(name, localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        long generation = generations.bump(name);
+        local.invalidateAll();
+        invalidationBus.publishClear(name, generation);
+    }
+
+    @Override
+    public boolean invalidate() {
+        clear();
+        return true;
+    }
+
+    /**
+     * Сброс записи только в L1 — по команде с другого узла.
+     */
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    long localHits() {
+        return localHits.sum();
+    }
+
+    long remoteHits() {
+        return remoteHits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long puts() {
+        return puts.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    long loads() {
+        return loads.sum();
+    }
+
+    long coalescedLoads() {
+        return coalescedLoads.sum();
+    }
+
+    long earlyRefreshes() {
+        return earlyRefreshes.sum();
+    }
+
+    long localSize() {
+        return local.estimatedSize();
+    }
+
+    long localEvictions() {
+        return local.stats().evictionCount();
+    }
+
+    /**
+     * Загрузка при промахе. С блокировкой между узлами значение, которое уже грузит другой узел,
+     * дожидаемся из Redis; не дождались — грузим сами.
+     */
+    private Object loadShared(Object key, String localKey, Callable<?> valueLoader) throws Exception {
+        if (!loadPolicy.locking()) {
+            return load(key, localKey, valueLoader, false);
+        }
+
+        String redisKey = redisKey(localKey);
+        String token = loadPolicy.tryLock(redisKey);
+        if (token == null) {
+            ValueWrapper loaded = loadPolicy.awaitLoaded(redisKey, () -> remote.get(key));
+            if (loaded != null) {
+                CacheEntry entry = entry(loaded);
+                local.put(localKey, entry);
+                return entry.get();
+            }
+            return load(key, localKey, valueLoader, false);
+        }
+
+        try {
+            // пока брали блокировку, значение мог записать другой узел
+            ValueWrapper loaded = remote.get(key);
+            if (loaded != null) {
+                CacheEntry entry = entry(loaded);
+                local.put(localKey, entry);
+                return entry.get();
+            }
+            return load(key, localKey, valueLoader, false);
+        } finally {
+            loadPolicy.unlock(redisKey, token);
+        }
+    }
+
+    private Object load(Object key, String localKey, Callable<?> valueLoader, boolean refresh) throws Exception {
+        long start = System.nanoTime();
+        Object value = valueLoader.call();
+        recordLoadTime(System.nanoTime() - start);
+        loads.increment();
+
+        CachedValue stored = new CachedValue(value, loadPolicy.expiresAfterWrite());
+        remote.put(key, stored);
+        tag(localKey, value);
+        local.put(localKey, new CacheEntry(value, stored.getExpiresAt()));
+        puts.increment();
+        if (refresh) {
+            // у других узлов в L1 осталось прежнее значение
+            invalidationBus.publishEvict(name, localKey);
+        }
+        return value;
+    }
+
+    /**
+     * Раннее обновление записи в фоне: не больше одного на ключ на узле, а с блокировкой —
+     * и на все узлы (не взявший блокировку узел обновление пропускает).
+     */
+    private void refreshIfExpiring(Object key, String localKey, ValueWrapper cached, Callable<?> valueLoader) {
+        if (!(cached instanceof CacheEntry entry)
+                || !loadPolicy.refreshEarly(entry, loadMillis)
+                || !refreshing.add(localKey)) {
+            return;
+        }
+
+        try {
+            loadPolicy.refreshInBackground(() -> refresh(key, localKey, valueLoader));
+        } catch (RejectedExecutionException e) {
+            // узел останавливается
+            refreshing.remove(localKey);
+        }
+    }
+
+    private void refresh(Object key, String localKey, Callable<?> valueLoader) {
+        String redisKey = redisKey(localKey);
+        String token = null;
+        try {
+            if (loadPolicy.locking()) {
+                token = loadPolicy.tryLock(redisKey);
+                if (token == null) {
+                    return;
+                }
+            }
+            if (singleFlight.load(localKey, () -> load(key, localKey, valueLoader, true)).loaded()) {
+                earlyRefreshes.increment();
+            }
+        } catch (Exception e) {
+            // запись ещё действует; при истечении её загрузит обычный промах
+            log.warn("Не удалось заранее обновить {}::{}: {}", name, localKey, e.getMessage());
+        } finally {
+            if (token != null) {
+                loadPolicy.unlock(redisKey, token);
+            }
+            refreshing.remove(localKey);
+        }
+    }
+
+    private void recordLoadTime(long nanos) {
+        double millis = nanos / 1_000_000.0;
+        double previous = loadMillis;
+        loadMillis = previous == 0 ? millis : previous + LOAD_TIME_WEIGHT * (millis - previous);
+    }
+
+    /**
+     * Значение из Redis со сроком, записанным положившим его узлом. У значений, положенных
+     * до появления срока в значении, срок неизвестен — они заранее не обновляются.
+     */
+    private static CacheEntry entry(ValueWrapper stored) {
+        if (stored.get() instanceof CachedValue cached) {
+            return new CacheEntry(cached.getValue(), cached.getExpiresAt());
+        }
+        return new CacheEntry(stored.get(), Long.MAX_VALUE);
+    }
+
+    private String redisKey(String localKey) {
+        return generations.prefix(name) + localKey;
+    }
+
+    private void tag(String localKey, Object value) {
+        tagIndex.tag(name, localKey, tagResolver.tags(name, localKey, value));
+    }
+
+    /**
+     * Ключи кэшей в сервисах — строки из SpEL; в Redis они тоже попадают строкой,
+     * так что строковый ключ L1 совпадает с ключом в командах сброса с других узлов.
+     */
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
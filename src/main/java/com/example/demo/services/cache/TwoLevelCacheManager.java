@@ -0,0 +1,114 @@
+package com.example.demo.services.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Менеджер кэшей L1 + L2: каждый кэш L2 (Redis) при первом обращении оборачивается
+ * в {@link TwoLevelCache} со своим L1, и его метрики регистрируются по уровням.
+ * Сброс по тегам затрагивает только записи, помеченные этими тегами, в любом из кэшей.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remote;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheTagIndex tagIndex;
+    private final CacheTagResolver tagResolver;
+    private final CacheGenerations generations;
+    private final CacheLoadPolicy loadPolicy;
+    private final MeterRegistry meterRegistry;
+    private final long localMaxSize;
+    private final Duration localTtl;
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remote,
+                                CacheInvalidationBus invalidationBus,
+                                CacheTagIndex tagIndex,
+                                CacheTagResolver tagResolver,
+                                CacheGenerations generations,
+                                CacheLoadPolicy loadPolicy,
+                                MeterRegistry meterRegistry,
+                                long localMaxSize,
+                                Duration localTtl) {
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        this.tagIndex = tagIndex;
+        this.tagResolver = tagResolver;
+        this.generations = generations;
+        this.loadPolicy = loadPolicy;
+        this.meterRegistry = meterRegistry;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        return cache != null ? cache : caches.computeIfAbsent(name, this::create);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Сбрасывает записи, помеченные любым из тегов, во всех кэшах и на всех узлах.
+     *
+     * @return сброшенные записи («кэш, ключ», как в {@link CacheTagIndex})
+     */
+    public List<String> evictTags(Collection<String> tags) {
+        List<String> members = tagIndex.pop(tags);
+        for (String member : members) {
+            int separator = member.indexOf(CacheTagIndex.SEPARATOR);
+            Cache cache = getCache(member.substring(0, separator));
+            if (cache != null) {
+                cache.evict(member.substring(separator + 1));
+            }
+        }
+
+        log.debug("Сброс кэша по тегам {}: {} записей", tags, members.size());
+        return members;
+    }
+
+    /**
+     * Очищает кэш целиком (новое поколение ключей, без обхода Redis).
+     */
+    public void clear(String name) {
+        Cache cache = getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private TwoLevelCache create(String name) {
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+
+        TwoLevelCache cache = new TwoLevelCache(name, Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build(), remoteCache, invalidationBus, tagIndex, tagResolver, generations, loadPolicy);
+        invalidationBus.register(cache);
+        new TwoLevelCacheMetrics(cache, Tags.of("cacheManager", "cacheManager")).bindTo(meterRegistry);
+
+        log.debug("Создан двухуровневый кэш {}: L1 до {} записей на {}", name, localMaxSize, localTtl);
+        return cache;
+    }
+}
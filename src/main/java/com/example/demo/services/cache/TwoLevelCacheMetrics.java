@@ -0,0 +1,110 @@
+package com.example.demo.services.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Метрики двухуровневого кэша. Общие cache.gets/puts/evictions/size считаются по кэшу в целом
+ * (попадание — в любой уровень), а по уровням отдельно:
+ * cache.level.gets{level=l1|l2, result=hit|miss} и cache.level.hit.ratio{level=l1|l2}.
+ * В L2 приходят только промахи L1. Загрузки значений — cache.loads{result=loaded|coalesced|refreshed}:
+ * выполненные на промахе, присоединившиеся к уже идущей загрузке того же ключа и ранние обновления в фоне.
+ */
+class TwoLevelCacheMetrics extends CacheMeterBinder<TwoLevelCache> {
+
+    TwoLevelCacheMetrics(TwoLevelCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? null : cache.localSize();
+    }
+
+    @Override
+    protected long hitCount() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? 0 : cache.localHits() + cache.remoteHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? null : cache.misses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? null : cache.evictions();
+    }
+
+    @Override
+    protected long putCount() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? 0 : cache.puts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        TwoLevelCache cache = getCache();
+
+        levelGets(registry, cache, "l1", "hit", TwoLevelCache::localHits);
+        levelGets(registry, cache, "l1", "miss", c -> c.remoteHits() + c.misses());
+        levelGets(registry, cache, "l2", "hit", TwoLevelCache::remoteHits);
+        levelGets(registry, cache, "l2", "miss", TwoLevelCache::misses);
+
+        hitRatio(registry, cache, "l1", c -> ratio(c.localHits(), c.remoteHits() + c.misses()));
+        hitRatio(registry, cache, "l2", c -> ratio(c.remoteHits(), c.misses()));
+
+        loads(registry, cache, "loaded", TwoLevelCache::loads);
+        loads(registry, cache, "coalesced", TwoLevelCache::coalescedLoads);
+        loads(registry, cache, "refreshed", TwoLevelCache::earlyRefreshes);
+
+        FunctionCounter.builder("cache.level.evictions", cache, c -> c.localEvictions())
+                .tags(getTagsWithCacheName())
+                .tag("level", "l1")
+                .description("Записи, вытесненные из L1 по размеру")
+                .register(registry);
+    }
+
+    private void levelGets(MeterRegistry registry, TwoLevelCache cache, String level, String result,
+                           ToLongFunction<TwoLevelCache> count) {
+        FunctionCounter.builder("cache.level.gets", cache, c -> count.applyAsLong(c))
+                .tags(getTagsWithCacheName())
+                .tag("level", level)
+                .tag("result", result)
+                .description("Обращения к уровню кэша")
+                .register(registry);
+    }
+
+    private void loads(MeterRegistry registry, TwoLevelCache cache, String result,
+                       ToLongFunction<TwoLevelCache> count) {
+        FunctionCounter.builder("cache.loads", cache, c -> count.applyAsLong(c))
+                .tags(getTagsWithCacheName())
+                .tag("result", result)
+                .description("Загрузки значений кэша")
+                .register(registry);
+    }
+
+    private void hitRatio(MeterRegistry registry, TwoLevelCache cache, String level,
+                          ToDoubleFunction<TwoLevelCache> ratio) {
+        Gauge.builder("cache.level.hit.ratio", cache, ratio)
+                .tags(getTagsWithCacheName())
+                .tag("level", level)
+                .description("Доля попаданий среди обращений к уровню кэша")
+                .register(registry);
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.demo.services.calendar;
+
+import com.example.demo.config.StartupOrder;
+import com.example.demo.dto.CalendarDayDto;
+import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.models.events.EventCreatedEvent;
+import com.example.demo.models.events.EventDeletedEvent;
+import com.example.demo.models.events.SeatsChangedEvent;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.repositories.specifications.EventSpecification;
+import com.example.demo.services.seats.SeatReservationStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Календарь афиши. Предстоящие мероприятия лежат в памяти по дням: у каждого дня готовый массив
+ * карточек в порядке времени, так что месяц — около 30 чтений из словаря без обращения к базе.
+ * Прошедшие дни читаются из базы одним запросом по диапазону date_time (индекс idx_events_date_time_id).
+ * <p>
+ * Каждую ночь прошедшие дни выпадают из памяти. Мероприятия добавляются и удаляются после коммита,
+ * остаток мест обновляется по SeatsChangedEvent.
+ */
+@Slf4j
+@Component
+public class EventCalendar {
+
+    private static final ShowEventInfoDto[] EMPTY = new ShowEventInfoDto[0];
+    private static final Sort BY_TIME = Sort.by("dateTime", "id");
+    private static final Comparator<ShowEventInfoDto> CARD_ORDER = Comparator
+            .comparing(ShowEventInfoDto::getDateTime)
+            .thenComparing(ShowEventInfoDto::getId);
+
+    private final EventRepository eventRepository;
+    private final SeatReservationStrategy seatStrategy;
+
+    // массивы дней не изменяются: запись подменяет массив целиком, чтение идёт без блокировок
+    private final ConcurrentNavigableMap<LocalDate, ShowEventInfoDto[]> days = new ConcurrentSkipListMap<>();
+    private final Map<String, LocalDate> eventDays = new ConcurrentHashMap<>();
+    // первый день в памяти; null — календарь ещё не построен
+    private volatile LocalDate firstHotDay;
+
+    public EventCalendar(EventRepository eventRepository, SeatReservationStrategy seatStrategy) {
+        this.eventRepository = eventRepository;
+        this.seatStrategy = seatStrategy;
+    }
+
+    @Order(StartupOrder.INDEXES)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        LocalDate today = LocalDate.now();
+        List<ShowEventInfoDto> cards = eventRepository.findCards(
+                EventSpecification.dateTimeBetween(today.atStartOfDay(), null), BY_TIME, 0);
+
+        group(cards).forEach((day, dayCards) -> {
+            days.put(day, dayCards.toArray(EMPTY));
+            dayCards.forEach(card -> eventDays.put(card.getId(), day));
+        });
+        firstHotDay = today;
+
+        log.info("Календарь афиши построен: {} мероприятий в {} днях", cards.size(), days.size());
+    }
+
+    /**
+     * Дни полуинтервала [from, to) по порядку, включая дни без мероприятий.
+     */
+    public List<CalendarDayDto> days(LocalDate from, LocalDate to) {
+        LocalDate hot = firstHotDay;
+        LocalDate databaseEnd = hot == null ? to : max(from, min(hot, to));
+        List<CalendarDayDto> result = new ArrayList<>();
+
+        if (from.isBefore(databaseEnd)) {
+            Map<LocalDate, List<ShowEventInfoDto>> past = group(eventRepository.findCards(
+                    EventSpecification.dateTimeBetween(from.atStartOfDay(), databaseEnd.atStartOfDay()), BY_TIME, 0));
+            for (LocalDate day = from; day.isBefore(databaseEnd); day = day.plusDays(1)) {
+                result.add(new CalendarDayDto(day, past.getOrDefault(day, List.of())));
+            }
+        }
+
+        for (LocalDate day = databaseEnd; day.isBefore(to); day = day.plusDays(1)) {
+            result.add(new CalendarDayDto(day, List.of(days.getOrDefault(day, EMPTY))));
+        }
+        return result;
+    }
+
+    @Scheduled(cron = "${app.events.calendar.roll-over-cron:0 0 0 * * *}")
+    public synchronized void rollOver() {
+        if (firstHotDay == null) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, ShowEventInfoDto[]> past = days.headMap(today);
+        int events = 0;
+        for (ShowEventInfoDto[] dayCards : past.values()) {
+            for (ShowEventInfoDto card : dayCards) {
+                eventDays.remove(card.getId());
+            }
+            events += dayCards.length;
+        }
+        past.clear();
+        firstHotDay = today;
+
+        log.debug("Из календаря в памяти выпали прошедшие мероприятия: {}", events);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventCreated(EventCreatedEvent event) {
+        eventRepository.findCards(EventSpecification.idIn(List.of(event.eventId())), Sort.unsorted(), 1)
+                .forEach(this::add);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEventDeleted(EventDeletedEvent event) {
+        LocalDate day = eventDays.remove(event.eventId());
+        if (day == null) {
+            return;
+        }
+
+        ShowEventInfoDto[] remaining = Arrays.stream(days.getOrDefault(day, EMPTY))
+                .filter(card -> !card.getId().equals(event.eventId()))
+                .toArray(ShowEventInfoDto[]::new);
+        if (remaining.length == 0) {
+            days.remove(day);
+        } else {
+            days.put(day, remaining);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent event) {
+        if (!eventDays.containsKey(event.eventId())) {
+            return;
+        }
+        int available = seatStrategy.available(event.eventId());
+
+        synchronized (this) {
+            LocalDate day = eventDays.get(event.eventId());
+            ShowEventInfoDto[] dayCards = day == null ? null : days.get(day);
+            if (dayCards == null) {
+                return;
+            }
+
+            ShowEventInfoDto[] updated = dayCards.clone();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i].getId().equals(event.eventId())) {
+                    updated[i] = withSeats(updated[i], available);
+                }
+            }
+            days.put(day, updated);
+        }
+    }
+
+    private synchronized void add(ShowEventInfoDto card) {
+        LocalDate day = card.getDateTime().toLocalDate();
+        // до построения мероприятие попадёт в календарь из базы; прошедшие дни в памяти не держим
+        if (firstHotDay == null || day.isBefore(firstHotDay) || eventDays.containsKey(card.getId())) {
+            return;
+        }
+
+        ShowEventInfoDto[] dayCards = days.getOrDefault(day, EMPTY);
+        ShowEventInfoDto[] updated = Arrays.copyOf(dayCards, dayCards.length + 1);
+        updated[dayCards.length] = card;
+        Arrays.sort(updated, CARD_ORDER);
+
+        days.put(day, updated);
+        eventDays.put(card.getId(), day);
+    }
+
+    private static Map<LocalDate, List<ShowEventInfoDto>> group(List<ShowEventInfoDto> cards) {
+        Map<LocalDate, List<ShowEventInfoDto>> result = new LinkedHashMap<>();
+        for (ShowEventInfoDto card : cards) {
+            result.computeIfAbsent(card.getDateTime().toLocalDate(), day -> new ArrayList<>()).add(card);
+        }
+        return result;
+    }
+
+    private static ShowEventInfoDto withSeats(ShowEventInfoDto card, int availableSeats) {
+        return new ShowEventInfoDto(card.getId(), card.getTitle(), card.getSlug(), card.getDateTime(),
+                card.getHallName(), availableSeats, card.getImageUrl(), card.getGenreName());
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.services.mapping;
+
+import com.example.demo.dto.BookingViewDto;
+import com.example.demo.dto.SeatHoldDto;
+import com.example.demo.dto.WaitlistEntryDto;
+import com.example.demo.models.entities.Booking;
+import com.example.demo.models.entities.SeatHold;
+import com.example.demo.models.entities.WaitlistEntry;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Маппинг бронирований, удержаний и листа ожидания; реализация генерируется MapStruct при сборке.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface BookingMapper {
+
+    @Mapping(target = "eventTitle", source = "event.title")
+    @Mapping(target = "eventDateTime", source = "event.dateTime")
+    @Mapping(target = "hallName", source = "event.hall.name")
+    @Mapping(target = "userFullName", source = "user.fullName")
+    @Mapping(target = "userEmail", source = "user.email")
+    @Mapping(target = "comment", qualifiedByName = "commentOrDefault")
+    BookingViewDto toBookingViewDto(Booking booking);
+
+    /**
+     * @param eventTitle название известно вызывающему коду — связанное мероприятие не загружается
+     */
+    @Mapping(target = "id", source = "hold.id")
+    @Mapping(target = "eventTitle", source = "eventTitle")
+    @Mapping(target = "comment", source = "hold.comment")
+    SeatHoldDto toSeatHoldDto(SeatHold hold, String eventTitle);
+
+    @Mapping(target = "eventTitle", source = "event.title")
+    WaitlistEntryDto toWaitlistEntryDto(WaitlistEntry entry);
+
+    // @Named — иначе MapStruct применит метод ко всем строковым полям
+    @Named("commentOrDefault")
+    default String commentOrDefault(String comment) {
+        return comment == null || comment.isBlank() ? "Без комментария" : comment;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.services.mapping;
+
+import com.example.demo.dto.AddEventDto;
+import com.example.demo.dto.ShowDetailedEventInfoDto;
+import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.models.entities.Event;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Маппинг мероприятий. Реализация генерируется MapStruct при сборке (обычные геттеры и сеттеры,
+ * без рефлексии); незаполненное поле DTO — ошибка компиляции.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface EventMapper {
+
+    String NOT_SPECIFIED = "Не указан";
+
+    @Mapping(target = "hallName", source = "hall.name", defaultValue = NOT_SPECIFIED)
+    @Mapping(target = "genreName", source = "genre.name", defaultValue = NOT_SPECIFIED)
+    ShowEventInfoDto toShowEventInfoDto(Event event);
+
+    @Mapping(target = "hallName", source = "hall.name", defaultValue = NOT_SPECIFIED)
+    @Mapping(target = "hallAddress", source = "hall.address", defaultValue = NOT_SPECIFIED)
+    @Mapping(target = "capacity", source = "hall.capacity", defaultValue = "0")
+    @Mapping(target = "genreName", source = "genre.name", defaultValue = NOT_SPECIFIED)
+    ShowDetailedEventInfoDto toShowDetailedEventInfoDto(Event event);
+
+    // зал и жанр подставляет EventServiceImpl по id из формы
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "slug", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "hall", ignore = true)
+    @Mapping(target = "genre", ignore = true)
+    @Mapping(target = "performers", ignore = true)
+    @Mapping(target = "bookings", ignore = true)
+    Event toEvent(AddEventDto dto);
+}
@@ -0,0 +1,328 @@
+package com.example.demo.services.pipeline;
+
+import com.example.demo.models.enums.BookingPipelineMode;
+import com.example.demo.models.events.EventDeletedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Один писатель на мероприятие: бронирования и отмены мероприятия попадают в почтовый ящик
+ * актора и применяются его виртуальным потоком строго по очереди. Подряд идущие бронирования
+ * записываются пачкой; разные мероприятия обрабатываются параллельно.
+ * <p>
+ * Ящик ограничен: если он полон дольше offerTimeout, заявка отклоняется.
+ * Упавший поток актора перезапускается, незавершённые заявки пачки получают ошибку.
+ * Актор без заявок дольше idleTimeout уходит на покой вместе со своим датчиком глубины ящика;
+ * следующая заявка на мероприятие создаёт нового.
+ */
+@Slf4j
+public class ActorBookingPipeline implements BookingPipeline {
+
+    private static final Duration RESTART_BACKOFF = Duration.ofMillis(100);
+
+    private final BookingBatchWriter batchWriter;
+    private final MeterRegistry meterRegistry;
+    private final int mailboxCapacity;
+    private final int maxBatchSize;
+    private final Duration offerTimeout;
+    private final Duration idleTimeout;
+
+    private final ConcurrentMap<String, EventActor> actors = new ConcurrentHashMap<>();
+    private final DistributionSummary batchSize;
+    private final Counter restarts;
+    private final Counter rejected;
+    private volatile boolean running = true;
+
+    public ActorBookingPipeline(BookingBatchWriter batchWriter,
+                                MeterRegistry meterRegistry,
+                                int mailboxCapacity,
+                                int maxBatchSize,
+                                Duration offerTimeout,
+                                Duration idleTimeout) {
+        this.batchWriter = batchWriter;
+        this.meterRegistry = meterRegistry;
+        this.mailboxCapacity = mailboxCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.offerTimeout = offerTimeout;
+        this.idleTimeout = idleTimeout;
+        this.batchSize = DistributionSummary.builder("booking.pipeline.batch.size")
+                .tag("pipeline", mode().name())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.restarts = Counter.builder("booking.actor.restarts").register(meterRegistry);
+        this.rejected = Counter.builder("booking.actor.rejected")
+                .description("Заявки, отклонённые из-за переполненного почтового ящика")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public BookingPipelineMode mode() {
+        return BookingPipelineMode.ACTOR;
+    }
+
+    @Override
+    public void submit(BookingCommand command) {
+        await(dispatch(command.eventId(), new BookCommand(command, new CompletableFuture<>())));
+    }
+
+    @Override
+    public void cancel(Supplier<String> eventId, Runnable cancellation) {
+        await(dispatch(eventId.get(), new TaskCommand(cancellation, new CompletableFuture<>())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventDeleted(EventDeletedEvent event) {
+        EventActor actor = actors.remove(event.eventId());
+        if (actor != null) {
+            actor.stop();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        actors.values().forEach(EventActor::stop);
+        actors.clear();
+    }
+
+    private CompletableFuture<Void> dispatch(String eventId, ActorCommand command) {
+        while (true) {
+            EventActor actor = actor(eventId);
+            if (actor.enter()) {
+                try {
+                    return actor.tell(command);
+                } finally {
+                    actor.leave();
+                }
+            }
+            // актор ушёл на покой между выборкой из карты и входом
+            actors.remove(eventId, actor);
+        }
+    }
+
+    private EventActor actor(String eventId) {
+        if (!running) {
+            throw new IllegalStateException("Приём бронирований остановлен");
+        }
+        return actors.computeIfAbsent(eventId, EventActor::new);
+    }
+
+    private static void await(CompletableFuture<Void> result) {
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private sealed interface ActorCommand permits BookCommand, TaskCommand {
+        CompletableFuture<Void> result();
+    }
+
+    private record BookCommand(BookingCommand command, CompletableFuture<Void> result) implements ActorCommand {
+    }
+
+    private record TaskCommand(Runnable task, CompletableFuture<Void> result) implements ActorCommand {
+    }
+
+    private final class EventActor {
+
+        private static final int RETIRED = -1;
+
+        private final String eventId;
+        private final BlockingQueue<ActorCommand> mailbox = new ArrayBlockingQueue<>(mailboxCapacity);
+        private final Gauge depth;
+        // сколько потоков сейчас кладут заявку в ящик; RETIRED — актор ушёл на покой
+        private final AtomicInteger senders = new AtomicInteger();
+        private volatile boolean stopped;
+        private volatile Thread thread;
+
+        EventActor(String eventId) {
+            this.eventId = eventId;
+            this.depth = Gauge.builder("booking.actor.mailbox.depth", mailbox, BlockingQueue::size)
+                    .tag("event", eventId)
+                    .register(meterRegistry);
+            start();
+        }
+
+        boolean enter() {
+            int current;
+            do {
+                current = senders.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+            } while (!senders.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        void leave() {
+            senders.decrementAndGet();
+        }
+
+        CompletableFuture<Void> tell(ActorCommand command) {
+            try {
+                if (!mailbox.offer(command, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    rejected.increment();
+                    throw new IllegalStateException("Слишком много заявок на это мероприятие, попробуйте через минуту");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Заявка прервана", e);
+            }
+            if (stopped) {
+                // актор остановили, пока заявка вставала в ящик
+                failPending();
+            }
+            return command.result();
+        }
+
+        void stop() {
+            stopped = true;
+            meterRegistry.remove(depth);
+            Thread current = thread;
+            if (current != null) {
+                current.interrupt();
+            }
+        }
+
+        private void start() {
+            thread = Thread.ofVirtual().name("booking-actor-" + eventId).start(this::run);
+        }
+
+        private void run() {
+            List<ActorCommand> batch = new ArrayList<>(maxBatchSize);
+            try {
+                while (!stopped) {
+                    ActorCommand first = mailbox.poll(idleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        if (retire()) {
+                            return;
+                        }
+                        continue;
+                    }
+                    batch.add(first);
+                    mailbox.drainTo(batch, maxBatchSize - 1);
+                    process(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                // остановка актора
+            } catch (Throwable e) {
+                log.error("Актор бронирований мероприятия {} упал, перезапуск", eventId, e);
+                batch.forEach(command -> command.result().completeExceptionally(e));
+                restarts.increment();
+                restart();
+                return;
+            }
+            failPending();
+        }
+
+        /**
+         * Уходит на покой, только если никто не кладёт заявку и ящик пуст: после этого войти уже нельзя,
+         * поэтому новый актор мероприятия не начнёт писать, пока этот не закончил.
+         */
+        private boolean retire() {
+            if (!senders.compareAndSet(0, RETIRED)) {
+                return false;
+            }
+            if (!mailbox.isEmpty()) {
+                senders.set(0);
+                return false;
+            }
+            actors.remove(eventId, this);
+            meterRegistry.remove(depth);
+            log.debug("Актор бронирований мероприятия {} простаивал {} и остановлен", eventId, idleTimeout);
+            return true;
+        }
+
+        private void restart() {
+            if (stopped) {
+                failPending();
+                return;
+            }
+            Thread.ofVirtual().name("booking-actor-" + eventId + "-restart").start(() -> {
+                try {
+                    Thread.sleep(RESTART_BACKOFF);
+                } catch (InterruptedException e) {
+                    failPending();
+                    return;
+                }
+                start();
+            });
+        }
+
+        /**
+         * Подряд идущие бронирования — одной пачкой, остальные команды — по одной, в порядке поступления.
+         */
+        private void process(List<ActorCommand> commands) {
+            List<BookCommand> bookings = new ArrayList<>();
+
+            for (ActorCommand command : commands) {
+                if (command instanceof BookCommand booking) {
+                    bookings.add(booking);
+                    continue;
+                }
+
+                writeBookings(bookings);
+                bookings.clear();
+                runTask((TaskCommand) command);
+            }
+
+            writeBookings(bookings);
+        }
+
+        private void writeBookings(List<BookCommand> bookings) {
+            if (bookings.isEmpty()) {
+                return;
+            }
+
+            batchSize.record(bookings.size());
+            List<Optional<RuntimeException>> results = batchWriter.write(
+                    eventId, bookings.stream().map(BookCommand::command).toList());
+
+            for (int i = 0; i < bookings.size(); i++) {
+                CompletableFuture<Void> result = bookings.get(i).result();
+                results.get(i).ifPresentOrElse(result::completeExceptionally, () -> result.complete(null));
+            }
+        }
+
+        private void runTask(TaskCommand command) {
+            try {
+                command.task().run();
+                command.result().complete(null);
+            } catch (RuntimeException e) {
+                command.result().completeExceptionally(e);
+            }
+        }
+
+        private void failPending() {
+            List<ActorCommand> pending = new ArrayList<>();
+            mailbox.drainTo(pending);
+            IllegalStateException stoppedError = new IllegalStateException("Приём бронирований остановлен");
+            pending.forEach(command -> command.result().completeExceptionally(stoppedError));
+        }
+    }
+}
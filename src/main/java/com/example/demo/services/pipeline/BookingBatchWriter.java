@@ -0,0 +1,106 @@
+package com.example.demo.services.pipeline;
+
+import com.example.demo.models.entities.Booking;
+import com.example.demo.repositories.BookingRepository;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.services.BookingRequests;
+import com.example.demo.services.seats.SeatMapRegistry;
+import com.example.demo.services.seats.SeatReservationStrategy;
+import com.example.demo.services.seats.SeatTransactionRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Записывает пачку заявок на одно мероприятие одной транзакцией:
+ * заявки проверяются по очереди поступления, места списываются одним изменением счётчика,
+ * бронирования вставляются пакетом (hibernate.jdbc.batch_size).
+ */
+@Slf4j
+@Component
+public class BookingBatchWriter {
+
+    private final BookingRepository bookingRepository;
+    private final EventRepository eventRepository;
+    private final SeatReservationStrategy seatStrategy;
+    private final SeatTransactionRunner seatTransactions;
+    private final SeatMapRegistry seatMaps;
+
+    public BookingBatchWriter(BookingRepository bookingRepository,
+                              EventRepository eventRepository,
+                              SeatReservationStrategy seatStrategy,
+                              SeatTransactionRunner seatTransactions,
+                              SeatMapRegistry seatMaps) {
+        this.bookingRepository = bookingRepository;
+        this.eventRepository = eventRepository;
+        this.seatStrategy = seatStrategy;
+        this.seatTransactions = seatTransactions;
+        this.seatMaps = seatMaps;
+    }
+
+    /**
+     * @return результат по каждой заявке в том же порядке: пусто — бронирование создано
+     */
+    public List<Optional<RuntimeException>> write(String eventId, List<BookingCommand> commands) {
+        try {
+            return seatTransactions.execute(() -> writeInTransaction(eventId, commands));
+        } catch (RuntimeException e) {
+            if (commands.size() == 1) {
+                return List.of(Optional.of(e));
+            }
+
+            // счётчик успели изменить в обход пачки — раскладываем её на отдельные транзакции
+            log.warn("Пачка из {} заявок на мероприятие {} не записана ({}), запись по одной",
+                    commands.size(), eventId, e.getMessage());
+
+            return commands.stream()
+                    .map(command -> write(eventId, List.of(command)).get(0))
+                    .toList();
+        }
+    }
+
+    private List<Optional<RuntimeException>> writeInTransaction(String eventId, List<BookingCommand> commands) {
+        List<Optional<RuntimeException>> results = new ArrayList<>(commands.size());
+        List<Booking> bookings = new ArrayList<>(commands.size());
+        // одиночную заявку проверит само списание — без лишнего чтения счётчика
+        int remaining = commands.size() == 1 ? Integer.MAX_VALUE : seatStrategy.available(eventId);
+        int reserved = 0;
+
+        for (BookingCommand command : commands) {
+            if (command.seatsCount() > remaining) {
+                results.add(Optional.of(new IllegalArgumentException("Недостаточно свободных мест")));
+                continue;
+            }
+
+            List<String> seatLabels;
+            try {
+                seatLabels = seatMaps.allocate(eventId, command.seatsCount(), command.requestedSeats());
+            } catch (IllegalArgumentException e) {
+                results.add(Optional.of(e));
+                continue;
+            }
+
+            Booking booking = new Booking();
+            booking.setUser(command.user());
+            booking.setEvent(eventRepository.getReferenceById(eventId));
+            booking.setSeatsCount(command.seatsCount());
+            booking.setSeatLabels(BookingRequests.seatLabels(seatLabels));
+            booking.setComment(command.comment());
+            bookings.add(booking);
+
+            remaining -= command.seatsCount();
+            reserved += command.seatsCount();
+            results.add(Optional.empty());
+        }
+
+        if (reserved > 0) {
+            seatStrategy.reserve(eventId, reserved);
+            bookingRepository.saveAll(bookings);
+        }
+
+        return results;
+    }
+}
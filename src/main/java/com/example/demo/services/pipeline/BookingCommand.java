@@ -0,0 +1,17 @@
+package com.example.demo.services.pipeline;
+
+import com.example.demo.models.entities.User;
+
+import java.util.List;
+
+/**
+ * Проверенная заявка на бронирование, готовая к записи.
+ *
+ * @param requestedSeats конкретные места; если пусто — лучшие свободные
+ */
+public record BookingCommand(String eventId,
+                             User user,
+                             int seatsCount,
+                             List<String> requestedSeats,
+                             String comment) {
+}
@@ -0,0 +1,25 @@
+package com.example.demo.services.pipeline;
+
+import com.example.demo.models.enums.BookingPipelineMode;
+
+import java.util.function.Supplier;
+
+/**
+ * Путь записи бронирования в БД. Вызов блокируется до коммита (или отказа) именно этой заявки.
+ */
+public interface BookingPipeline {
+
+    BookingPipelineMode mode();
+
+    void submit(BookingCommand command);
+
+    /**
+     * Выполняет отмену, возвращающую места мероприятия. Режимы, упорядочивающие
+     * изменения по мероприятию, ставят её в ту же очередь, что и бронирования.
+     *
+     * @param eventId вычисляется, только если он нужен режиму
+     */
+    default void cancel(Supplier<String> eventId, Runnable cancellation) {
+        cancellation.run();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.services.pipeline;
+
+import com.example.demo.models.enums.BookingPipelineMode;
+
+import java.util.List;
+
+/**
+ * Каждая заявка — отдельная транзакция в потоке запроса.
+ */
+public class DirectBookingPipeline implements BookingPipeline {
+
+    private final BookingBatchWriter batchWriter;
+
+    public DirectBookingPipeline(BookingBatchWriter batchWriter) {
+        this.batchWriter = batchWriter;
+    }
+
+    @Override
+    public BookingPipelineMode mode() {
+        return BookingPipelineMode.DIRECT;
+    }
+
+    @Override
+    public void submit(BookingCommand command) {
+        batchWriter.write(command.eventId(), List.of(command)).get(0)
+                .ifPresent(e -> {
+                    throw e;
+                });
+    }
+}
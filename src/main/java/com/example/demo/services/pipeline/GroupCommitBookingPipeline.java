@@ -0,0 +1,184 @@
+package com.example.demo.services.pipeline;
+
+import com.example.demo.models.enums.BookingPipelineMode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Групповой коммит: одновременные заявки на одно мероприятие копятся в очереди
+ * (не дольше maxWait и не больше maxBatchSize) и записываются одной транзакцией.
+ * Для каждого мероприятия в любой момент пишется не больше одной пачки.
+ * Опустевшая после записи очередь убирается из карты, следующая заявка заводит новую.
+ */
+@Slf4j
+public class GroupCommitBookingPipeline implements BookingPipeline {
+
+    private final BookingBatchWriter batchWriter;
+    private final int maxBatchSize;
+    private final long maxWaitMicros;
+
+    private final ConcurrentMap<String, EventQueue> queues = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("booking-group-commit").factory());
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final DistributionSummary batchSize;
+    private final Timer waitTime;
+
+    public GroupCommitBookingPipeline(BookingBatchWriter batchWriter,
+                                      MeterRegistry meterRegistry,
+                                      int maxBatchSize,
+                                      long maxWaitMicros) {
+        this.batchWriter = batchWriter;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitMicros = maxWaitMicros;
+        this.batchSize = DistributionSummary.builder("booking.pipeline.batch.size")
+                .tag("pipeline", mode().name())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.waitTime = Timer.builder("booking.pipeline.wait")
+                .description("Время от постановки заявки в очередь до начала записи пачки")
+                .tag("pipeline", mode().name())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public BookingPipelineMode mode() {
+        return BookingPipelineMode.GROUP_COMMIT;
+    }
+
+    @Override
+    public void submit(BookingCommand command) {
+        PendingBooking pending = new PendingBooking(command, System.nanoTime(), new CompletableFuture<>());
+        while (!queues.computeIfAbsent(command.eventId(), EventQueue::new).offer(pending)) {
+            // очередь опустела и убрана из карты между выборкой и постановкой — берём новую
+        }
+
+        try {
+            pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    int queueCount() {
+        return queues.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        writers.close();
+    }
+
+    private record PendingBooking(BookingCommand command, long enqueuedAt, CompletableFuture<Void> result) {
+    }
+
+    private final class EventQueue {
+
+        private final String eventId;
+        private final ArrayDeque<PendingBooking> pending = new ArrayDeque<>();
+        // пачка запланирована или пишется; сбрасывается, только когда очередь опустела
+        private boolean active;
+        // очередь убрана из карты и заявок больше не принимает
+        private boolean retired;
+        private ScheduledFuture<?> scheduledFlush;
+
+        EventQueue(String eventId) {
+            this.eventId = eventId;
+        }
+
+        synchronized boolean offer(PendingBooking booking) {
+            if (retired) {
+                return false;
+            }
+            pending.add(booking);
+
+            if (!active) {
+                active = true;
+                scheduleFlush();
+            } else if (pending.size() >= maxBatchSize
+                    && scheduledFlush != null
+                    && scheduledFlush.cancel(false)) {
+                scheduledFlush = null;
+                writers.execute(this::flush);
+            }
+            return true;
+        }
+
+        private void scheduleFlush() {
+            if (pending.size() >= maxBatchSize) {
+                scheduledFlush = null;
+                writers.execute(this::flush);
+            } else {
+                scheduledFlush = scheduler.schedule(
+                        () -> writers.execute(this::flush), maxWaitMicros, TimeUnit.MICROSECONDS);
+            }
+        }
+
+        private void flush() {
+            List<PendingBooking> batch = new ArrayList<>(maxBatchSize);
+            synchronized (this) {
+                scheduledFlush = null;
+                while (batch.size() < maxBatchSize && !pending.isEmpty()) {
+                    batch.add(pending.poll());
+                }
+            }
+
+            try {
+                write(batch);
+            } finally {
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        // пачка записана, новых заявок нет: следующая очередь мероприятия не застанет запись этой
+                        active = false;
+                        retired = true;
+                        queues.remove(eventId, this);
+                    } else {
+                        scheduleFlush();
+                    }
+                }
+            }
+        }
+
+        private void write(List<PendingBooking> batch) {
+            long startedAt = System.nanoTime();
+            batch.forEach(booking -> waitTime.record(startedAt - booking.enqueuedAt(), TimeUnit.NANOSECONDS));
+            batchSize.record(batch.size());
+
+            try {
+                List<Optional<RuntimeException>> results = batchWriter.write(
+                        eventId, batch.stream().map(PendingBooking::command).toList());
+
+                for (int i = 0; i < batch.size(); i++) {
+                    CompletableFuture<Void> result = batch.get(i).result();
+                    results.get(i).ifPresentOrElse(result::completeExceptionally, () -> result.complete(null));
+                }
+            } catch (RuntimeException e) {
+                log.error("Ошибка записи пачки бронирований мероприятия {}", eventId, e);
+                batch.forEach(booking -> booking.result().completeExceptionally(e));
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.demo.services.routing;
+
+/**
+ * Мероприятие за адресом /events/event-details/{slug}: id для выборок и учёта мест, название для сообщений.
+ */
+public record EventRoute(String id, String title, String slug) {
+}
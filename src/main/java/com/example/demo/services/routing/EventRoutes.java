@@ -0,0 +1,121 @@
+package com.example.demo.services.routing;
+
+import com.example.demo.config.StartupOrder;
+import com.example.demo.models.events.EventDeletedEvent;
+import com.example.demo.models.exceptions.EventNotFoundException;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.utils.slug.Slugs;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Адреса мероприятий по уникальному slug вместо URL-кодированного названия.
+ * <p>
+ * Slug → мероприятие разрешается через ограниченный кэш в памяти процесса: страница мероприятия
+ * и формы бронирования не ищут по названию в базе. Отсутствующие slug не кэшируются, чтобы
+ * случайные адреса не вытесняли настоящие. Запись удаляется после коммита удаления мероприятия.
+ */
+@Slf4j
+@Component
+public class EventRoutes {
+
+    private static final String FALLBACK_SLUG = "event";
+
+    private final EventRepository eventRepository;
+    private final Cache<String, EventRoute> routes;
+
+    public EventRoutes(EventRepository eventRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.events.slug-cache.max-size:10000}") long maxSize) {
+        this.eventRepository = eventRepository;
+        this.routes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, routes, "eventRoutes");
+    }
+
+    public Optional<EventRoute> resolve(String slug) {
+        if (!Slugs.isSlug(slug)) {
+            return Optional.empty();
+        }
+        // null из загрузчика не кэшируется
+        return Optional.ofNullable(routes.get(slug, this::load));
+    }
+
+    public EventRoute require(String slug) {
+        return resolve(slug).orElseThrow(() -> new EventNotFoundException("Мероприятие не найдено"));
+    }
+
+    /**
+     * Slug для старого адреса по названию; при совпадающих названиях — у добавленного раньше.
+     */
+    public Optional<String> slugForTitle(String title) {
+        return eventRepository.findSlugsByTitle(title).stream().findFirst();
+    }
+
+    /**
+     * Свободный slug для названия: при занятом добавляется -2, -3, ...
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String uniqueSlug(String title) {
+        String base = Slugs.fromTitle(title);
+        if (base.isEmpty()) {
+            base = FALLBACK_SLUG;
+        }
+
+        Set<String> taken = new HashSet<>(eventRepository.findSlugsWithBase(base));
+        if (!taken.contains(base)) {
+            return base;
+        }
+        int suffix = 2;
+        while (taken.contains(base + "-" + suffix)) {
+            suffix++;
+        }
+        return base + "-" + suffix;
+    }
+
+    /**
+     * Мероприятия, добавленные до появления slug, получают его при старте.
+     */
+    @Transactional
+    @Order(StartupOrder.SLUGS)
+    @EventListener(ApplicationReadyEvent.class)
+    public void assignMissingSlugs() {
+        List<Object[]> rows = eventRepository.findWithoutSlug();
+        for (Object[] row : rows) {
+            eventRepository.updateSlug((String) row[0], uniqueSlug((String) row[1]));
+        }
+        if (!rows.isEmpty()) {
+            log.info("Мероприятиям назначены адреса: {}", rows.size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventDeleted(EventDeletedEvent event) {
+        routes.asMap().values().removeIf(route -> route.id().equals(event.eventId()));
+    }
+
+    private EventRoute load(String slug) {
+        return eventRepository.findRouteBySlug(slug).stream()
+                .findFirst()
+                .map(row -> new EventRoute((String) row[0], (String) row[1], (String) row[2]))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.demo.services.search;
+
+import com.example.demo.config.StartupOrder;
+import com.example.demo.dto.SuggestionDto;
+import com.example.demo.models.enums.SuggestionType;
+import com.example.demo.models.events.EventCreatedEvent;
+import com.example.demo.models.events.EventDeletedEvent;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.utils.search.RadixTrie;
+import com.example.demo.utils.search.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Автодополнение строки поиска афиши: названия мероприятий, исполнители и жанры из префиксного дерева в памяти.
+ * <p>
+ * Вес мероприятия — 1 + забронированные места на момент индексации; вес исполнителя и жанра —
+ * сумма весов их мероприятий, так что выше оказываются и востребованные, и часто выступающие.
+ * Дерево строится при старте и дополняется после коммита добавления или удаления мероприятия.
+ */
+@Slf4j
+@Component
+public class EventAutocomplete {
+
+    private final EventRepository eventRepository;
+    private final RadixTrie trie;
+    private final int topK;
+
+    private final Map<String, IndexedEvent> events = new HashMap<>();
+    private final Map<String, Aggregate> performers = new HashMap<>();
+    private final Map<String, Aggregate> genres = new HashMap<>();
+    private volatile boolean ready;
+
+    public EventAutocomplete(EventRepository eventRepository,
+                             @Value("${app.search.autocomplete.top-k:10}") int topK) {
+        this.eventRepository = eventRepository;
+        this.trie = new RadixTrie(topK);
+        this.topK = topK;
+    }
+
+    @Order(StartupOrder.INDEXES)
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.nanoTime();
+        Map<String, IndexedEvent> snapshot = collect(eventRepository.findSuggestionSnapshot());
+        snapshot.forEach(this::add);
+        ready = true;
+
+        log.info("Дерево автодополнения построено: {} подсказок по {} мероприятиям за {} мс",
+                trie.size(), snapshot.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Подсказки по началу названия, имени исполнителя или жанра (или любого слова в них).
+     *
+     * @return пусто, если префикс пустой или дерево ещё не построено
+     */
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        if (!ready) {
+            return List.of();
+        }
+        return trie.complete(prefix, Math.min(limit, topK)).stream()
+                .map(suggestion -> new SuggestionDto(suggestion.text(), typeOf(suggestion.key())))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventCreated(EventCreatedEvent event) {
+        collect(eventRepository.findSuggestionRows(event.eventId())).forEach(this::add);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventDeleted(EventDeletedEvent event) {
+        remove(event.eventId());
+    }
+
+    private synchronized void add(String eventId, IndexedEvent event) {
+        if (events.putIfAbsent(eventId, event) != null) {
+            return;
+        }
+
+        trie.put(key(SuggestionType.EVENT, eventId), event.title(), event.weight());
+        if (event.genre() != null) {
+            adjust(genres, SuggestionType.GENRE, event.genre(), event.weight(), 1);
+        }
+        for (String performer : event.performers()) {
+            adjust(performers, SuggestionType.PERFORMER, performer, event.weight(), 1);
+        }
+    }
+
+    private synchronized void remove(String eventId) {
+        IndexedEvent event = events.remove(eventId);
+        if (event == null) {
+            return;
+        }
+
+        trie.remove(key(SuggestionType.EVENT, eventId));
+        if (event.genre() != null) {
+            adjust(genres, SuggestionType.GENRE, event.genre(), -event.weight(), -1);
+        }
+        for (String performer : event.performers()) {
+            adjust(performers, SuggestionType.PERFORMER, performer, -event.weight(), -1);
+        }
+    }
+
+    private void adjust(Map<String, Aggregate> aggregates, SuggestionType type, String name, long weight, int events) {
+        String normalized = TrigramIndex.normalize(name);
+        String key = key(type, normalized);
+
+        Aggregate aggregate = aggregates.computeIfAbsent(normalized, n -> new Aggregate(name));
+        aggregate.weight += weight;
+        aggregate.events += events;
+
+        if (aggregate.events <= 0) {
+            aggregates.remove(normalized);
+            trie.remove(key);
+        } else {
+            trie.put(key, aggregate.text, aggregate.weight);
+        }
+    }
+
+    /**
+     * Строки из EventRepository — по одной на исполнителя; собираются в мероприятия.
+     */
+    private static Map<String, IndexedEvent> collect(List<Object[]> rows) {
+        Map<String, IndexedEvent> result = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            IndexedEvent event = result.computeIfAbsent((String) row[0], id -> new IndexedEvent(
+                    (String) row[1], (String) row[2], new LinkedHashSet<>(), 1 + ((Number) row[4]).longValue()));
+            if (row[3] != null) {
+                event.performers().add((String) row[3]);
+            }
+        }
+        return result;
+    }
+
+    private static String key(SuggestionType type, String id) {
+        return type.name() + ':' + id;
+    }
+
+    private static SuggestionType typeOf(String key) {
+        return SuggestionType.valueOf(key.substring(0, key.indexOf(':')));
+    }
+
+    private record IndexedEvent(String title, String genre, Set<String> performers, long weight) {
+    }
+
+    private static final class Aggregate {
+
+        private final String text;
+        private long weight;
+        private int events;
+
+        Aggregate(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.services.search;
+
+import com.example.demo.models.entities.Event;
+import com.example.demo.repositories.EventRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+/**
+ * Число мероприятий под фильтром афиши, пока фасеты в памяти не построены. COUNT(*) кэшируется по фильтру
+ * и сбрасывается целиком при добавлении и удалении мероприятия и переходе остатка мест через ноль
+ * (см. EventCacheInvalidation).
+ */
+@Component
+public class EventCounts {
+
+    private final EventRepository eventRepository;
+
+    public EventCounts(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * @param spec условие, построенное из того же фильтра
+     */
+    // int, а не long: JSON-сериализатор кэша возвращает небольшие числа как Integer
+    @Cacheable(value = "eventCounts", key = "#filter.toString()", sync = true)
+    public int count(EventFilter filter, Specification<Event> spec) {
+        return Math.toIntExact(eventRepository.count(spec));
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.demo.services.search;
+
+import com.example.demo.config.StartupOrder;
+import com.example.demo.dto.EventFacetsDto;
+import com.example.demo.models.enums.EventType;
+import com.example.demo.models.events.EventCreatedEvent;
+import com.example.demo.models.events.EventDeletedEvent;
+import com.example.demo.models.events.SeatsChangedEvent;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.services.seats.SeatReservationStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Фасеты афиши в памяти: по сжатой битовой карте на тип, жанр, зал, месяц
+ * и признак «есть свободные места». Бит — внутренний номер мероприятия.
+ * Число мероприятий под фильтром — мощность пересечения карт, число при каждом значении фасета —
+ * мощность пересечения с его картой.
+ * <p>
+ * Карты строятся при старте и обновляются после коммита: добавление и удаление мероприятия,
+ * изменение остатка мест.
+ */
+@Slf4j
+@Component
+public class EventFacetIndex {
+
+    private enum Facet { TYPE, GENRE, HALL, MONTH, SEATS }
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final EventRepository eventRepository;
+    private final SeatReservationStrategy seatStrategy;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<EventType, RoaringBitmap> types = new EnumMap<>(EventType.class);
+    private final Map<String, RoaringBitmap> genres = new TreeMap<>();
+    private final Map<String, RoaringBitmap> halls = new TreeMap<>();
+    private final Map<YearMonth, RoaringBitmap> months = new TreeMap<>();
+    private final RoaringBitmap withSeats = new RoaringBitmap();
+
+    private String[] eventIds = new String[64];
+    private int nextDocId;
+    private volatile boolean ready;
+
+    public EventFacetIndex(EventRepository eventRepository, SeatReservationStrategy seatStrategy) {
+        this.eventRepository = eventRepository;
+        this.seatStrategy = seatStrategy;
+    }
+
+    @Order(StartupOrder.INDEXES)
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        List<Object[]> rows = eventRepository.findFacetSnapshot();
+        rows.forEach(this::add);
+        ready = true;
+        log.info("Фасеты афиши построены: {} мероприятий", rows.size());
+    }
+
+    /**
+     * Число мероприятий под фильтром. Сами мероприятия выбирает база по тем же условиям:
+     * передавать ей найденные здесь id списком нельзя — на всей афише это O(каталога) параметров.
+     *
+     * @param searchIds результат поиска по строке; null — строка не задана
+     * @return пусто, если фасеты ещё не построены
+     */
+    public Optional<Integer> count(EventFilter filter, Collection<String> searchIds) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            return Optional.of(narrow(filter, base(searchIds), null).getCardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Числа при значениях фасетов. Для каждого фасета учитываются остальные выбранные фильтры,
+     * но не его собственный — иначе в списке было бы видно только выбранное значение.
+     */
+    public Optional<EventFacetsDto> facets(EventFilter filter, Collection<String> searchIds) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = base(searchIds);
+            return Optional.of(new EventFacetsDto(
+                    counts(types, narrow(filter, base, Facet.TYPE), new EnumMap<>(EventType.class)),
+                    counts(genres, narrow(filter, base, Facet.GENRE), new TreeMap<>()),
+                    counts(halls, narrow(filter, base, Facet.HALL), new TreeMap<>()),
+                    counts(months, narrow(filter, base, Facet.MONTH), new TreeMap<>()),
+                    RoaringBitmap.andCardinality(narrow(filter, base, Facet.SEATS), withSeats)
+            ));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventCreated(EventCreatedEvent event) {
+        eventRepository.findFacetRow(event.eventId()).forEach(this::add);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventDeleted(EventDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIds.remove(event.eventId());
+            if (docId == null) {
+                return;
+            }
+            all.remove(docId);
+            withSeats.remove(docId);
+            removeFrom(types, docId);
+            removeFrom(genres, docId);
+            removeFrom(halls, docId);
+            removeFrom(months, docId);
+            eventIds[docId] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent event) {
+        Integer docId;
+        lock.readLock().lock();
+        try {
+            docId = docIds.get(event.eventId());
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (docId == null) {
+            return;
+        }
+
+        boolean available = seatStrategy.available(event.eventId()) > 0;
+
+        lock.writeLock().lock();
+        try {
+            if (available) {
+                withSeats.add(docId);
+            } else {
+                withSeats.remove(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Строка из EventRepository: id, тип, жанр, зал, дата, свободные места.
+     */
+    private void add(Object[] row) {
+        String eventId = (String) row[0];
+
+        lock.writeLock().lock();
+        try {
+            if (docIds.containsKey(eventId)) {
+                return;
+            }
+
+            int docId = nextDocId++;
+            if (docId == eventIds.length) {
+                eventIds = Arrays.copyOf(eventIds, docId * 2);
+            }
+            eventIds[docId] = eventId;
+            docIds.put(eventId, docId);
+
+            all.add(docId);
+            types.computeIfAbsent((EventType) row[1], key -> new RoaringBitmap()).add(docId);
+            if (row[2] != null) {
+                genres.computeIfAbsent((String) row[2], key -> new RoaringBitmap()).add(docId);
+            }
+            if (row[3] != null) {
+                halls.computeIfAbsent((String) row[3], key -> new RoaringBitmap()).add(docId);
+            }
+            months.computeIfAbsent(YearMonth.from((LocalDateTime) row[4]), key -> new RoaringBitmap()).add(docId);
+            if ((Integer) row[5] > 0) {
+                withSeats.add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private RoaringBitmap base(Collection<String> searchIds) {
+        if (searchIds == null) {
+            return all;
+        }
+
+        RoaringBitmap base = new RoaringBitmap();
+        for (String eventId : searchIds) {
+            Integer docId = docIds.get(eventId);
+            if (docId != null) {
+                base.add(docId);
+            }
+        }
+        return base;
+    }
+
+    private RoaringBitmap narrow(EventFilter filter, RoaringBitmap base, Facet skipped) {
+        RoaringBitmap result = base.clone();
+
+        if (skipped != Facet.TYPE && filter.type() != null) {
+            result.and(types.getOrDefault(filter.type(), EMPTY));
+        }
+        if (skipped != Facet.GENRE && filter.genreName() != null) {
+            result.and(genres.getOrDefault(filter.genreName(), EMPTY));
+        }
+        if (skipped != Facet.HALL && filter.hallName() != null) {
+            result.and(halls.getOrDefault(filter.hallName(), EMPTY));
+        }
+        if (skipped != Facet.MONTH && filter.month() != null) {
+            result.and(months.getOrDefault(filter.month(), EMPTY));
+        }
+        if (skipped != Facet.SEATS && filter.withSeats()) {
+            result.and(withSeats);
+        }
+        return result;
+    }
+
+    private static <K> Map<K, Integer> counts(Map<K, RoaringBitmap> facet, RoaringBitmap narrowed, Map<K, Integer> target) {
+        facet.forEach((value, bitmap) -> target.put(value, RoaringBitmap.andCardinality(narrowed, bitmap)));
+        return target;
+    }
+
+    private static <K> void removeFrom(Map<K, RoaringBitmap> facet, int docId) {
+        // пустые значения уходят из списка фасета (например, прошедшие месяцы)
+        facet.values().removeIf(bitmap -> {
+            bitmap.remove(docId);
+            return bitmap.isEmpty();
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.services.search;
+
+import com.example.demo.models.enums.EventType;
+
+import java.time.YearMonth;
+
+/**
+ * Фильтр афиши; пустые поля не ограничивают выборку.
+ *
+ * @param month     месяц проведения
+ * @param withSeats только мероприятия со свободными местами
+ */
+public record EventFilter(String search,
+                          EventType type,
+                          String genreName,
+                          String hallName,
+                          YearMonth month,
+                          boolean withSeats) {
+
+    public EventFilter {
+        search = blankToNull(search);
+        genreName = blankToNull(genreName);
+        hallName = blankToNull(hallName);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.services.search;
+
+import com.example.demo.config.StartupOrder;
+import com.example.demo.models.events.EventCreatedEvent;
+import com.example.demo.models.events.EventDeletedEvent;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.utils.search.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Поиск мероприятий по названию и именам исполнителей в памяти.
+ * Индекс строится при старте и обновляется после коммита добавления или удаления мероприятия;
+ * база нужна только для выборки итоговой страницы по найденным id.
+ */
+@Slf4j
+@Component
+public class EventSearchIndex {
+
+    // разделитель полей: запрос из формы его не содержит, поэтому совпадение не «склеит» два поля
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private final EventRepository eventRepository;
+    private final TrigramIndex index = new TrigramIndex();
+    private volatile boolean ready;
+
+    public EventSearchIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @Order(StartupOrder.INDEXES)
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.nanoTime();
+        Map<String, StringBuilder> documents = new LinkedHashMap<>();
+
+        for (Object[] row : eventRepository.findSearchSnapshot()) {
+            StringBuilder text = documents.computeIfAbsent((String) row[0], id -> new StringBuilder((String) row[1]));
+            if (row[2] != null) {
+                text.append(FIELD_SEPARATOR).append((String) row[2]);
+            }
+        }
+
+        documents.forEach((eventId, text) -> index.put(eventId, text.toString()));
+        ready = true;
+
+        log.info("Поисковый индекс построен: {} мероприятий за {} мс",
+                index.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Id мероприятий, в названии или исполнителях которых встречается строка.
+     *
+     * @return пусто, если строка пустая или индекс ещё не построен — тогда ищет база
+     */
+    public Optional<List<String>> search(String query) {
+        if (!ready || query == null || query.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.of(index.search(query));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventCreated(EventCreatedEvent event) {
+        // у нового мероприятия ещё нет исполнителей
+        index.put(event.eventId(), event.title());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventDeleted(EventDeletedEvent event) {
+        index.remove(event.eventId());
+    }
+}
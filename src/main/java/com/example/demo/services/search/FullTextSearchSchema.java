@@ -0,0 +1,94 @@
+package com.example.demo.services.search;
+
+import com.example.demo.config.StartupOrder;
+import com.example.demo.models.events.EventCreatedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Полнотекстовый поиск PostgreSQL по афише (морфология русского языка).
+ * <p>
+ * events.search_vector — генерируемая колонка с GIN-индексом. Генерируемая колонка видит
+ * только свою строку, поэтому жанр и исполнители копируются в events.search_terms:
+ * целиком при старте и по одному мероприятию после его добавления.
+ * <p>
+ * Справочники считаются пополняемыми: в приложении нет правки и удаления исполнителей и жанров
+ * и смены состава исполнителей мероприятия (их заполняет только начальная загрузка до старта).
+ * Если такая правка появится, она должна публиковать событие с id затронутых мероприятий
+ * и вызывать {@link #refresh(String)} для каждого — иначе термины обновит только перезапуск.
+ * <p>
+ * Колонки и индекс создаются здесь, после того как Hibernate обновил схему.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class FullTextSearchSchema {
+
+    private static final String[] DDL = {
+            "ALTER TABLE events ADD COLUMN IF NOT EXISTS search_terms text",
+            """
+            ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector tsvector
+                GENERATED ALWAYS AS (
+                    setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+                    setweight(to_tsvector('russian', coalesce(search_terms, '')), 'B') ||
+                    setweight(to_tsvector('russian', coalesce(description, '')), 'C')
+                ) STORED
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector)"
+    };
+
+    private static final String REFRESH_TERMS = """
+            UPDATE events e
+            SET search_terms = t.terms
+            FROM (
+                SELECT ev.id, concat_ws(' ', g.name, string_agg(p.name, ' ')) AS terms
+                FROM events ev
+                LEFT JOIN genres g ON g.id = ev.genre_id
+                LEFT JOIN events_performers ep ON ep.event_id = ev.id
+                LEFT JOIN performers p ON p.id = ep.performer_id
+                WHERE CAST(? AS varchar) IS NULL OR ev.id = ?
+                GROUP BY ev.id, g.name
+            ) t
+            WHERE e.id = t.id AND e.search_terms IS DISTINCT FROM t.terms
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FullTextSearchSchema(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void createSchema() {
+        for (String statement : DDL) {
+            jdbcTemplate.execute(statement);
+        }
+    }
+
+    @Order(StartupOrder.INDEXES)
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshAll() {
+        int updated = refresh(null);
+        log.info("Обновлены поисковые термины мероприятий: {}", updated);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventCreated(EventCreatedEvent event) {
+        refresh(event.eventId());
+    }
+
+    /**
+     * @param eventId мероприятие или null — все
+     * @return сколько строк events изменилось
+     */
+    public int refresh(String eventId) {
+        return jdbcTemplate.update(REFRESH_TERMS, eventId, eventId);
+    }
+}
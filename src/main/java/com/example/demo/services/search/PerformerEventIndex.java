@@ -0,0 +1,285 @@
+package com.example.demo.services.search;
+
+import com.example.demo.config.StartupOrder;
+import com.example.demo.dto.PerformerDto;
+import com.example.demo.models.events.EventCreatedEvent;
+import com.example.demo.models.events.EventDeletedEvent;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.repositories.PerformerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Обратный индекс «исполнитель → мероприятия» в памяти. У каждого исполнителя массив его мероприятий
+ * в порядке даты, так что «только предстоящие» — двоичный поиск по текущему времени, а фильтр по жанру —
+ * проход по уже отобранному хвосту без обращения к базе.
+ * <p>
+ * Индекс строится при старте и обновляется после коммита добавления или удаления мероприятия.
+ */
+@Slf4j
+@Component
+public class PerformerEventIndex {
+
+    private static final IndexedEvent[] NO_EVENTS = new IndexedEvent[0];
+    private static final Comparator<IndexedEvent> BY_DATE = Comparator
+            .comparing(IndexedEvent::dateTime)
+            .thenComparing(IndexedEvent::id);
+    private static final Comparator<IndexedPerformer> BY_NAME = Comparator
+            .comparing(IndexedPerformer::name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(IndexedPerformer::id);
+
+    private final EventRepository eventRepository;
+    private final PerformerRepository performerRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IndexedPerformer> performers = new HashMap<>();
+    private final Map<String, IndexedEvent> events = new HashMap<>();
+    // массивы не изменяются на месте: запись подменяет массив исполнителя целиком
+    private final Map<String, IndexedEvent[]> eventsByPerformer = new HashMap<>();
+    private volatile boolean ready;
+
+    public PerformerEventIndex(EventRepository eventRepository, PerformerRepository performerRepository) {
+        this.eventRepository = eventRepository;
+        this.performerRepository = performerRepository;
+    }
+
+    @Order(StartupOrder.INDEXES)
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        List<Object[]> catalog = performerRepository.findCatalogSnapshot();
+        Map<String, IndexedEvent> snapshot = collect(eventRepository.findPerformerSnapshot());
+
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : catalog) {
+                performers.put((String) row[0], new IndexedPerformer((String) row[0], (String) row[1], (String) row[2]));
+            }
+
+            Map<String, List<IndexedEvent>> postings = new HashMap<>();
+            snapshot.forEach((eventId, event) -> {
+                events.put(eventId, event);
+                for (IndexedPerformer performer : event.performers()) {
+                    performers.putIfAbsent(performer.id(), performer);
+                    postings.computeIfAbsent(performer.id(), id -> new ArrayList<>()).add(event);
+                }
+            });
+            postings.forEach((performerId, list) -> {
+                list.sort(BY_DATE);
+                eventsByPerformer.put(performerId, list.toArray(NO_EVENTS));
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+
+        log.info("Индекс исполнителей построен: {} исполнителей, {} мероприятий", catalog.size(), snapshot.size());
+    }
+
+    /**
+     * Id мероприятий исполнителя в порядке даты.
+     *
+     * @param genreName жанр мероприятия; null — любой
+     * @return пусто, если индекс ещё не построен
+     */
+    public Optional<List<String>> eventIds(String performerId, String genreName, boolean upcomingOnly) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        IndexedEvent[] performerEvents = postings(performerId);
+        int from = upcomingOnly ? firstUpcoming(performerEvents, LocalDateTime.now()) : 0;
+
+        List<String> result = new ArrayList<>(performerEvents.length - from);
+        for (int i = from; i < performerEvents.length; i++) {
+            if (genreName == null || genreName.equals(performerEvents[i].genreName())) {
+                result.add(performerEvents[i].id());
+            }
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Каталог исполнителей по имени с числом предстоящих мероприятий.
+     *
+     * @param genreName жанр исполнителя; null — любой
+     */
+    public Optional<List<PerformerDto>> performers(String genreName) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        lock.readLock().lock();
+        try {
+            return Optional.of(performers.values().stream()
+                    .filter(performer -> genreName == null || genreName.equals(performer.genreName()))
+                    .sorted(BY_NAME)
+                    .map(performer -> toDto(performer, now))
+                    .toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return пусто, если исполнителя нет в индексе или индекс ещё не построен
+     */
+    public Optional<PerformerDto> performer(String performerId) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            IndexedPerformer performer = performers.get(performerId);
+            return performer == null ? Optional.empty() : Optional.of(toDto(performer, LocalDateTime.now()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Исполнители сразу для всех переданных мероприятий (например, карточек страницы).
+     *
+     * @return пусто, если индекс ещё не построен; мероприятия без исполнителей в ответ не попадают
+     */
+    public Optional<Map<String, List<PerformerDto>>> performersByEvent(Collection<String> eventIds) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        Map<String, List<PerformerDto>> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String eventId : eventIds) {
+                IndexedEvent event = events.get(eventId);
+                if (event != null) {
+                    result.put(eventId, event.performers().stream()
+                            .map(performer -> new PerformerDto(performer.id(), performer.name(), performer.genreName(), null))
+                            .toList());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(result);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventCreated(EventCreatedEvent event) {
+        collect(eventRepository.findPerformerRows(List.of(event.eventId()))).forEach(this::add);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventDeleted(EventDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            IndexedEvent removed = events.remove(event.eventId());
+            if (removed == null) {
+                return;
+            }
+            for (IndexedPerformer performer : removed.performers()) {
+                IndexedEvent[] remaining = Arrays.stream(eventsByPerformer.getOrDefault(performer.id(), NO_EVENTS))
+                        .filter(indexed -> !indexed.id().equals(event.eventId()))
+                        .toArray(IndexedEvent[]::new);
+                if (remaining.length == 0) {
+                    eventsByPerformer.remove(performer.id());
+                } else {
+                    eventsByPerformer.put(performer.id(), remaining);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(String eventId, IndexedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (events.putIfAbsent(eventId, event) != null) {
+                return;
+            }
+            for (IndexedPerformer performer : event.performers()) {
+                performers.putIfAbsent(performer.id(), performer);
+
+                IndexedEvent[] current = eventsByPerformer.getOrDefault(performer.id(), NO_EVENTS);
+                int position = -Arrays.binarySearch(current, event, BY_DATE) - 1;
+                IndexedEvent[] updated = new IndexedEvent[current.length + 1];
+                System.arraycopy(current, 0, updated, 0, position);
+                updated[position] = event;
+                System.arraycopy(current, position, updated, position + 1, current.length - position);
+                eventsByPerformer.put(performer.id(), updated);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private IndexedEvent[] postings(String performerId) {
+        lock.readLock().lock();
+        try {
+            return eventsByPerformer.getOrDefault(performerId, NO_EVENTS);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PerformerDto toDto(IndexedPerformer performer, LocalDateTime now) {
+        IndexedEvent[] performerEvents = eventsByPerformer.getOrDefault(performer.id(), NO_EVENTS);
+        return new PerformerDto(performer.id(), performer.name(), performer.genreName(),
+                performerEvents.length - firstUpcoming(performerEvents, now));
+    }
+
+    /**
+     * Позиция первого мероприятия не раньше момента; длина массива, если таких нет.
+     */
+    private static int firstUpcoming(IndexedEvent[] performerEvents, LocalDateTime now) {
+        int low = 0;
+        int high = performerEvents.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (performerEvents[middle].dateTime().isBefore(now)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Строки из EventRepository — по одной на пару «мероприятие, исполнитель»; собираются в мероприятия.
+     */
+    private static Map<String, IndexedEvent> collect(List<Object[]> rows) {
+        Map<String, IndexedEvent> result = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            result.computeIfAbsent((String) row[0], id -> new IndexedEvent(
+                            id, (LocalDateTime) row[1], (String) row[2], new ArrayList<>()))
+                    .performers().add(new IndexedPerformer((String) row[3], (String) row[4], (String) row[5]));
+        }
+        return result;
+    }
+
+    private record IndexedEvent(String id, LocalDateTime dateTime, String genreName, List<IndexedPerformer> performers) {
+    }
+
+    private record IndexedPerformer(String id, String name, String genreName) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.services.seats;
+
+import com.example.demo.models.enums.SeatReservationMode;
+import com.example.demo.models.exceptions.EventNotFoundException;
+import com.example.demo.repositories.EventRepository;
+
+/**
+ * Проверка и списание одним UPDATE ... WHERE available_seats >= ?.
+ * Остаток после изменения читается простым SELECT: строка уже заблокирована этим UPDATE до конца транзакции.
+ */
+public class ConditionalUpdateSeatReservationStrategy implements SeatReservationStrategy {
+
+    private final EventRepository eventRepository;
+
+    public ConditionalUpdateSeatReservationStrategy(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @Override
+    public SeatReservationMode mode() {
+        return SeatReservationMode.CONDITIONAL_UPDATE;
+    }
+
+    @Override
+    public int available(String eventId) {
+        return eventRepository.findAvailableSeatsById(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Мероприятие не найдено"));
+    }
+
+    @Override
+    public int reserve(String eventId, int seats) {
+        if (eventRepository.decrementAvailableSeats(eventId, seats) == 0) {
+            throw new IllegalArgumentException("Недостаточно свободных мест");
+        }
+        return available(eventId);
+    }
+
+    @Override
+    public int release(String eventId, int seats) {
+        eventRepository.incrementAvailableSeats(eventId, seats);
+        return available(eventId);
+    }
+}
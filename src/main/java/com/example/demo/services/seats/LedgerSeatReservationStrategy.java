@@ -0,0 +1,32 @@
+package com.example.demo.services.seats;
+
+import com.example.demo.models.enums.SeatReservationMode;
+
+public class LedgerSeatReservationStrategy implements SeatReservationStrategy {
+
+    private final SeatInventoryLedger seatLedger;
+
+    public LedgerSeatReservationStrategy(SeatInventoryLedger seatLedger) {
+        this.seatLedger = seatLedger;
+    }
+
+    @Override
+    public SeatReservationMode mode() {
+        return SeatReservationMode.LEDGER;
+    }
+
+    @Override
+    public int available(String eventId) {
+        return seatLedger.available(eventId);
+    }
+
+    @Override
+    public int reserve(String eventId, int seats) {
+        return seatLedger.reserve(eventId, seats);
+    }
+
+    @Override
+    public int release(String eventId, int seats) {
+        return seatLedger.release(eventId, seats);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.services.seats;
+
+import com.example.demo.models.entities.Event;
+import com.example.demo.models.enums.SeatReservationMode;
+import com.example.demo.models.exceptions.EventNotFoundException;
+import com.example.demo.repositories.EventRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Проверка по прочитанной версии строки; конфликт обнаруживается при flush по @Version.
+ */
+public class OptimisticSeatReservationStrategy implements SeatReservationStrategy {
+
+    private final EventRepository eventRepository;
+
+    public OptimisticSeatReservationStrategy(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @Override
+    public SeatReservationMode mode() {
+        return SeatReservationMode.OPTIMISTIC;
+    }
+
+    @Override
+    public int available(String eventId) {
+        return load(eventId).getAvailableSeats();
+    }
+
+    @Override
+    public int reserve(String eventId, int seats) {
+        Event event = load(eventId);
+
+        if (seats > event.getAvailableSeats()) {
+            throw new IllegalArgumentException("Недостаточно свободных мест");
+        }
+
+        event.setAvailableSeats(event.getAvailableSeats() - seats);
+        eventRepository.flush();
+        return event.getAvailableSeats();
+    }
+
+    @Override
+    public int release(String eventId, int seats) {
+        Event event = load(eventId);
+        event.setAvailableSeats(event.getAvailableSeats() + seats);
+        eventRepository.flush();
+        return event.getAvailableSeats();
+    }
+
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        return e instanceof OptimisticLockingFailureException;
+    }
+
+    private Event load(String eventId) {
+        return eventRepository.findById(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Мероприятие не найдено"));
+    }
+}
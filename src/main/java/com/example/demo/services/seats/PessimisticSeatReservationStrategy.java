@@ -0,0 +1,52 @@
+package com.example.demo.services.seats;
+
+import com.example.demo.models.entities.Event;
+import com.example.demo.models.enums.SeatReservationMode;
+import com.example.demo.models.exceptions.EventNotFoundException;
+import com.example.demo.repositories.EventRepository;
+
+/**
+ * Строка мероприятия блокируется через SELECT ... FOR UPDATE до конца транзакции.
+ */
+public class PessimisticSeatReservationStrategy implements SeatReservationStrategy {
+
+    private final EventRepository eventRepository;
+
+    public PessimisticSeatReservationStrategy(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @Override
+    public SeatReservationMode mode() {
+        return SeatReservationMode.PESSIMISTIC;
+    }
+
+    @Override
+    public int available(String eventId) {
+        return lock(eventId).getAvailableSeats();
+    }
+
+    @Override
+    public int reserve(String eventId, int seats) {
+        Event event = lock(eventId);
+
+        if (seats > event.getAvailableSeats()) {
+            throw new IllegalArgumentException("Недостаточно свободных мест");
+        }
+
+        event.setAvailableSeats(event.getAvailableSeats() - seats);
+        return event.getAvailableSeats();
+    }
+
+    @Override
+    public int release(String eventId, int seats) {
+        Event event = lock(eventId);
+        event.setAvailableSeats(event.getAvailableSeats() + seats);
+        return event.getAvailableSeats();
+    }
+
+    private Event lock(String eventId) {
+        return eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Мероприятие не найдено"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.services.seats;
+
+import com.example.demo.models.enums.SeatReservationMode;
+import com.example.demo.models.events.SeatsChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Обёртка над стратегией списания: сообщает об изменении остатка мест,
+ * чтобы индексы в памяти (фасеты афиши) не опрашивали базу, и о переходе остатка через ноль —
+ * только он меняет выборку «есть свободные места».
+ */
+public class PublishingSeatReservationStrategy implements SeatReservationStrategy {
+
+    private final SeatReservationStrategy delegate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PublishingSeatReservationStrategy(SeatReservationStrategy delegate,
+                                             ApplicationEventPublisher eventPublisher) {
+        this.delegate = delegate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public SeatReservationMode mode() {
+        return delegate.mode();
+    }
+
+    @Override
+    public int available(String eventId) {
+        return delegate.available(eventId);
+    }
+
+    @Override
+    public int reserve(String eventId, int seats) {
+        int remaining = delegate.reserve(eventId, seats);
+        eventPublisher.publishEvent(new SeatsChangedEvent(eventId, remaining == 0));
+        return remaining;
+    }
+
+    @Override
+    public int release(String eventId, int seats) {
+        int remaining = delegate.release(eventId, seats);
+        // вернулось ровно столько, сколько станет свободно, — до возврата мест не было
+        eventPublisher.publishEvent(new SeatsChangedEvent(eventId, remaining == seats));
+        return remaining;
+    }
+
+    @Override
+    public boolean isRetryable(RuntimeException e) {
+        return delegate.isRetryable(e);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.demo.services.seats;
+
+import com.example.demo.models.events.EventCreatedEvent;
+import com.example.demo.models.events.EventDeletedEvent;
+import com.example.demo.models.events.SeatsFlushedEvent;
+import com.example.demo.models.exceptions.EventNotFoundException;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.utils.transaction.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Учёт свободных мест в памяти процесса.
+ * Резервирование — CAS по счётчику мероприятия, без обращения к БД.
+ * Изменения копятся в дельтах и сбрасываются в таблицу events пачками (write-behind);
+ * после сброса публикуется {@link SeatsFlushedEvent} — только тогда остаток в БД актуален.
+ * Счётчики локальны для узла: при нескольких узлах бронирования нужна одна из БД-стратегий.
+ */
+@Slf4j
+@Component
+public class SeatInventoryLedger {
+
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentMap<String, AtomicInteger> availableSeats = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> pendingDeltas = new ConcurrentHashMap<>();
+    // мероприятия, у которых закоммиченный остаток переходил через ноль после прошлого сброса
+    private final Set<String> pendingSoldOutChanges = ConcurrentHashMap.newKeySet();
+
+    public SeatInventoryLedger(EventRepository eventRepository,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        List<Object[]> snapshot = eventRepository.findSeatSnapshot();
+
+        for (Object[] row : snapshot) {
+            register((String) row[0], (Integer) row[1]);
+        }
+
+        log.info("Учёт мест загружен: {} мероприятий", snapshot.size());
+    }
+
+    public int available(String eventId) {
+        return counter(eventId).get();
+    }
+
+    /**
+     * Списывает места сразу; в БД уходит только после коммита, при откате места возвращаются.
+     *
+     * @return остаток после списания
+     */
+    public int reserve(String eventId, int seats) {
+        AtomicInteger counter = counter(eventId);
+
+        int current;
+        do {
+            current = counter.get();
+            if (seats > current) {
+                throw new IllegalArgumentException("Недостаточно свободных мест");
+            }
+        } while (!counter.compareAndSet(current, current - seats));
+
+        int remaining = current - seats;
+        TransactionCallbacks.afterCommit(() -> {
+            delta(eventId).addAndGet(-seats);
+            if (remaining == 0) {
+                pendingSoldOutChanges.add(eventId);
+            }
+        });
+        TransactionCallbacks.afterRollback(() -> counter.addAndGet(seats));
+        return remaining;
+    }
+
+    /**
+     * Возвращает места после коммита отмены.
+     *
+     * @return остаток, который будет после коммита (без учёта списаний, идущих в это время)
+     */
+    public int release(String eventId, int seats) {
+        AtomicInteger counter = counter(eventId);
+        // без транзакции возврат выполняется сразу, поэтому остаток считается до регистрации
+        int remaining = counter.get() + seats;
+        TransactionCallbacks.afterCommit(() -> {
+            int after = counter.addAndGet(seats);
+            delta(eventId).addAndGet(seats);
+            if (after == seats) {
+                pendingSoldOutChanges.add(eventId);
+            }
+        });
+        return remaining;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventCreated(EventCreatedEvent event) {
+        register(event.eventId(), event.availableSeats());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventDeleted(EventDeletedEvent event) {
+        forget(event.eventId());
+    }
+
+    public void register(String eventId, int seats) {
+        availableSeats.putIfAbsent(eventId, new AtomicInteger(seats));
+    }
+
+    public void forget(String eventId) {
+        availableSeats.remove(eventId);
+        pendingDeltas.remove(eventId);
+        pendingSoldOutChanges.remove(eventId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.ledger.flush-interval-ms:500}")
+    public void flush() {
+        flush(true);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        // при остановке кэши сбрасывать уже некому
+        flush(false);
+    }
+
+    private void flush(boolean publish) {
+        // переходы забираются раньше дельт: колбэк коммита добавляет дельту до отметки перехода,
+        // поэтому забранный переход не опережает свою дельту (в худшем случае уходит со следующим сбросом)
+        Set<String> soldOutChanges = new HashSet<>();
+        pendingSoldOutChanges.removeIf(soldOutChanges::add);
+
+        List<Object[]> batch = new ArrayList<>();
+        Set<String> eventIds = new HashSet<>();
+
+        for (Map.Entry<String, AtomicInteger> entry : pendingDeltas.entrySet()) {
+            int delta = entry.getValue().getAndSet(0);
+            if (delta != 0) {
+                batch.add(new Object[]{delta, entry.getKey()});
+                eventIds.add(entry.getKey());
+            }
+        }
+
+        if (batch.isEmpty()) {
+            // чистый ноль: в БД ничего не менялось, значит и переход через ноль не виден
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "UPDATE events SET available_seats = available_seats + ?, version = version + 1 WHERE id = ?",
+                    batch
+            ));
+            log.debug("Сброшены изменения мест по {} мероприятиям", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Не удалось сбросить изменения мест, повтор в следующем цикле", e);
+            for (Object[] row : batch) {
+                delta((String) row[1]).addAndGet((Integer) row[0]);
+            }
+            pendingSoldOutChanges.addAll(soldOutChanges);
+            return;
+        }
+
+        if (publish) {
+            soldOutChanges.retainAll(eventIds);
+            eventPublisher.publishEvent(new SeatsFlushedEvent(eventIds, !soldOutChanges.isEmpty()));
+        }
+    }
+
+    private AtomicInteger counter(String eventId) {
+        return availableSeats.computeIfAbsent(eventId, id -> new AtomicInteger(
+                eventRepository.findAvailableSeatsById(id)
+                        .orElseThrow(() -> new EventNotFoundException("Мероприятие не найдено"))
+        ));
+    }
+
+    private AtomicInteger delta(String eventId) {
+        return pendingDeltas.computeIfAbsent(eventId, id -> new AtomicInteger());
+    }
+}
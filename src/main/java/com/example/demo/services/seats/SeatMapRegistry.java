@@ -0,0 +1,175 @@
+package com.example.demo.services.seats;
+
+import com.example.demo.models.events.EventDeletedEvent;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.utils.seating.SeatBitmap;
+import com.example.demo.utils.seating.SeatLayout;
+import com.example.demo.utils.transaction.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Карты занятости мест мероприятий в залах со схемой.
+ * Карта загружается из events.seat_map при первом обращении и сбрасывается обратно целиком,
+ * когда изменилась (write-behind, как и счётчики мест). Зал без схемы запоминается как пустое значение,
+ * обращение к ещё не созданному мероприятию — нет.
+ */
+@Slf4j
+@Component
+public class SeatMapRegistry {
+
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<String, Optional<SeatBitmap>> bitmaps = new ConcurrentHashMap<>();
+    private final Set<String> dirtyEventIds = ConcurrentHashMap.newKeySet();
+
+    public SeatMapRegistry(EventRepository eventRepository,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Занимает места в рамках текущей транзакции: при откате они освобождаются.
+     *
+     * @param requestedSeats конкретные места; если пусто — лучшие свободные
+     * @return подписи занятых мест; пусто, если у зала нет схемы
+     */
+    public List<String> allocate(String eventId, int seats, List<String> requestedSeats) {
+        Optional<SeatBitmap> found = bitmap(eventId);
+
+        if (found.isEmpty()) {
+            if (!requestedSeats.isEmpty()) {
+                throw new IllegalArgumentException("Для этого зала выбор конкретных мест недоступен");
+            }
+            return List.of();
+        }
+
+        SeatBitmap bitmap = found.get();
+        int[] positions;
+
+        if (requestedSeats.isEmpty()) {
+            positions = bitmap.allocateBestAvailable(seats);
+            if (positions.length == 0) {
+                throw new IllegalArgumentException("Недостаточно свободных мест");
+            }
+        } else {
+            positions = requestedSeats.stream()
+                    .mapToInt(bitmap.layout()::position)
+                    .distinct()
+                    .toArray();
+            if (positions.length != requestedSeats.size()) {
+                throw new IllegalArgumentException("Места в запросе повторяются");
+            }
+            if (!bitmap.claim(positions)) {
+                throw new IllegalArgumentException("Некоторые из выбранных мест уже заняты");
+            }
+        }
+
+        TransactionCallbacks.afterRollback(() -> bitmap.release(positions));
+        TransactionCallbacks.afterCommit(() -> dirtyEventIds.add(eventId));
+
+        return Arrays.stream(positions)
+                .mapToObj(bitmap.layout()::label)
+                .toList();
+    }
+
+    /**
+     * Освобождает места после коммита отмены.
+     */
+    public void release(String eventId, String seatLabels) {
+        if (seatLabels == null || seatLabels.isBlank()) {
+            return;
+        }
+
+        TransactionCallbacks.afterCommit(() -> bitmap(eventId).ifPresent(bitmap -> {
+            bitmap.release(parseLabels(seatLabels).stream()
+                    .mapToInt(bitmap.layout()::position)
+                    .toArray());
+            dirtyEventIds.add(eventId);
+        }));
+    }
+
+    public Optional<Integer> freeSeats(String eventId) {
+        return bitmap(eventId).map(SeatBitmap::freeSeats);
+    }
+
+    public void forget(String eventId) {
+        bitmaps.remove(eventId);
+        dirtyEventIds.remove(eventId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventDeleted(EventDeletedEvent event) {
+        forget(event.eventId());
+    }
+
+    public static List<String> parseLabels(String seatLabels) {
+        if (seatLabels == null || seatLabels.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(seatLabels.split(","))
+                .map(String::trim)
+                .filter(label -> !label.isEmpty())
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.ledger.flush-interval-ms:500}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>();
+
+        for (String eventId : dirtyEventIds) {
+            dirtyEventIds.remove(eventId);
+            bitmaps.getOrDefault(eventId, Optional.empty())
+                    .ifPresent(bitmap -> batch.add(new Object[]{bitmap.toBytes(), eventId}));
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "UPDATE events SET seat_map = ? WHERE id = ?",
+                    batch
+            ));
+            log.debug("Сброшены карты мест по {} мероприятиям", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Не удалось сбросить карты мест, повтор в следующем цикле", e);
+            batch.forEach(row -> dirtyEventIds.add((String) row[1]));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Optional<SeatBitmap> bitmap(String eventId) {
+        // запоминается и отсутствие схемы у зала, но не отсутствие мероприятия: его могут создать позже
+        Optional<SeatBitmap> found = bitmaps.computeIfAbsent(eventId, id -> eventRepository.findSeatMapSource(id).stream()
+                .findFirst()
+                .map(row -> row[0] == null
+                        ? Optional.<SeatBitmap>empty()
+                        : Optional.of(new SeatBitmap(SeatLayout.parse((String) row[0]), (byte[]) row[1])))
+                .orElse(null));
+        return found != null ? found : Optional.empty();
+    }
+}
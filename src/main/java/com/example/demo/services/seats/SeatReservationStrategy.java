@@ -0,0 +1,31 @@
+package com.example.demo.services.seats;
+
+import com.example.demo.models.enums.SeatReservationMode;
+
+/**
+ * Способ проверки и списания свободных мест мероприятия.
+ * Методы вызываются внутри транзакции бронирования.
+ */
+public interface SeatReservationStrategy {
+
+    SeatReservationMode mode();
+
+    int available(String eventId);
+
+    /**
+     * @return сколько мест осталось после списания
+     */
+    int reserve(String eventId, int seats);
+
+    /**
+     * @return сколько мест будет свободно после возврата (после коммита, если возврат отложен до него)
+     */
+    int release(String eventId, int seats);
+
+    /**
+     * Можно ли повторить транзакцию после такой ошибки.
+     */
+    default boolean isRetryable(RuntimeException e) {
+        return false;
+    }
+}
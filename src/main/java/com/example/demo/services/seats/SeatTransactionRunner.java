@@ -0,0 +1,65 @@
+package com.example.demo.services.seats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Выполняет операцию с местами в отдельной транзакции и повторяет её,
+ * если стратегия считает ошибку конфликтом (оптимистическая блокировка).
+ */
+@Slf4j
+@Component
+public class SeatTransactionRunner {
+
+    private final TransactionTemplate transactionTemplate;
+    private final SeatReservationStrategy seatStrategy;
+    private final int maxAttempts;
+    private final Counter retries;
+
+    public SeatTransactionRunner(TransactionTemplate transactionTemplate,
+                                 SeatReservationStrategy seatStrategy,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.booking.optimistic.max-attempts:5}") int maxAttempts) {
+        this.transactionTemplate = transactionTemplate;
+        this.seatStrategy = seatStrategy;
+        this.maxAttempts = maxAttempts;
+        this.retries = Counter.builder("booking.seat.retries")
+                .tag("mode", seatStrategy.mode().name())
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (RuntimeException e) {
+                if (!seatStrategy.isRetryable(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    throw new IllegalStateException(
+                            "Не удалось забронировать места из-за высокой нагрузки, попробуйте ещё раз", e);
+                }
+                log.debug("Конфликт при изменении мест, попытка {} из {}", attempt, maxAttempts);
+                retries.increment();
+            }
+        }
+    }
+
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public double retryCount() {
+        return retries.count();
+    }
+}
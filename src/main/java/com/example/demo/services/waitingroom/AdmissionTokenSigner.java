@@ -0,0 +1,79 @@
+package com.example.demo.services.waitingroom;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Подписанный пропуск из очереди: мероприятие, пользователь и срок действия под HMAC-SHA256.
+ * Проверка не требует обращения к хранилищу очереди.
+ */
+public class AdmissionTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+
+    /**
+     * @param secret общий секрет узлов; если пуст — случайный (пропуска действуют только на этом узле)
+     */
+    public AdmissionTokenSigner(String secret) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    public String sign(String eventId, String userId, long expiresAtEpochSecond) {
+        String payload = eventId + "|" + userId + "|" + expiresAtEpochSecond;
+        return ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + "." + ENCODER.encodeToString(mac(payload));
+    }
+
+    public boolean verify(String token, String eventId, String userId, long nowEpochSecond) {
+        if (token == null) {
+            return false;
+        }
+
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+
+        try {
+            String payload = new String(DECODER.decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, mac(payload))) {
+                return false;
+            }
+
+            String[] parts = payload.split("\\|");
+            return parts.length == 3
+                    && parts[0].equals(eventId)
+                    && parts[1].equals(userId)
+                    && Long.parseLong(parts[2]) > nowEpochSecond;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private byte[] mac(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC недоступен", e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.services.waitingroom;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Очередь в памяти узла — для развёртывания в один экземпляр.
+ */
+public class InMemoryWaitingRoomStore implements WaitingRoomStore {
+
+    private final ConcurrentMap<String, Room> rooms = new ConcurrentHashMap<>();
+
+    @Override
+    public long join(String eventId, String userId) {
+        Room room = room(eventId);
+        return room.tickets.computeIfAbsent(userId, id -> room.issued.incrementAndGet());
+    }
+
+    @Override
+    public long admitted(String eventId) {
+        Room room = rooms.get(eventId);
+        return room == null ? 0 : room.admitted.get();
+    }
+
+    @Override
+    public void admit(String eventId, long count) {
+        Room room = rooms.get(eventId);
+        if (room != null) {
+            room.admitted.updateAndGet(admitted -> Math.min(room.issued.get(), admitted + count));
+        }
+    }
+
+    @Override
+    public void leave(String eventId, String userId) {
+        Room room = rooms.get(eventId);
+        if (room != null) {
+            room.tickets.remove(userId);
+        }
+    }
+
+    @Override
+    public void clear(String eventId) {
+        rooms.remove(eventId);
+    }
+
+    private Room room(String eventId) {
+        return rooms.computeIfAbsent(eventId, id -> new Room());
+    }
+
+    private static final class Room {
+        private final AtomicLong issued = new AtomicLong();
+        private final AtomicLong admitted = new AtomicLong();
+        private final ConcurrentMap<String, Long> tickets = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.services.waitingroom;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Очередь в Redis — общая для всех узлов. Выдача номерка и сдвиг метки атомарны (Lua),
+ * сдвиг за один такт выполняет только один узел.
+ */
+public class RedisWaitingRoomStore implements WaitingRoomStore {
+
+    private static final Duration ROOM_TTL = Duration.ofDays(1);
+    // чуть короче секундного такта планировщика, чтобы дрожание не съедало сдвиги
+    private static final Duration ADMIT_TICK = Duration.ofMillis(900);
+
+    private static final DefaultRedisScript<Long> JOIN = new DefaultRedisScript<>("""
+            local ticket = redis.call('HGET', KEYS[2], ARGV[1])
+            if ticket then
+                return tonumber(ticket)
+            end
+            ticket = redis.call('INCR', KEYS[1])
+            redis.call('HSET', KEYS[2], ARGV[1], ticket)
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[2])
+            return ticket
+            """, Long.class);
+
+    private static final DefaultRedisScript<Long> ADMIT = new DefaultRedisScript<>("""
+            if not redis.call('SET', KEYS[3], '1', 'NX', 'PX', ARGV[2]) then
+                return -1
+            end
+            local issued = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local admitted = tonumber(redis.call('GET', KEYS[2]) or '0')
+            local next = math.min(issued, admitted + tonumber(ARGV[1]))
+            redis.call('SET', KEYS[2], next, 'PX', ARGV[3])
+            return next
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisWaitingRoomStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long join(String eventId, String userId) {
+        Long ticket = redisTemplate.execute(JOIN,
+                List.of(key(eventId, "seq"), key(eventId, "tickets")),
+                userId, String.valueOf(ROOM_TTL.toMillis()));
+        return ticket == null ? 0 : ticket;
+    }
+
+    @Override
+    public long admitted(String eventId) {
+        String admitted = redisTemplate.opsForValue().get(key(eventId, "admitted"));
+        return admitted == null ? 0 : Long.parseLong(admitted);
+    }
+
+    @Override
+    public void admit(String eventId, long count) {
+        redisTemplate.execute(ADMIT,
+                List.of(key(eventId, "seq"), key(eventId, "admitted"), key(eventId, "tick")),
+                String.valueOf(count), String.valueOf(ADMIT_TICK.toMillis()), String.valueOf(ROOM_TTL.toMillis()));
+    }
+
+    @Override
+    public void leave(String eventId, String userId) {
+        redisTemplate.opsForHash().delete(key(eventId, "tickets"), userId);
+    }
+
+    @Override
+    public void clear(String eventId) {
+        redisTemplate.delete(List.of(
+                key(eventId, "seq"), key(eventId, "tickets"), key(eventId, "admitted"), key(eventId, "tick")));
+    }
+
+    private static String key(String eventId, String part) {
+        return "waiting-room:{" + eventId + "}:" + part;
+    }
+}
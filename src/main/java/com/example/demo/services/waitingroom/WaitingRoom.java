@@ -0,0 +1,116 @@
+package com.example.demo.services.waitingroom;
+
+import com.example.demo.models.events.EventCreatedEvent;
+import com.example.demo.models.events.EventDeletedEvent;
+import com.example.demo.repositories.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Виртуальная очередь перед бронированием мероприятий с высоким спросом.
+ * Пользователь получает номерок, раз в секунду пропускается admitPerSecond номерков,
+ * прошедшим очередь выдаётся подписанный пропуск на tokenTtl.
+ */
+@Slf4j
+@Component
+public class WaitingRoom {
+
+    private final WaitingRoomStore store;
+    private final AdmissionTokenSigner tokenSigner;
+    private final EventRepository eventRepository;
+    private final int admitPerSecond;
+    private final Duration tokenTtl;
+
+    // id мероприятий с очередью
+    private final Set<String> highDemandEvents = ConcurrentHashMap.newKeySet();
+
+    public WaitingRoom(WaitingRoomStore store,
+                       AdmissionTokenSigner tokenSigner,
+                       EventRepository eventRepository,
+                       @Value("${app.waiting-room.admit-per-second:50}") int admitPerSecond,
+                       @Value("${app.waiting-room.token-ttl-seconds:900}") long tokenTtlSeconds) {
+        this.store = store;
+        this.tokenSigner = tokenSigner;
+        this.eventRepository = eventRepository;
+        this.admitPerSecond = admitPerSecond;
+        this.tokenTtl = Duration.ofSeconds(tokenTtlSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHighDemandEvents() {
+        List<String> eventIds = eventRepository.findHighDemandEventIds();
+        highDemandEvents.addAll(eventIds);
+
+        log.info("Мероприятий с виртуальной очередью: {}", eventIds.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventCreated(EventCreatedEvent event) {
+        if (event.highDemand()) {
+            highDemandEvents.add(event.eventId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventDeleted(EventDeletedEvent event) {
+        if (highDemandEvents.remove(event.eventId())) {
+            store.clear(event.eventId());
+        }
+    }
+
+    /**
+     * @return идёт ли бронирование мероприятия через очередь
+     */
+    public boolean isHighDemand(String eventId) {
+        return highDemandEvents.contains(eventId);
+    }
+
+    public boolean isAdmitted(String eventId, String userName, String admissionToken) {
+        return tokenSigner.verify(admissionToken, eventId, userName, Instant.now().getEpochSecond());
+    }
+
+    /**
+     * Ставит пользователя в очередь (повторный вход сохраняет номерок) и выдаёт пропуск,
+     * если его номерок уже допущен.
+     */
+    public WaitingRoomStatus enter(String eventId, String userName) {
+        long ticket = store.join(eventId, userName);
+        long position = ticket - store.admitted(eventId);
+
+        if (position > 0) {
+            long etaSeconds = (position + admitPerSecond - 1) / admitPerSecond;
+            return new WaitingRoomStatus(position, etaSeconds, null);
+        }
+
+        store.leave(eventId, userName);
+        String token = tokenSigner.sign(eventId, userName, Instant.now().plus(tokenTtl).getEpochSecond());
+        log.debug("Пользователь {} прошёл очередь на мероприятие {}", userName, eventId);
+        return new WaitingRoomStatus(0, 0, token);
+    }
+
+    public Duration tokenTtl() {
+        return tokenTtl;
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void admitNext() {
+        for (String eventId : highDemandEvents) {
+            try {
+                store.admit(eventId, admitPerSecond);
+            } catch (RuntimeException e) {
+                log.warn("Не удалось продвинуть очередь мероприятия {}: {}", eventId, e.getMessage());
+            }
+        }
+    }
+}
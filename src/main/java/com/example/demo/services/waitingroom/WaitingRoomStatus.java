@@ -0,0 +1,13 @@
+package com.example.demo.services.waitingroom;
+
+/**
+ * Место пользователя в очереди.
+ *
+ * @param admissionToken пропуск, если очередь пройдена; иначе null
+ */
+public record WaitingRoomStatus(long position, long etaSeconds, String admissionToken) {
+
+    public boolean admitted() {
+        return admissionToken != null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.services.waitingroom;
+
+/**
+ * Состояние виртуальной очереди мероприятия: номерки выдаются по порядку,
+ * пропуск идёт по «водяной метке» — все номерки не больше неё допущены.
+ * Все операции O(1).
+ */
+public interface WaitingRoomStore {
+
+    /**
+     * Номерок пользователя; повторный вход возвращает тот же номерок.
+     */
+    long join(String eventId, String userId);
+
+    /**
+     * Последний допущенный номерок.
+     */
+    long admitted(String eventId);
+
+    /**
+     * Сдвигает метку на count номерков, но не дальше выданных.
+     */
+    void admit(String eventId, long count);
+
+    /**
+     * Пользователь прошёл очередь — при следующем входе он встанет в конец.
+     */
+    void leave(String eventId, String userId);
+
+    void clear(String eventId);
+}
@@ -0,0 +1,33 @@
+package com.example.demo.utils.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Позиция в упорядоченном списке для постраничного вывода без OFFSET:
+ * значение ключа сортировки и id граничной строки. Клиенту отдаётся как непрозрачная строка.
+ *
+ * @param backward страница перед граничной строкой, а не после неё
+ */
+public record KeysetCursor(String sort, String value, String id, boolean backward) {
+
+    private static final char SEPARATOR = '\u0000';
+
+    public String encode() {
+        String raw = sort + SEPARATOR + value + SEPARATOR + id + SEPARATOR + (backward ? 'B' : 'F');
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+            if (parts.length != 4 || !(parts[3].equals("F") || parts[3].equals("B"))) {
+                throw new IllegalArgumentException("Некорректная ссылка на страницу");
+            }
+            return new KeysetCursor(parts[0], parts[1], parts[2], parts[3].equals("B"));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Некорректная ссылка на страницу", e);
+        }
+    }
+}
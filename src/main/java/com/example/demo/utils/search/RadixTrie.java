@@ -0,0 +1,313 @@
+package com.example.demo.utils.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Сжатое префиксное дерево (radix tree) для подсказок без учёта регистра (ё = е).
+ * Текст индексируется целиком и с начала каждого слова, так что «органн» находит «Вечер органной музыки».
+ * <p>
+ * В каждом узле хранится готовый список лучших по весу подсказок поддерева (top-K):
+ * ответ — спуск по префиксу и копия этого списка, без обхода поддерева.
+ * При добавлении и удалении списки пересчитываются только на пути от изменённого узла к корню.
+ */
+public final class RadixTrie {
+
+    /**
+     * @param key    уникальный ключ подсказки
+     * @param text   текст для показа
+     * @param weight популярность: больше — выше в списке
+     */
+    public record Suggestion(String key, String text, long weight) {
+    }
+
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private static final Comparator<Suggestion> BY_WEIGHT = Comparator
+            .comparingLong(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::text)
+            .thenComparing(Suggestion::key);
+
+    private final int topK;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+    private final Node root = new Node("");
+
+    public RadixTrie(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("Размер списка подсказок должен быть положительным");
+        }
+        this.topK = topK;
+    }
+
+    /**
+     * Индексирует подсказку, заменяя прежнюю с тем же ключом (например, при смене веса).
+     */
+    public void put(String key, String text, long weight) {
+        Suggestion suggestion = new Suggestion(key, text, weight);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+            suggestions.put(key, suggestion);
+            for (String term : terms(text)) {
+                insert(term, suggestion);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            return removeInternal(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Лучшие по весу подсказки, у которых текст или одно из слов начинается с префикса.
+     *
+     * @param limit не больше размера списка в узле
+     */
+    public List<Suggestion> complete(String prefix, int limit) {
+        String normalized = TrigramIndex.normalize(prefix);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < normalized.length()) {
+                Node child = node.child(normalized.charAt(i));
+                if (child == null) {
+                    return List.of();
+                }
+                int matched = commonPrefix(child.edge, normalized, i);
+                // префикс может закончиться посреди ребра — тогда подходит всё поддерево
+                if (matched < child.edge.length() && i + matched < normalized.length()) {
+                    return List.of();
+                }
+                i += matched;
+                node = child;
+            }
+            return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return suggestions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean removeInternal(String key) {
+        Suggestion suggestion = suggestions.remove(key);
+        if (suggestion == null) {
+            return false;
+        }
+        for (String term : terms(suggestion.text())) {
+            delete(term, key);
+        }
+        return true;
+    }
+
+    private void insert(String term, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+
+        Node node = root;
+        int i = 0;
+        while (i < term.length()) {
+            Node child = node.child(term.charAt(i));
+            if (child == null) {
+                child = new Node(term.substring(i));
+                node.attach(child);
+                node = child;
+                path.add(node);
+                break;
+            }
+
+            int matched = commonPrefix(child.edge, term, i);
+            if (matched < child.edge.length()) {
+                // разрезаем ребро: общая часть становится промежуточным узлом
+                Node middle = new Node(child.edge.substring(0, matched));
+                child.edge = child.edge.substring(matched);
+                middle.attach(child);
+                middle.top = child.top;
+                node.attach(middle);
+                child = middle;
+            }
+            i += matched;
+            node = child;
+            path.add(node);
+        }
+
+        node.addTerminal(suggestion);
+        recomputeTop(path);
+    }
+
+    private void delete(String term, String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+
+        Node node = root;
+        int i = 0;
+        while (i < term.length()) {
+            Node child = node.child(term.charAt(i));
+            if (child == null || !term.startsWith(child.edge, i)) {
+                return;
+            }
+            i += child.edge.length();
+            node = child;
+            path.add(node);
+        }
+
+        if (!node.removeTerminal(key)) {
+            return;
+        }
+
+        // опустевшие узлы удаляются, узел с единственным ребёнком склеивается с ним
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            if (current.hasTerminals()) {
+                break;
+            }
+            if (current.children == null || current.children.isEmpty()) {
+                path.get(depth - 1).children.remove(current.edge.charAt(0));
+                path.remove(depth);
+                continue;
+            }
+            if (current.children.size() == 1) {
+                Node only = current.children.values().iterator().next();
+                current.edge = current.edge + only.edge;
+                current.children = only.children;
+                current.terminals = only.terminals;
+                current.top = only.top;
+            }
+            break;
+        }
+
+        recomputeTop(path);
+    }
+
+    private void recomputeTop(List<Node> path) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            path.get(depth).recomputeTop(topK);
+        }
+    }
+
+    /**
+     * Нормализованный текст и его хвосты с начала каждого следующего слова.
+     */
+    private static Set<String> terms(String text) {
+        String normalized = TrigramIndex.normalize(text);
+        Set<String> terms = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return terms;
+        }
+
+        terms.add(normalized);
+        for (int i = 1; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i)) && !Character.isLetterOrDigit(normalized.charAt(i - 1))) {
+                terms.add(normalized.substring(i));
+            }
+        }
+        return terms;
+    }
+
+    private static int commonPrefix(String edge, String text, int offset) {
+        int max = Math.min(edge.length(), text.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == text.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        private String edge;
+        // дети и подсказки создаются лениво: большинство узлов — листья с одной подсказкой
+        private Map<Character, Node> children;
+        private List<Suggestion> terminals;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        Node child(char first) {
+            return children == null ? null : children.get(first);
+        }
+
+        void attach(Node child) {
+            if (children == null) {
+                children = new HashMap<>(4);
+            }
+            children.put(child.edge.charAt(0), child);
+        }
+
+        void addTerminal(Suggestion suggestion) {
+            if (terminals == null) {
+                terminals = new ArrayList<>(1);
+            }
+            terminals.add(suggestion);
+        }
+
+        boolean removeTerminal(String key) {
+            return terminals != null && terminals.removeIf(suggestion -> suggestion.key().equals(key));
+        }
+
+        boolean hasTerminals() {
+            return terminals != null && !terminals.isEmpty();
+        }
+
+        /**
+         * Top-K узла — лучшие из собственных подсказок и top-K детей. Одна подсказка может
+         * встретиться в нескольких ветвях (под разными словами), поэтому повторы отбрасываются.
+         */
+        void recomputeTop(int topK) {
+            List<Suggestion> candidates = new ArrayList<>();
+            if (terminals != null) {
+                candidates.addAll(terminals);
+            }
+            if (children != null) {
+                for (Node child : children.values()) {
+                    candidates.addAll(Arrays.asList(child.top));
+                }
+            }
+            candidates.sort(BY_WEIGHT);
+
+            List<Suggestion> result = new ArrayList<>(Math.min(topK, candidates.size()));
+            Set<String> seen = new HashSet<>();
+            for (Suggestion candidate : candidates) {
+                if (result.size() == topK) {
+                    break;
+                }
+                if (seen.add(candidate.key())) {
+                    result.add(candidate);
+                }
+            }
+            top = result.toArray(NO_SUGGESTIONS);
+        }
+    }
+}
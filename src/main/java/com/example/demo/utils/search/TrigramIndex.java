@@ -0,0 +1,240 @@
+package com.example.demo.utils.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс по триграммам для поиска подстроки без учёта регистра (ё = е).
+ * Каждому документу выдаётся внутренний номер; списки вхождений — отсортированные int[],
+ * поэтому пересекаются двоичным поиском без упаковки в объекты, а кандидаты затем сверяются с полным текстом.
+ * Номера удалённых документов выдаются снова, так что массивы и перебор ограничены
+ * наибольшим числом документов в индексе, а не числом всех put.
+ * Запросы короче трёх символов проверяются перебором.
+ */
+public final class TrigramIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    private String[] keys = new String[64];
+    private String[] texts = new String[64];
+    private int nextDocId;
+    // освободившиеся номера, выдаются раньше новых
+    private int[] freeDocIds = new int[16];
+    private int freeCount;
+
+    /**
+     * Индексирует текст под ключом, заменяя прежний текст этого ключа.
+     */
+    public void put(String key, String text) {
+        String normalized = normalize(text);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+
+            int docId = freeCount > 0 ? freeDocIds[--freeCount] : nextDocId++;
+            if (docId == keys.length) {
+                keys = Arrays.copyOf(keys, docId * 2);
+                texts = Arrays.copyOf(texts, docId * 2);
+            }
+            keys[docId] = key;
+            texts[docId] = normalized;
+            docIds.put(key, docId);
+
+            for (long trigram : trigrams(normalized)) {
+                postings.computeIfAbsent(trigram, t -> new PostingList()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            return removeInternal(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ключи документов, содержащих запрос как подстроку, в порядке внутренних номеров.
+     */
+    public List<String> search(String query) {
+        String normalized = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            if (normalized.length() < 3) {
+                return scan(normalized);
+            }
+
+            long[] queryTrigrams = trigrams(normalized);
+            int[][] lists = new int[queryTrigrams.length][];
+            int[] sizes = new int[queryTrigrams.length];
+
+            for (int i = 0; i < queryTrigrams.length; i++) {
+                PostingList list = postings.get(queryTrigrams[i]);
+                if (list == null) {
+                    return List.of();
+                }
+                lists[i] = list.ids;
+                sizes[i] = list.size;
+            }
+
+            int[] candidates = intersect(lists, sizes);
+            List<String> result = new ArrayList<>(candidates.length);
+            for (int docId : candidates) {
+                if (texts[docId].contains(normalized)) {
+                    result.add(keys[docId]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().toLowerCase(Locale.ROOT).replace('ё', 'е');
+    }
+
+    private boolean removeInternal(String key) {
+        Integer docId = docIds.remove(key);
+        if (docId == null) {
+            return false;
+        }
+
+        for (long trigram : trigrams(texts[docId])) {
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(docId) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+        keys[docId] = null;
+        texts[docId] = null;
+        if (freeCount == freeDocIds.length) {
+            freeDocIds = Arrays.copyOf(freeDocIds, freeCount * 2);
+        }
+        freeDocIds[freeCount++] = docId;
+        return true;
+    }
+
+    private List<String> scan(String normalized) {
+        List<String> result = new ArrayList<>();
+        for (int docId = 0; docId < nextDocId; docId++) {
+            if (texts[docId] != null && texts[docId].contains(normalized)) {
+                result.add(keys[docId]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Пересечение отсортированных списков: от самого короткого,
+     * в остальных — двоичный поиск с продвигающейся нижней границей.
+     */
+    private static int[] intersect(int[][] lists, int[] sizes) {
+        Integer[] order = new Integer[lists.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> sizes[i]));
+
+        int shortest = order[0];
+        int[] result = Arrays.copyOf(lists[shortest], sizes[shortest]);
+        int resultSize = result.length;
+        int[] cursors = new int[lists.length];
+
+        for (int o = 1; o < order.length && resultSize > 0; o++) {
+            int list = order[o];
+            int kept = 0;
+            for (int r = 0; r < resultSize; r++) {
+                int found = Arrays.binarySearch(lists[list], cursors[list], sizes[list], result[r]);
+                if (found >= 0) {
+                    result[kept++] = result[r];
+                    cursors[list] = found + 1;
+                } else {
+                    cursors[list] = -found - 1;
+                }
+            }
+            resultSize = kept;
+        }
+
+        return resultSize == 0 ? EMPTY : Arrays.copyOf(result, resultSize);
+    }
+
+    /**
+     * Различные триграммы текста; три символа упакованы в long.
+     */
+    private static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+
+        long[] result = new long[text.length() - 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(result);
+
+        int distinct = 1;
+        for (int i = 1; i < result.length; i++) {
+            if (result[i] != result[distinct - 1]) {
+                result[distinct++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, distinct);
+    }
+
+    private static final class PostingList {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int docId) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            // новый номер больше всех выданных; переиспользованный вставляется на своё место
+            int index = size == 0 || ids[size - 1] < docId ? size : -Arrays.binarySearch(ids, 0, size, docId) - 1;
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = docId;
+            size++;
+        }
+
+        boolean remove(int docId) {
+            int index = Arrays.binarySearch(ids, 0, size, docId);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.demo.utils.seating;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Карта занятости мест мероприятия: одно слово на ряд, бит = место, 1 — занято.
+ * Все изменения — CAS по слову ряда, без блокировок.
+ */
+public final class SeatBitmap {
+
+    private final SeatLayout layout;
+    private final AtomicLongArray rows;
+
+    public SeatBitmap(SeatLayout layout, byte[] stored) {
+        this.layout = layout;
+        this.rows = new AtomicLongArray(layout.rowCount());
+
+        if (stored != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(stored);
+            for (int row = 0; row < layout.rowCount() && buffer.remaining() >= Long.BYTES; row++) {
+                rows.set(row, buffer.getLong());
+            }
+        }
+    }
+
+    public SeatLayout layout() {
+        return layout;
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(rows.length() * Long.BYTES);
+        for (int row = 0; row < rows.length(); row++) {
+            buffer.putLong(rows.get(row));
+        }
+        return buffer.array();
+    }
+
+    public int freeSeats() {
+        int free = 0;
+        for (int row = 0; row < rows.length(); row++) {
+            free += Long.bitCount(~rows.get(row) & rowMask(row));
+        }
+        return free;
+    }
+
+    /**
+     * Лучшие свободные места: первый ряд (ближе к сцене), где есть {@code seats} мест подряд,
+     * и внутри ряда — ближе к центру. Если подряд нигде нет — свободные места с первых рядов.
+     *
+     * @return позиции мест или пустой массив, если свободных мест не хватает
+     */
+    public int[] allocateBestAvailable(int seats) {
+        if (seats <= SeatLayout.MAX_SEATS_PER_ROW) {
+            for (int row = 0; row < rows.length(); row++) {
+                int[] run = claimRun(row, seats);
+                if (run != null) {
+                    return run;
+                }
+            }
+        }
+        return claimScattered(seats);
+    }
+
+    /**
+     * Занимает ровно указанные места: все или ни одного.
+     */
+    public boolean claim(int[] positions) {
+        long[] masks = masksByRow(positions);
+        for (int row = 0; row < masks.length; row++) {
+            if (masks[row] != 0 && !claimBits(row, masks[row])) {
+                for (int claimed = 0; claimed < row; claimed++) {
+                    releaseBits(claimed, masks[claimed]);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void release(int[] positions) {
+        long[] masks = masksByRow(positions);
+        for (int row = 0; row < masks.length; row++) {
+            if (masks[row] != 0) {
+                releaseBits(row, masks[row]);
+            }
+        }
+    }
+
+    private int[] claimRun(int row, int seats) {
+        int length = layout.rowLength(row);
+        if (seats > length) {
+            return null;
+        }
+
+        while (true) {
+            long word = rows.get(row);
+            long starts = runStarts(~word & rowMask(row), seats);
+            if (starts == 0) {
+                return null;
+            }
+
+            int start = closestTo(starts, (length - seats) / 2);
+            long run = (seats == Long.SIZE ? -1L : (1L << seats) - 1) << start;
+
+            if (rows.compareAndSet(row, word, word | run)) {
+                int[] positions = new int[seats];
+                for (int i = 0; i < seats; i++) {
+                    positions[i] = row * SeatLayout.MAX_SEATS_PER_ROW + start + i;
+                }
+                return positions;
+            }
+        }
+    }
+
+    private int[] claimScattered(int seats) {
+        List<long[]> claimedRows = new ArrayList<>();
+        int remaining = seats;
+
+        for (int row = 0; row < rows.length() && remaining > 0; row++) {
+            while (true) {
+                long word = rows.get(row);
+                long free = ~word & rowMask(row);
+                long take = 0;
+                for (int i = 0; i < remaining && free != 0; i++) {
+                    long lowest = Long.lowestOneBit(free);
+                    take |= lowest;
+                    free &= ~lowest;
+                }
+                if (take == 0) {
+                    break;
+                }
+                if (rows.compareAndSet(row, word, word | take)) {
+                    claimedRows.add(new long[]{row, take});
+                    remaining -= Long.bitCount(take);
+                    break;
+                }
+            }
+        }
+
+        if (remaining > 0) {
+            for (long[] claimed : claimedRows) {
+                releaseBits((int) claimed[0], claimed[1]);
+            }
+            return new int[0];
+        }
+
+        int[] positions = new int[seats];
+        int index = 0;
+        for (long[] claimed : claimedRows) {
+            long bits = claimed[1];
+            while (bits != 0) {
+                positions[index++] = (int) claimed[0] * SeatLayout.MAX_SEATS_PER_ROW + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return positions;
+    }
+
+    private boolean claimBits(int row, long mask) {
+        while (true) {
+            long word = rows.get(row);
+            if ((word & mask) != 0) {
+                return false;
+            }
+            if (rows.compareAndSet(row, word, word | mask)) {
+                return true;
+            }
+        }
+    }
+
+    private void releaseBits(int row, long mask) {
+        while (true) {
+            long word = rows.get(row);
+            if (rows.compareAndSet(row, word, word & ~mask)) {
+                return;
+            }
+        }
+    }
+
+    private long[] masksByRow(int[] positions) {
+        long[] masks = new long[rows.length()];
+        for (int position : positions) {
+            masks[position / SeatLayout.MAX_SEATS_PER_ROW] |= 1L << (position % SeatLayout.MAX_SEATS_PER_ROW);
+        }
+        return masks;
+    }
+
+    private long rowMask(int row) {
+        int length = layout.rowLength(row);
+        return length == Long.SIZE ? -1L : (1L << length) - 1;
+    }
+
+    /**
+     * Бит p результата выставлен, если свободны все биты p..p+seats-1.
+     */
+    private static long runStarts(long free, int seats) {
+        long starts = free;
+        int covered = 1;
+        while (covered < seats) {
+            int shift = Math.min(covered, seats - covered);
+            starts &= starts >>> shift;
+            covered += shift;
+        }
+        return starts;
+    }
+
+    private static int closestTo(long candidates, int target) {
+        int best = -1;
+        while (candidates != 0) {
+            int bit = Long.numberOfTrailingZeros(candidates);
+            if (best < 0 || Math.abs(bit - target) < Math.abs(best - target)) {
+                best = bit;
+            }
+            candidates &= candidates - 1;
+        }
+        return best;
+    }
+}
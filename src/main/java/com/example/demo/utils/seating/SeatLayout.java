@@ -0,0 +1,139 @@
+package com.example.demo.utils.seating;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Схема зала: секции из рядов, в каждом ряду не больше 64 мест.
+ * Формат описания: {@code "Партер:10x20;Балкон:20,20,22"} — либо «рядов x мест»,
+ * либо длины рядов через запятую. Ряды нумеруются сквозным индексом по всем секциям,
+ * и каждому ряду соответствует одно 64-битное слово карты занятости.
+ */
+public final class SeatLayout {
+
+    public static final int MAX_SEATS_PER_ROW = Long.SIZE;
+
+    private final List<String> sectionNames = new ArrayList<>();
+    private final List<Integer> sectionFirstRows = new ArrayList<>();
+    private final int[] rowLengths;
+    private final int[] rowSections;
+    private final int totalSeats;
+
+    private SeatLayout(List<String> names, List<int[]> sectionRows) {
+        int rows = sectionRows.stream().mapToInt(r -> r.length).sum();
+        this.rowLengths = new int[rows];
+        this.rowSections = new int[rows];
+
+        int row = 0;
+        int seats = 0;
+        for (int section = 0; section < names.size(); section++) {
+            sectionNames.add(names.get(section));
+            sectionFirstRows.add(row);
+            for (int length : sectionRows.get(section)) {
+                rowLengths[row] = length;
+                rowSections[row] = section;
+                seats += length;
+                row++;
+            }
+        }
+        this.totalSeats = seats;
+    }
+
+    public static SeatLayout parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            throw new IllegalArgumentException("Схема зала не задана");
+        }
+
+        List<String> names = new ArrayList<>();
+        List<int[]> sectionRows = new ArrayList<>();
+
+        for (String part : spec.split(";")) {
+            String[] nameAndRows = part.split(":");
+            if (nameAndRows.length != 2 || nameAndRows[0].isBlank()) {
+                throw new IllegalArgumentException("Некорректная секция схемы зала: " + part);
+            }
+
+            String rowsSpec = nameAndRows[1].trim();
+            int[] rows;
+            try {
+                if (rowsSpec.contains("x")) {
+                    String[] size = rowsSpec.split("x");
+                    rows = new int[Integer.parseInt(size[0].trim())];
+                    Arrays.fill(rows, Integer.parseInt(size[1].trim()));
+                } else {
+                    String[] lengths = rowsSpec.split(",");
+                    rows = new int[lengths.length];
+                    for (int i = 0; i < lengths.length; i++) {
+                        rows[i] = Integer.parseInt(lengths[i].trim());
+                    }
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Некорректные ряды в схеме зала: " + part);
+            }
+
+            for (int length : rows) {
+                if (length < 1 || length > MAX_SEATS_PER_ROW) {
+                    throw new IllegalArgumentException(
+                            "В ряду должно быть от 1 до " + MAX_SEATS_PER_ROW + " мест: " + part);
+                }
+            }
+
+            names.add(nameAndRows[0].trim());
+            sectionRows.add(rows);
+        }
+
+        return new SeatLayout(names, sectionRows);
+    }
+
+    public int rowCount() {
+        return rowLengths.length;
+    }
+
+    public int rowLength(int row) {
+        return rowLengths[row];
+    }
+
+    public int totalSeats() {
+        return totalSeats;
+    }
+
+    /**
+     * Место как индекс бита: {@code row * 64 + (seat - 1)}.
+     */
+    public int position(String label) {
+        String[] parts = label.trim().split("/");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Место нужно указать как Секция/Ряд/Место: " + label);
+        }
+
+        int section = sectionNames.indexOf(parts[0].trim());
+        if (section < 0) {
+            throw new IllegalArgumentException("Секция не найдена: " + parts[0].trim());
+        }
+
+        int rowNumber;
+        int seat;
+        try {
+            rowNumber = Integer.parseInt(parts[1].trim());
+            seat = Integer.parseInt(parts[2].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Некорректное место: " + label);
+        }
+
+        int row = sectionFirstRows.get(section) + rowNumber - 1;
+        if (rowNumber < 1 || row >= rowLengths.length || rowSections[row] != section
+                || seat < 1 || seat > rowLengths[row]) {
+            throw new IllegalArgumentException("Такого места нет в зале: " + label);
+        }
+
+        return row * MAX_SEATS_PER_ROW + seat - 1;
+    }
+
+    public String label(int position) {
+        int row = position / MAX_SEATS_PER_ROW;
+        int section = rowSections[row];
+        int rowNumber = row - sectionFirstRows.get(section) + 1;
+        return sectionNames.get(section) + "/" + rowNumber + "/" + (position % MAX_SEATS_PER_ROW + 1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.utils.slug;
+
+import java.util.Locale;
+
+/**
+ * Адреса мероприятий латиницей: «Вечер органной музыки» → vecher-organnoy-muzyki.
+ * Кириллица транслитерируется, всё кроме букв и цифр становится одним дефисом.
+ */
+public final class Slugs {
+
+    public static final int MAX_LENGTH = 80;
+
+    private static final String CYRILLIC = "абвгдеёжзийклмнопрстуфхцчшщъыьэюя";
+    private static final String[] LATIN = {
+            "a", "b", "v", "g", "d", "e", "e", "zh", "z", "i", "y", "k", "l", "m", "n", "o", "p",
+            "r", "s", "t", "u", "f", "kh", "ts", "ch", "sh", "shch", "", "y", "", "e", "yu", "ya"
+    };
+
+    private Slugs() {
+    }
+
+    /**
+     * @return пустая строка, если в названии нет ни букв, ни цифр
+     */
+    public static String fromTitle(String title) {
+        String lower = title == null ? "" : title.toLowerCase(Locale.ROOT);
+        StringBuilder slug = new StringBuilder(lower.length());
+
+        for (int i = 0; i < lower.length() && slug.length() < MAX_LENGTH; i++) {
+            char c = lower.charAt(i);
+            int cyrillic = CYRILLIC.indexOf(c);
+            if (cyrillic >= 0) {
+                slug.append(LATIN[cyrillic]);
+            } else if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                slug.append(c);
+            } else if (!slug.isEmpty() && slug.charAt(slug.length() - 1) != '-') {
+                slug.append('-');
+            }
+        }
+
+        int end = Math.min(slug.length(), MAX_LENGTH);
+        while (end > 0 && slug.charAt(end - 1) == '-') {
+            end--;
+        }
+        return slug.substring(0, end);
+    }
+
+    /**
+     * Адрес похож на slug (а не на старый адрес по названию).
+     */
+    public static boolean isSlug(String value) {
+        if (value == null || value.isEmpty() || value.length() > MAX_LENGTH + 12) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.utils.timing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Иерархическое колесо таймеров: добавление за O(1), продвижение — по числу прошедших тиков.
+ * Сроки дальше оборота нижнего колеса уходят в колесо с более крупным тиком
+ * и спускаются вниз, когда их ячейка наступает. Элемент срабатывает не раньше срока
+ * и не позже чем через тик после него.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long intervalMillis;
+    private final List<List<Entry<T>>> buckets;
+    private final List<T> overdue = new ArrayList<>();
+
+    private long currentTime;
+    private HierarchicalTimingWheel<T> overflow;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("Некорректные параметры колеса таймеров");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.intervalMillis = tickMillis * wheelSize;
+        this.currentTime = startMillis - (startMillis % tickMillis);
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Ставит элемент на срок; уже просроченный вернётся при следующем {@link #advance}.
+     */
+    public synchronized void add(T item, long expiresAtMillis) {
+        // ячейка срабатывает в начале своего тика, поэтому срок округляется вверх
+        if (!insert(new Entry<>(item, expiresAtMillis + tickMillis - 1))) {
+            overdue.add(item);
+        }
+        size++;
+    }
+
+    /**
+     * Продвигает часы до {@code nowMillis} и возвращает все наступившие элементы.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<Entry<T>> due = new ArrayList<>();
+        collect(nowMillis, due);
+
+        List<T> expired = new ArrayList<>(overdue);
+        overdue.clear();
+
+        ArrayDeque<Entry<T>> cascading = new ArrayDeque<>(due);
+        while (!cascading.isEmpty()) {
+            Entry<T> entry = cascading.poll();
+            if (!insert(entry)) {
+                expired.add(entry.item());
+            }
+        }
+
+        size -= expired.size();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private boolean insert(Entry<T> entry) {
+        if (entry.expiresAtMillis() < currentTime + tickMillis) {
+            return false;
+        }
+        if (entry.expiresAtMillis() < currentTime + intervalMillis) {
+            long virtualId = entry.expiresAtMillis() / tickMillis;
+            buckets.get((int) (virtualId % wheelSize)).add(entry);
+            return true;
+        }
+        return overflow().insert(entry);
+    }
+
+    private void collect(long nowMillis, List<Entry<T>> due) {
+        if (nowMillis < currentTime + tickMillis) {
+            return;
+        }
+
+        long target = nowMillis - (nowMillis % tickMillis);
+        long steps = Math.min((target - currentTime) / tickMillis, wheelSize);
+        long firstSlot = currentTime / tickMillis + 1;
+
+        for (long slot = firstSlot; slot < firstSlot + steps; slot++) {
+            List<Entry<T>> bucket = buckets.get((int) (slot % wheelSize));
+            due.addAll(bucket);
+            bucket.clear();
+        }
+
+        currentTime = target;
+        if (overflow != null) {
+            overflow.collect(nowMillis, due);
+        }
+    }
+
+    private HierarchicalTimingWheel<T> overflow() {
+        if (overflow == null) {
+            overflow = new HierarchicalTimingWheel<>(intervalMillis, wheelSize, currentTime);
+        }
+        return overflow;
+    }
+
+    private record Entry<T>(T item, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.demo.services;
+
+import com.example.demo.dto.CartItemDto;
+import com.example.demo.models.entities.Event;
+import com.example.demo.models.enums.SeatReservationMode;
+import com.example.demo.repositories.BookingRepository;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.repositories.HallRepository;
+import com.example.demo.services.seats.SeatContentionFixture;
+import com.example.demo.services.seats.SeatInventoryLedger;
+import com.example.demo.services.seats.SeatMapRegistry;
+import com.example.demo.services.seats.SeatReservationStrategy;
+import com.example.demo.services.seats.SeatTransactionRunner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Встречные корзины с пересекающимися мероприятиями в разном порядке:
+ * не должно быть взаимных блокировок, частично оформленных корзин и ушедших в минус мест.
+ * <p>
+ * В обычный прогон не входит (имя не подходит под шаблоны surefire).
+ * Запуск при поднятых PostgreSQL и Redis: {@code mvn test -Dtest=CartServiceConcurrencyHarness}
+ */
+@SpringBootTest
+class CartServiceConcurrencyHarness {
+
+	private static final int EVENTS = 4;
+	private static final int INITIAL_SEATS = 100;
+	private static final int THREADS = 16;
+	private static final int CARTS_PER_THREAD = 20;
+
+	private static final Principal PRINCIPAL = () -> "user";
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private HallRepository hallRepository;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private SeatInventoryLedger seatLedger;
+
+	@Autowired
+	private SeatMapRegistry seatMaps;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private SeatContentionFixture fixture;
+
+	@BeforeEach
+	void setUp() {
+		fixture = new SeatContentionFixture(eventRepository, hallRepository, seatLedger, jdbcTemplate);
+	}
+
+	@ParameterizedTest
+	@EnumSource(SeatReservationMode.class)
+	void overlappingCartsAreAllOrNothing(SeatReservationMode mode) throws InterruptedException {
+		List<Event> events = new ArrayList<>();
+		for (int i = 0; i < EVENTS; i++) {
+			events.add(fixture.createEvent("cart", mode, "Проверка оформления корзины", INITIAL_SEATS));
+		}
+
+		SeatReservationStrategy strategy = fixture.strategyFor(mode);
+		CartService cartService = new CartServiceImpl(bookingRepository, eventRepository, authService, strategy,
+				new SeatTransactionRunner(transactionTemplate, strategy, new SimpleMeterRegistry(), 10), seatMaps);
+
+		// метка корзины → сколько бронирований она должна дать
+		Map<String, Integer> expectedBookings = new ConcurrentHashMap<>();
+		AtomicInteger unexpectedFailures = new AtomicInteger();
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+
+		for (int t = 0; t < THREADS; t++) {
+			executor.submit(() -> {
+				start.await();
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+
+				for (int i = 0; i < CARTS_PER_THREAD; i++) {
+					List<Event> shuffled = new ArrayList<>(events);
+					Collections.shuffle(shuffled, random);
+
+					List<CartItemDto> items = shuffled.subList(0, 2 + random.nextInt(EVENTS - 1)).stream()
+							.map(event -> new CartItemDto(event.getSlug(), event.getTitle(), 1 + random.nextInt(3)))
+							.toList();
+					String cartId = "cart-" + UUID.randomUUID();
+
+					try {
+						cartService.checkout(items, cartId, PRINCIPAL);
+						expectedBookings.put(cartId, items.size());
+					} catch (IllegalArgumentException | IllegalStateException e) {
+						// мест не хватило или исчерпаны повторы оптимистической блокировки
+						expectedBookings.put(cartId, 0);
+					} catch (RuntimeException e) {
+						unexpectedFailures.incrementAndGet();
+						expectedBookings.put(cartId, 0);
+					}
+				}
+				return null;
+			});
+		}
+
+		start.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+
+		fixture.flush(mode);
+
+		try {
+			assertThat(unexpectedFailures.get()).isZero();
+
+			expectedBookings.forEach((cartId, expected) -> assertThat(jdbcTemplate.queryForObject(
+					"SELECT COUNT(*) FROM bookings WHERE comment = ?", Integer.class, cartId))
+					.as("бронирования корзины %s", cartId)
+					.isEqualTo(expected));
+
+			for (Event event : events) {
+				int available = fixture.availableSeats(event);
+				int booked = fixture.bookedSeats(event);
+
+				assertThat(available).isGreaterThanOrEqualTo(0);
+				assertThat(available + booked).isEqualTo(INITIAL_SEATS);
+			}
+		} finally {
+			events.forEach(fixture::delete);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.demo.services;
+
+import com.example.demo.models.enums.EventSort;
+import com.example.demo.models.enums.EventType;
+import com.example.demo.services.search.EventFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Списки афиши читают карточки проекцией: число SQL-запросов на страницу
+ * не зависит от её размера (нет догрузки зала и жанра по каждой строке).
+ * Кэш отключён, чтобы каждый вызов доходил до базы.
+ * <p>
+ * В обычный прогон не входит (имя не подходит под шаблоны surefire).
+ * Запуск при поднятой PostgreSQL: {@code mvn test -Dtest=EventListQueryCountHarness}
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.cache.type=none"
+})
+class EventListQueryCountHarness {
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 2, 10, 100})
+	void paginatedListUsesPageQueryAndCountOnly(int pageSize) {
+		long statements = countStatements(() ->
+				eventService.allEventsPaginated(PageRequest.of(0, pageSize, Sort.by("title"))));
+
+		// страница + COUNT (COUNT не нужен, если всё уместилось на первой странице)
+		assertThat(statements).isBetween(1L, 2L);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 2, 10, 100})
+	void filteredPageUsesPageQueryAndCountOnly(int pageSize) {
+		long statements = countStatements(() -> eventService.findEventsWithFiltersPaginated(
+				null, EventType.CONCERT, null, PageRequest.of(0, pageSize, Sort.by("title"))));
+
+		assertThat(statements).isBetween(1L, 2L);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 2, 10, 100})
+	void cursorPageUsesSingleQuery(int pageSize) {
+		// фильтр и общее число берутся из индексов в памяти
+		long statements = countStatements(() -> eventService.findEventsByCursor(
+				new EventFilter(null, null, null, null, null, false), EventSort.TITLE, null, pageSize));
+
+		assertThat(statements).isEqualTo(1L);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"", "а", "концерт"})
+	void listPathsUseSingleQuery(String search) {
+		assertThat(countStatements(() -> eventService.allEvents())).isEqualTo(1L);
+		assertThat(countStatements(() -> eventService.searchEvents(search))).isEqualTo(1L);
+		assertThat(countStatements(() -> eventService.findByEventType(EventType.CONCERT))).isEqualTo(1L);
+		assertThat(countStatements(() -> eventService.findByGenreName("Джаз"))).isEqualTo(1L);
+		assertThat(countStatements(() -> eventService.findEventsWithFilters(search, null, null))).isEqualTo(1L);
+	}
+
+	private long countStatements(Runnable call) {
+		statistics.clear();
+		call.run();
+		return statistics.getPrepareStatementCount();
+	}
+}
@@ -0,0 +1,188 @@
+package com.example.demo.services.cache;
+
+import com.example.demo.config.RedisConfig;
+import com.example.demo.dto.ShowDetailedEventInfoDto;
+import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.models.enums.EventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Двоичный формат значений кэша: значения читаются такими же, какими записаны (со сжатием и без),
+ * прежний JSON читается, значение другой схемы — промах, повреждённое — SerializationException.
+ */
+class BinaryCacheValueSerializerTest {
+
+	private static final LocalDateTime DATE_TIME = LocalDateTime.of(2026, 12, 15, 19, 0, 0, 123_000_000);
+
+	private final RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer(new RedisConfig().redisObjectMapper());
+	private final BinaryCacheValueSerializer binary = new BinaryCacheValueSerializer(json, -1);
+	private final BinaryCacheValueSerializer compressing = new BinaryCacheValueSerializer(json, 0);
+
+	@Test
+	void eventListRoundTrip() {
+		List<ShowEventInfoDto> cards = cards(50);
+
+		byte[] bytes = binary.serialize(cards);
+
+		assertThat(bytes[0]).isEqualTo(BinaryCacheValueSerializer.MAGIC);
+		assertThat(bytes.length).isLessThan(json.serialize(cards).length);
+		assertThat(binary.deserialize(bytes)).usingRecursiveComparison().isEqualTo(cards);
+	}
+
+	@Test
+	void compressedEventListRoundTrip() {
+		List<ShowEventInfoDto> cards = cards(200);
+
+		byte[] plain = binary.serialize(cards);
+		byte[] compressed = compressing.serialize(cards);
+
+		assertThat(compressed.length).isLessThan(plain.length);
+		assertThat(compressing.deserialize(compressed)).usingRecursiveComparison().isEqualTo(cards);
+		// флаг сжатия в заголовке: читает любой экземпляр независимо от своего порога
+		assertThat(binary.deserialize(compressed)).usingRecursiveComparison().isEqualTo(cards);
+	}
+
+	@Test
+	void eventDetailsRoundTrip() {
+		ShowDetailedEventInfoDto details = new ShowDetailedEventInfoDto();
+		details.setTitle("Вечер органной музыки");
+		details.setSlug("vecher-organnoy-muzyki");
+		details.setDescription("Бах и Гендель");
+		details.setDateTime(DATE_TIME);
+		details.setHallName("Большой зал");
+		details.setHallAddress("ул. Бетховена, 1");
+		details.setCapacity(500);
+		details.setAvailableSeats(0);
+		details.setEventType(EventType.values()[0]);
+		details.setGenreName("Классическая музыка");
+
+		Object restored = binary.deserialize(binary.serialize(details));
+
+		assertThat(restored).isInstanceOf(ShowDetailedEventInfoDto.class);
+		assertThat(restored).usingRecursiveComparison().isEqualTo(details);
+	}
+
+	@Test
+	void nullFieldsAndScalarsRoundTrip() {
+		ShowEventInfoDto empty = new ShowEventInfoDto();
+
+		assertThat(binary.deserialize(binary.serialize(empty))).usingRecursiveComparison().isEqualTo(empty);
+		assertThat(binary.deserialize(binary.serialize(Integer.MIN_VALUE))).isEqualTo(Integer.MIN_VALUE);
+		assertThat(binary.deserialize(binary.serialize(-5L))).isEqualTo(-5L);
+		assertThat(binary.deserialize(binary.serialize(true))).isEqualTo(true);
+		assertThat(binary.deserialize(binary.serialize(""))).isEqualTo("");
+		assertThat(binary.serialize(null)).isEmpty();
+		assertThat(binary.deserialize(new byte[0])).isNull();
+	}
+
+	@Test
+	void cachedValueRoundTrip() {
+		List<ShowEventInfoDto> cards = cards(3);
+		CachedValue cached = new CachedValue(cards, 1_780_000_000_000L);
+
+		byte[] bytes = binary.serialize(cached);
+
+		assertThat(bytes[0]).isEqualTo(BinaryCacheValueSerializer.MAGIC);
+		assertThat(binary.deserialize(bytes)).usingRecursiveComparison().isEqualTo(cached);
+		assertThat(binary.deserialize(binary.serialize(new CachedValue(null, Long.MAX_VALUE))))
+				.usingRecursiveComparison().isEqualTo(new CachedValue(null, Long.MAX_VALUE));
+	}
+
+	@Test
+	void cachedValueJsonRoundTrip() {
+		CachedValue cached = new CachedValue(new ArrayList<>(cards(3)), 1_780_000_000_000L);
+
+		assertThat(json.deserialize(json.serialize(cached))).usingRecursiveComparison().isEqualTo(cached);
+	}
+
+	@Test
+	void readsPreviousSchema() {
+		List<ShowEventInfoDto> cards = cards(3);
+		byte[] bytes = binary.serialize(cards);
+		// схема 1 отличается только отсутствием конверта CachedValue
+		bytes[1] = 1;
+
+		assertThat(binary.deserialize(bytes)).usingRecursiveComparison().isEqualTo(cards);
+	}
+
+	@Test
+	void readsLegacyJson() {
+		List<ShowEventInfoDto> cards = cards(3);
+
+		byte[] legacy = json.serialize(new ArrayList<>(cards));
+
+		assertThat(binary.deserialize(legacy)).usingRecursiveComparison().isEqualTo(cards);
+	}
+
+	@Test
+	void writesUnsupportedTypesAsJson() {
+		Map<String, Integer> counts = new HashMap<>(Map.of("key", 1));
+
+		byte[] bytes = binary.serialize(counts);
+
+		assertThat(bytes[0]).isNotEqualTo(BinaryCacheValueSerializer.MAGIC);
+		assertThat(binary.deserialize(bytes)).isEqualTo(counts);
+	}
+
+	@Test
+	void unknownSchemaIsMiss() {
+		byte[] bytes = binary.serialize(cards(3));
+		bytes[1] = BinaryCacheValueSerializer.SCHEMA_VERSION + 1;
+
+		assertThat(binary.deserialize(bytes)).isNull();
+	}
+
+	@Test
+	void truncatedValueIsSerializationError() {
+		byte[] bytes = binary.serialize(cards(3));
+
+		assertThatThrownBy(() -> binary.deserialize(Arrays.copyOf(bytes, bytes.length / 2)))
+				.isInstanceOf(SerializationException.class);
+		assertThatThrownBy(() -> binary.deserialize(new byte[]{BinaryCacheValueSerializer.MAGIC}))
+				.isInstanceOf(SerializationException.class);
+	}
+
+	@Test
+	void corruptCompressedValueIsSerializationError() {
+		byte[] bytes = compressing.serialize(cards(200));
+
+		byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+		assertThatThrownBy(() -> compressing.deserialize(truncated)).isInstanceOf(SerializationException.class);
+
+		// длина тела в заголовке больше, чем могло бы дать сжатие
+		byte[] hugeLength = {BinaryCacheValueSerializer.MAGIC, BinaryCacheValueSerializer.SCHEMA_VERSION, 1,
+				(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0x10};
+		assertThatThrownBy(() -> compressing.deserialize(hugeLength)).isInstanceOf(SerializationException.class);
+	}
+
+	@Test
+	void corruptListLengthIsSerializationError() {
+		// LIST с длиной 2^28 при пустом теле
+		byte[] bytes = {BinaryCacheValueSerializer.MAGIC, BinaryCacheValueSerializer.SCHEMA_VERSION, 0,
+				5, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01};
+
+		assertThatThrownBy(() -> binary.deserialize(bytes)).isInstanceOf(SerializationException.class);
+	}
+
+	private static List<ShowEventInfoDto> cards(int count) {
+		List<ShowEventInfoDto> cards = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			cards.add(new ShowEventInfoDto("event-" + i, "Концерт №" + i, "kontsert-" + i, DATE_TIME.plusDays(i),
+					"Большой зал", i % 3 == 0 ? null : 100 - i, "/images/" + i + ".jpg", "Классическая музыка"));
+		}
+		return cards;
+	}
+}
@@ -0,0 +1,209 @@
+package com.example.demo.services.mapping;
+
+import com.example.demo.dto.AddEventDto;
+import com.example.demo.dto.BookingViewDto;
+import com.example.demo.dto.SeatHoldDto;
+import com.example.demo.dto.ShowDetailedEventInfoDto;
+import com.example.demo.dto.ShowEventInfoDto;
+import com.example.demo.dto.WaitlistEntryDto;
+import com.example.demo.models.entities.Booking;
+import com.example.demo.models.entities.Event;
+import com.example.demo.models.entities.Genre;
+import com.example.demo.models.entities.Hall;
+import com.example.demo.models.entities.SeatHold;
+import com.example.demo.models.entities.User;
+import com.example.demo.models.entities.WaitlistEntry;
+import com.example.demo.models.enums.EventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сгенерированные мапперы повторяют прежний ручной маппинг: каждое поле DTO заполнено,
+ * для отсутствующих зала и жанра подставляются значения по умолчанию.
+ * Забытое поле ловит компилятор (unmappedTargetPolicy = ERROR), здесь проверяются значения.
+ */
+class MapperVerificationTest {
+
+	private static final LocalDateTime DATE_TIME = LocalDateTime.of(2026, 12, 15, 19, 0);
+
+	private final EventMapper eventMapper = Mappers.getMapper(EventMapper.class);
+	private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+
+	@Test
+	void showEventInfoDto() {
+		ShowEventInfoDto dto = eventMapper.toShowEventInfoDto(event());
+
+		assertThat(dto.getId()).isEqualTo("event-1");
+		assertThat(dto.getTitle()).isEqualTo("Вечер органной музыки");
+		assertThat(dto.getSlug()).isEqualTo("vecher-organnoy-muzyki");
+		assertThat(dto.getDateTime()).isEqualTo(DATE_TIME);
+		assertThat(dto.getHallName()).isEqualTo("Большой зал");
+		assertThat(dto.getAvailableSeats()).isEqualTo(150);
+		assertThat(dto.getImageUrl()).isEqualTo("https://example.com/organ.jpg");
+		assertThat(dto.getGenreName()).isEqualTo("Классическая музыка");
+	}
+
+	@Test
+	void showDetailedEventInfoDto() {
+		ShowDetailedEventInfoDto dto = eventMapper.toShowDetailedEventInfoDto(event());
+
+		assertThat(dto.getTitle()).isEqualTo("Вечер органной музыки");
+		assertThat(dto.getSlug()).isEqualTo("vecher-organnoy-muzyki");
+		assertThat(dto.getDescription()).isEqualTo("Бах и Гендель");
+		assertThat(dto.getDateTime()).isEqualTo(DATE_TIME);
+		assertThat(dto.getHallName()).isEqualTo("Большой зал");
+		assertThat(dto.getHallAddress()).isEqualTo("ул. Пушкина, д. 1");
+		assertThat(dto.getCapacity()).isEqualTo(500);
+		assertThat(dto.getAvailableSeats()).isEqualTo(150);
+		assertThat(dto.getImageUrl()).isEqualTo("https://example.com/organ.jpg");
+		assertThat(dto.getEventType()).isEqualTo(EventType.CONCERT);
+		assertThat(dto.getGenreName()).isEqualTo("Классическая музыка");
+	}
+
+	@Test
+	void missingHallAndGenreUseDefaults() {
+		Event event = event();
+		event.setHall(null);
+		event.setGenre(null);
+
+		ShowEventInfoDto card = eventMapper.toShowEventInfoDto(event);
+		assertThat(card.getHallName()).isEqualTo("Не указан");
+		assertThat(card.getGenreName()).isEqualTo("Не указан");
+
+		ShowDetailedEventInfoDto details = eventMapper.toShowDetailedEventInfoDto(event);
+		assertThat(details.getHallName()).isEqualTo("Не указан");
+		assertThat(details.getHallAddress()).isEqualTo("Не указан");
+		assertThat(details.getCapacity()).isZero();
+		assertThat(details.getGenreName()).isEqualTo("Не указан");
+	}
+
+	@Test
+	void eventFromForm() {
+		AddEventDto dto = new AddEventDto();
+		dto.setTitle("Джазовый вечер");
+		dto.setDescription("Стандарты и импровизации");
+		dto.setDateTime(DATE_TIME);
+		dto.setEventType(EventType.CONCERT);
+		dto.setImageUrl("https://example.com/jazz.jpg");
+		dto.setAvailableSeats(80);
+		dto.setHallId("hall-1");
+		dto.setGenreId("genre-1");
+		dto.setHighDemand(true);
+
+		Event event = eventMapper.toEvent(dto);
+
+		assertThat(event.getId()).isNull();
+		// slug назначает EventRoutes
+		assertThat(event.getSlug()).isNull();
+		assertThat(event.getTitle()).isEqualTo("Джазовый вечер");
+		assertThat(event.getDescription()).isEqualTo("Стандарты и импровизации");
+		assertThat(event.getDateTime()).isEqualTo(DATE_TIME);
+		assertThat(event.getEventType()).isEqualTo(EventType.CONCERT);
+		assertThat(event.getImageUrl()).isEqualTo("https://example.com/jazz.jpg");
+		assertThat(event.getAvailableSeats()).isEqualTo(80);
+		assertThat(event.isHighDemand()).isTrue();
+		// зал и жанр по id подставляет EventServiceImpl
+		assertThat(event.getHall()).isNull();
+		assertThat(event.getGenre()).isNull();
+	}
+
+	@Test
+	void bookingViewDto() {
+		Booking booking = booking("У прохода");
+
+		BookingViewDto dto = bookingMapper.toBookingViewDto(booking);
+
+		assertThat(dto.getId()).isEqualTo("booking-1");
+		assertThat(dto.getEventTitle()).isEqualTo("Вечер органной музыки");
+		assertThat(dto.getEventDateTime()).isEqualTo(DATE_TIME);
+		assertThat(dto.getHallName()).isEqualTo("Большой зал");
+		assertThat(dto.getComment()).isEqualTo("У прохода");
+		assertThat(dto.getSeatsCount()).isEqualTo(2);
+		assertThat(dto.getSeatLabels()).isEqualTo("A1,A2");
+		assertThat(dto.getCreatedAt()).isEqualTo(DATE_TIME.minusDays(3));
+		assertThat(dto.getUserFullName()).isEqualTo("Иван Петров");
+		assertThat(dto.getUserEmail()).isEqualTo("ivan@example.com");
+	}
+
+	@ParameterizedTest
+	@NullAndEmptySource
+	@ValueSource(strings = "   ")
+	void blankBookingCommentUsesDefault(String comment) {
+		assertThat(bookingMapper.toBookingViewDto(booking(comment)).getComment()).isEqualTo("Без комментария");
+	}
+
+	@Test
+	void seatHoldDto() {
+		SeatHold hold = new SeatHold();
+		hold.setId("hold-1");
+		hold.setSeatsCount(3);
+		hold.setSeatLabels(null);
+		hold.setComment(null);
+		hold.setExpiresAt(DATE_TIME.minusHours(1));
+
+		SeatHoldDto dto = bookingMapper.toSeatHoldDto(hold, "Вечер органной музыки");
+
+		assertThat(dto.getId()).isEqualTo("hold-1");
+		assertThat(dto.getEventTitle()).isEqualTo("Вечер органной музыки");
+		assertThat(dto.getSeatsCount()).isEqualTo(3);
+		// у удержания пустые поля остаются пустыми — умолчание только у комментария брони
+		assertThat(dto.getSeatLabels()).isNull();
+		assertThat(dto.getComment()).isNull();
+		assertThat(dto.getExpiresAt()).isEqualTo(DATE_TIME.minusHours(1));
+	}
+
+	@Test
+	void waitlistEntryDto() {
+		WaitlistEntry entry = new WaitlistEntry();
+		entry.setId("entry-1");
+		entry.setEvent(event());
+		entry.setSeatsCount(4);
+		entry.setCreatedAt(DATE_TIME.minusDays(1));
+
+		WaitlistEntryDto dto = bookingMapper.toWaitlistEntryDto(entry);
+
+		assertThat(dto.getId()).isEqualTo("entry-1");
+		assertThat(dto.getEventTitle()).isEqualTo("Вечер органной музыки");
+		assertThat(dto.getSeatsCount()).isEqualTo(4);
+		assertThat(dto.getCreatedAt()).isEqualTo(DATE_TIME.minusDays(1));
+	}
+
+	private static Event event() {
+		Hall hall = new Hall();
+		hall.setName("Большой зал");
+		hall.setAddress("ул. Пушкина, д. 1");
+		hall.setCapacity(500);
+
+		Event event = new Event();
+		event.setId("event-1");
+		event.setTitle("Вечер органной музыки");
+		event.setSlug("vecher-organnoy-muzyki");
+		event.setDescription("Бах и Гендель");
+		event.setDateTime(DATE_TIME);
+		event.setHall(hall);
+		event.setAvailableSeats(150);
+		event.setEventType(EventType.CONCERT);
+		event.setGenre(new Genre("Классическая музыка"));
+		event.setImageUrl("https://example.com/organ.jpg");
+		return event;
+	}
+
+	private static Booking booking(String comment) {
+		Booking booking = new Booking();
+		booking.setId("booking-1");
+		booking.setCreatedAt(DATE_TIME.minusDays(3));
+		booking.setEvent(event());
+		booking.setUser(new User("ivan", "secret", "ivan@example.com", "Иван Петров", 30));
+		booking.setComment(comment);
+		booking.setSeatsCount(2);
+		booking.setSeatLabels("A1,A2");
+		return booking;
+	}
+}
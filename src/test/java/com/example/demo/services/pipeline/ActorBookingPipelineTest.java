@@ -0,0 +1,116 @@
+package com.example.demo.services.pipeline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Простаивающий актор уходит на покой вместе с датчиком глубины ящика, следующая заявка создаёт нового;
+ * при частом уходе на покой заявки не теряются и у мероприятия по-прежнему не больше одного пишущего.
+ */
+class ActorBookingPipelineTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ConcurrentMap<String, AtomicInteger> writing = new ConcurrentHashMap<>();
+	private final AtomicInteger overlaps = new AtomicInteger();
+	private final AtomicInteger written = new AtomicInteger();
+
+	private final BookingBatchWriter batchWriter = new BookingBatchWriter(null, null, null, null, null) {
+		@Override
+		public List<Optional<RuntimeException>> write(String eventId, List<BookingCommand> commands) {
+			AtomicInteger writers = writing.computeIfAbsent(eventId, id -> new AtomicInteger());
+			if (writers.incrementAndGet() > 1) {
+				overlaps.incrementAndGet();
+			}
+			Thread.yield();
+			writers.decrementAndGet();
+			written.addAndGet(commands.size());
+			return commands.stream().map(command -> Optional.<RuntimeException>empty()).toList();
+		}
+	};
+
+	private ActorBookingPipeline pipeline;
+
+	@AfterEach
+	void tearDown() {
+		pipeline.shutdown();
+	}
+
+	@Test
+	void idleActorRetiresWithItsGauge() throws InterruptedException {
+		pipeline = pipeline(Duration.ofMillis(20));
+
+		pipeline.submit(booking("a"));
+		assertThat(mailboxGauges()).isEqualTo(1);
+
+		awaitNoGauges();
+
+		pipeline.submit(booking("a"));
+		assertThat(mailboxGauges()).isEqualTo(1);
+		assertThat(written).hasValue(2);
+	}
+
+	@Test
+	void retiringActorsLoseNoCommandsAndNeverOverlapWriters() throws Exception {
+		pipeline = pipeline(Duration.ofMillis(1));
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Callable<Void>> workers = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			String eventId = "event-" + t % 2;
+			workers.add(() -> {
+				for (int i = 0; i < 300; i++) {
+					pipeline.submit(booking(eventId));
+					// пауза около времени простоя — заявки приходят как раз тогда, когда актор уходит на покой
+					LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(500_000, 1_500_000));
+				}
+				return null;
+			});
+		}
+		for (Future<Void> result : executor.invokeAll(workers)) {
+			// заявка, попавшая в ящик ушедшего актора, не дождалась бы ответа
+			result.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdownNow();
+
+		assertThat(written).hasValue(8 * 300);
+		assertThat(overlaps).hasValue(0);
+	}
+
+	private ActorBookingPipeline pipeline(Duration idleTimeout) {
+		return new ActorBookingPipeline(batchWriter, meterRegistry, 64, 16, Duration.ofSeconds(5), idleTimeout);
+	}
+
+	private static BookingCommand booking(String eventId) {
+		return new BookingCommand(eventId, null, 1, List.of(), null);
+	}
+
+	private int mailboxGauges() {
+		return meterRegistry.find("booking.actor.mailbox.depth").gauges().size();
+	}
+
+	private void awaitNoGauges() throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (mailboxGauges() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(mailboxGauges()).isZero();
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.demo.services.pipeline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Опустевшая очередь мероприятия убирается из карты; при постоянном пересоздании очередей
+ * заявки не теряются и у мероприятия по-прежнему не больше одной пачки в записи.
+ */
+class GroupCommitBookingPipelineTest {
+
+	private final ConcurrentMap<String, AtomicInteger> writing = new ConcurrentHashMap<>();
+	private final AtomicInteger overlaps = new AtomicInteger();
+	private final AtomicInteger written = new AtomicInteger();
+
+	private final BookingBatchWriter batchWriter = new BookingBatchWriter(null, null, null, null, null) {
+		@Override
+		public List<Optional<RuntimeException>> write(String eventId, List<BookingCommand> commands) {
+			AtomicInteger writers = writing.computeIfAbsent(eventId, id -> new AtomicInteger());
+			if (writers.incrementAndGet() > 1) {
+				overlaps.incrementAndGet();
+			}
+			Thread.yield();
+			writers.decrementAndGet();
+			written.addAndGet(commands.size());
+			return commands.stream().map(command -> Optional.<RuntimeException>empty()).toList();
+		}
+	};
+
+	private final GroupCommitBookingPipeline pipeline =
+			new GroupCommitBookingPipeline(batchWriter, new SimpleMeterRegistry(), 16, 200);
+
+	@AfterEach
+	void tearDown() {
+		pipeline.shutdown();
+	}
+
+	@Test
+	void drainedQueueIsRemoved() throws InterruptedException {
+		pipeline.submit(booking("a"));
+		pipeline.submit(booking("b"));
+
+		assertThat(written).hasValue(2);
+		awaitNoQueues();
+	}
+
+	@Test
+	void recreatedQueuesLoseNoCommandsAndNeverOverlapWriters() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Callable<Void>> workers = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			String eventId = "event-" + t % 2;
+			workers.add(() -> {
+				for (int i = 0; i < 300; i++) {
+					pipeline.submit(booking(eventId));
+				}
+				return null;
+			});
+		}
+		for (Future<Void> result : executor.invokeAll(workers)) {
+			// заявка, вставшая в убранную очередь, не дождалась бы ответа
+			result.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdownNow();
+
+		assertThat(written).hasValue(8 * 300);
+		assertThat(overlaps).hasValue(0);
+		awaitNoQueues();
+	}
+
+	private static BookingCommand booking(String eventId) {
+		return new BookingCommand(eventId, null, 1, List.of(), null);
+	}
+
+	// заявки получают ответ до того, как записавшая их очередь убирается из карты
+	private void awaitNoQueues() throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (pipeline.queueCount() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(pipeline.queueCount()).isZero();
+	}
+}
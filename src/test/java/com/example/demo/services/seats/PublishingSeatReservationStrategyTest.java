@@ -0,0 +1,77 @@
+package com.example.demo.services.seats;
+
+import com.example.demo.models.events.SeatsChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Признак перехода остатка через ноль берётся из результата списания и возврата,
+ * а не из повторного чтения: учёт мест в памяти возвращает места только после коммита.
+ */
+class PublishingSeatReservationStrategyTest {
+
+	private final SeatInventoryLedger ledger = new SeatInventoryLedger(null, null, null, null);
+	private final List<SeatsChangedEvent> published = new ArrayList<>();
+	private final SeatReservationStrategy strategy = new PublishingSeatReservationStrategy(
+			new LedgerSeatReservationStrategy(ledger), event -> published.add((SeatsChangedEvent) event));
+
+	@BeforeEach
+	void setUp() {
+		ledger.register("event", 4);
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	@Test
+	void reserveLastSeatsIsSoldOut() {
+		assertThat(strategy.reserve("event", 3)).isEqualTo(1);
+		assertThat(strategy.reserve("event", 1)).isZero();
+
+		assertThat(published).extracting(SeatsChangedEvent::soldOutChanged).containsExactly(false, true);
+	}
+
+	@Test
+	void releaseOnSoldOutEventIsBackOnSale() {
+		strategy.reserve("event", 4);
+		commit();
+
+		// счётчик вырастет только после коммита, но остаток известен сразу
+		assertThat(strategy.release("event", 2)).isEqualTo(2);
+		assertThat(ledger.available("event")).isZero();
+		commit();
+
+		assertThat(ledger.available("event")).isEqualTo(2);
+		assertThat(published).extracting(SeatsChangedEvent::soldOutChanged).containsExactly(true, true);
+	}
+
+	@Test
+	void releaseWhenSeatsWereFreeIsNotCrossing() {
+		strategy.reserve("event", 2);
+		commit();
+
+		// возвращается столько же, сколько было свободно, — но до возврата места были
+		assertThat(strategy.release("event", 2)).isEqualTo(4);
+		commit();
+
+		assertThat(published).extracting(SeatsChangedEvent::soldOutChanged).containsExactly(false, false);
+	}
+
+	private static void commit() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+		TransactionSynchronizationManager.initSynchronization();
+	}
+}
@@ -0,0 +1,86 @@
+package com.example.demo.services.seats;
+
+import com.example.demo.models.entities.Event;
+import com.example.demo.models.enums.SeatReservationMode;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.repositories.HallRepository;
+import com.example.demo.utils.slug.Slugs;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Общая подготовка стендов конкурентного списания мест: стратегия для каждого режима
+ * и временное мероприятие в зале без схемы, которое после прогона удаляется вместе с бронированиями.
+ */
+public final class SeatContentionFixture {
+
+	private final EventRepository eventRepository;
+	private final HallRepository hallRepository;
+	private final SeatInventoryLedger seatLedger;
+	private final JdbcTemplate jdbcTemplate;
+
+	public SeatContentionFixture(EventRepository eventRepository,
+								 HallRepository hallRepository,
+								 SeatInventoryLedger seatLedger,
+								 JdbcTemplate jdbcTemplate) {
+		this.eventRepository = eventRepository;
+		this.hallRepository = hallRepository;
+		this.seatLedger = seatLedger;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public SeatReservationStrategy strategyFor(SeatReservationMode mode) {
+		return switch (mode) {
+			case LEDGER -> new LedgerSeatReservationStrategy(seatLedger);
+			case OPTIMISTIC -> new OptimisticSeatReservationStrategy(eventRepository);
+			case PESSIMISTIC -> new PessimisticSeatReservationStrategy(eventRepository);
+			case CONDITIONAL_UPDATE -> new ConditionalUpdateSeatReservationStrategy(eventRepository);
+		};
+	}
+
+	/**
+	 * Мероприятие с уникальными названием «префикс-режим-uuid» и slug, известное журналу мест.
+	 */
+	public Event createEvent(String titlePrefix, SeatReservationMode mode, String description, int seats) {
+		Event event = new Event();
+		event.setTitle(titlePrefix + "-" + mode + "-" + UUID.randomUUID());
+		event.setSlug(Slugs.fromTitle(event.getTitle()));
+		event.setDescription(description);
+		event.setDateTime(LocalDateTime.now().plusDays(30));
+		event.setHall(hallRepository.findAll().stream()
+				.filter(hall -> hall.getSeatLayout() == null)
+				.findFirst()
+				.orElseThrow());
+		event.setAvailableSeats(seats);
+		Event saved = eventRepository.save(event);
+		seatLedger.register(saved.getId(), seats);
+		return saved;
+	}
+
+	/**
+	 * Сбрасывает накопленные журналом изменения в БД, чтобы проверять остаток запросом.
+	 */
+	public void flush(SeatReservationMode mode) {
+		if (mode == SeatReservationMode.LEDGER) {
+			seatLedger.flush();
+		}
+	}
+
+	public int availableSeats(Event event) {
+		return jdbcTemplate.queryForObject(
+				"SELECT available_seats FROM events WHERE id = ?", Integer.class, event.getId());
+	}
+
+	public int bookedSeats(Event event) {
+		return jdbcTemplate.queryForObject(
+				"SELECT COALESCE(SUM(seats_count), 0) FROM bookings WHERE event_id = ?", Integer.class, event.getId());
+	}
+
+	public void delete(Event event) {
+		jdbcTemplate.update("DELETE FROM bookings WHERE event_id = ?", event.getId());
+		jdbcTemplate.update("DELETE FROM events WHERE id = ?", event.getId());
+		seatLedger.forget(event.getId());
+	}
+}
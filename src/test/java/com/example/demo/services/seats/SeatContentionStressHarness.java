@@ -0,0 +1,195 @@
+package com.example.demo.services.seats;
+
+import com.example.demo.dto.BookingCreateDto;
+import com.example.demo.models.entities.Event;
+import com.example.demo.models.enums.SeatReservationMode;
+import com.example.demo.models.exceptions.BookingNotFoundException;
+import com.example.demo.repositories.BookingRepository;
+import com.example.demo.repositories.EventRepository;
+import com.example.demo.repositories.HallRepository;
+import com.example.demo.repositories.SeatHoldRepository;
+import com.example.demo.repositories.WaitlistEntryRepository;
+import com.example.demo.services.AuthService;
+import com.example.demo.services.BookingService;
+import com.example.demo.services.BookingServiceImpl;
+import com.example.demo.services.SeatHoldService;
+import com.example.demo.services.SeatHoldServiceImpl;
+import com.example.demo.services.mapping.BookingMapper;
+import com.example.demo.services.pipeline.BookingBatchWriter;
+import com.example.demo.services.pipeline.DirectBookingPipeline;
+import com.example.demo.services.routing.EventRoute;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузочный стенд для стратегий списания мест: много потоков бронируют и отменяют
+ * места одного мероприятия. Печатает пропускную способность, p99, число повторов
+ * и проверяет, что места не ушли в минус и сходятся с суммой бронирований.
+ * <p>
+ * В обычный прогон не входит (имя не подходит под шаблоны surefire).
+ * Запуск при поднятых PostgreSQL и Redis: {@code mvn test -Dtest=SeatContentionStressHarness}
+ */
+@SpringBootTest
+class SeatContentionStressHarness {
+
+	private static final int THREADS = 32;
+	private static final int OPERATIONS_PER_THREAD = 200;
+	private static final int INITIAL_SEATS = 500;
+
+	private static final Principal PRINCIPAL = () -> "user";
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private HallRepository hallRepository;
+
+	@Autowired
+	private SeatHoldRepository seatHoldRepository;
+
+	@Autowired
+	private WaitlistEntryRepository waitlistRepository;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private SeatInventoryLedger seatLedger;
+
+	@Autowired
+	private SeatMapRegistry seatMaps;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private BookingMapper bookingMapper;
+
+	private SeatContentionFixture fixture;
+
+	@BeforeEach
+	void setUp() {
+		fixture = new SeatContentionFixture(eventRepository, hallRepository, seatLedger, jdbcTemplate);
+	}
+
+	@ParameterizedTest
+	@EnumSource(SeatReservationMode.class)
+	void hammerSingleEvent(SeatReservationMode mode) throws InterruptedException {
+		Event event = fixture.createEvent("stress", mode, "Нагрузочный тест списания мест", INITIAL_SEATS);
+		EventRoute route = new EventRoute(event.getId(), event.getTitle(), event.getSlug());
+
+		SeatReservationStrategy strategy = fixture.strategyFor(mode);
+		SeatTransactionRunner runner = new SeatTransactionRunner(
+				transactionTemplate, strategy, new SimpleMeterRegistry(), 10);
+		BookingBatchWriter batchWriter = new BookingBatchWriter(
+				bookingRepository, eventRepository, strategy, runner, seatMaps);
+		SeatHoldService seatHoldService = new SeatHoldServiceImpl(seatHoldRepository, bookingRepository,
+				waitlistRepository, eventRepository, authService, strategy, runner, seatMaps, eventPublisher,
+				bookingMapper, 600, 1000, 900);
+		BookingService bookingService = new BookingServiceImpl(bookingRepository, authService, runner,
+				seatHoldService, new DirectBookingPipeline(batchWriter), bookingMapper);
+
+		long[] latencies = new long[THREADS * OPERATIONS_PER_THREAD];
+		AtomicInteger created = new AtomicInteger();
+		AtomicInteger soldOut = new AtomicInteger();
+		AtomicInteger cancelled = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+
+		for (int t = 0; t < THREADS; t++) {
+			int offset = t * OPERATIONS_PER_THREAD;
+			executor.submit(() -> {
+				start.await();
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+
+				for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+					long begin = System.nanoTime();
+					try {
+						if (random.nextInt(4) == 0) {
+							cancelRandomBooking(bookingService, event.getId());
+							cancelled.incrementAndGet();
+						} else {
+							BookingCreateDto dto = new BookingCreateDto();
+							dto.setSeatsCount(1 + random.nextInt(3));
+							bookingService.createBooking(route, dto, PRINCIPAL);
+							created.incrementAndGet();
+						}
+					} catch (IllegalArgumentException | BookingNotFoundException e) {
+						soldOut.incrementAndGet();
+					} catch (RuntimeException e) {
+						failed.incrementAndGet();
+					}
+					latencies[offset + i] = System.nanoTime() - begin;
+				}
+				return null;
+			});
+		}
+
+		long begin = System.nanoTime();
+		start.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+		double elapsedSeconds = (System.nanoTime() - begin) / 1e9;
+
+		fixture.flush(mode);
+
+		int available = fixture.availableSeats(event);
+		int booked = fixture.bookedSeats(event);
+		boolean invariantHeld = available >= 0 && available + booked == INITIAL_SEATS;
+
+		Arrays.sort(latencies);
+		double p99Millis = latencies[(int) Math.ceil(latencies.length * 0.99) - 1] / 1e6;
+
+		System.out.printf(
+				"%-18s %8.0f ops/s  p99=%7.2f ms  retries=%5.0f  created=%d rejected=%d cancelled=%d failed=%d  available=%d booked=%d  invariant=%s%n",
+				mode, latencies.length / elapsedSeconds, p99Millis, runner.retryCount(),
+				created.get(), soldOut.get(), cancelled.get(), failed.get(), available, booked,
+				invariantHeld ? "OK" : "VIOLATED");
+
+		fixture.delete(event);
+
+		assertThat(invariantHeld).isTrue();
+	}
+
+	private void cancelRandomBooking(BookingService bookingService, String eventId) {
+		List<String> bookingIds = jdbcTemplate.queryForList(
+				"SELECT id FROM bookings WHERE event_id = ? LIMIT 20", String.class, eventId);
+
+		if (bookingIds.isEmpty()) {
+			throw new BookingNotFoundException("Нет бронирований для отмены");
+		}
+
+		String bookingId = bookingIds.get(ThreadLocalRandom.current().nextInt(bookingIds.size()));
+		bookingService.cancelBooking(bookingId, PRINCIPAL);
+	}
+}
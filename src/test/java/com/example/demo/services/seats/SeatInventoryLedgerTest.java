@@ -0,0 +1,128 @@
+package com.example.demo.services.seats;
+
+import com.example.demo.models.events.SeatsFlushedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сброс учёта мест в БД: в пачку попадают только закоммиченные изменения,
+ * после записи публикуются сброшенные мероприятия и признак перехода остатка через ноль.
+ */
+class SeatInventoryLedgerTest {
+
+	private final List<Object[]> written = new ArrayList<>();
+	private final List<SeatsFlushedEvent> published = new ArrayList<>();
+	private boolean failWrites;
+
+	private final SeatInventoryLedger ledger = new SeatInventoryLedger(null,
+			new JdbcTemplate() {
+				@Override
+				public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+					if (failWrites) {
+						throw new IllegalStateException("БД недоступна");
+					}
+					written.addAll(batchArgs);
+					return new int[batchArgs.size()];
+				}
+			},
+			new TransactionTemplate() {
+				@Override
+				public <T> T execute(TransactionCallback<T> action) {
+					return action.doInTransaction(new SimpleTransactionStatus());
+				}
+			},
+			event -> published.add((SeatsFlushedEvent) event));
+
+	@BeforeEach
+	void setUp() {
+		ledger.register("a", 4);
+		ledger.register("b", 10);
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	@Test
+	void uncommittedChangesAreNotFlushed() {
+		ledger.reserve("a", 2);
+		ledger.flush();
+
+		assertThat(written).isEmpty();
+		assertThat(published).isEmpty();
+	}
+
+	@Test
+	void flushPublishesWrittenEvents() {
+		ledger.reserve("a", 1);
+		ledger.reserve("b", 3);
+		commit();
+		ledger.flush();
+
+		assertThat(written).extracting(row -> row[1]).containsExactlyInAnyOrder("a", "b");
+		assertThat(published).singleElement().satisfies(event -> {
+			assertThat(event.eventIds()).containsExactlyInAnyOrder("a", "b");
+			assertThat(event.soldOutChanged()).isFalse();
+		});
+
+		// второй сброс без изменений ничего не пишет и не публикует
+		ledger.flush();
+		assertThat(published).hasSize(1);
+	}
+
+	@Test
+	void soldOutAndBackOnSaleAreReported() {
+		ledger.reserve("a", 4);
+		commit();
+		ledger.flush();
+
+		ledger.release("a", 1);
+		commit();
+		ledger.flush();
+
+		ledger.reserve("b", 1);
+		commit();
+		ledger.flush();
+
+		assertThat(published).extracting(SeatsFlushedEvent::soldOutChanged).containsExactly(true, true, false);
+	}
+
+	@Test
+	void failedFlushKeepsChangesAndSoldOutForNextCycle() {
+		ledger.reserve("a", 4);
+		commit();
+
+		failWrites = true;
+		ledger.flush();
+		assertThat(published).isEmpty();
+
+		failWrites = false;
+		ledger.flush();
+		assertThat(written).singleElement().satisfies(row -> assertThat(row).containsExactly(-4, "a"));
+		assertThat(published).singleElement().satisfies(event -> {
+			assertThat(event.eventIds()).containsExactly("a");
+			assertThat(event.soldOutChanged()).isTrue();
+		});
+	}
+
+	private static void commit() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+		TransactionSynchronizationManager.initSynchronization();
+	}
+}
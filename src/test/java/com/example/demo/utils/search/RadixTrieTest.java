@@ -0,0 +1,215 @@
+package com.example.demo.utils.search;
+
+import com.example.demo.utils.search.RadixTrie.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Подсказки по префиксу: разрезание и склейка рёбер, префикс посреди ребра, ё = е,
+ * порядок по весу и ограничение top-K — в том числе после удалений.
+ */
+class RadixTrieTest {
+
+	@Test
+	void completesWholeTextAndEveryWord() {
+		RadixTrie trie = new RadixTrie(5);
+		trie.put("organ", "Вечер органной музыки", 10);
+
+		assertThat(keys(trie.complete("веч", 5))).containsExactly("organ");
+		assertThat(keys(trie.complete("органн", 5))).containsExactly("organ");
+		assertThat(keys(trie.complete("МУЗЫКИ", 5))).containsExactly("organ");
+		assertThat(trie.complete("рган", 5)).isEmpty();
+		assertThat(trie.complete("", 5)).isEmpty();
+		assertThat(trie.complete("веч", 0)).isEmpty();
+	}
+
+	@Test
+	void splitsSharedEdge() {
+		RadixTrie trie = new RadixTrie(5);
+		trie.put("orchestra", "оркестр", 1);
+		trie.put("organ", "орган", 2);
+		trie.put("or", "ор", 3);
+
+		assertThat(keys(trie.complete("ор", 5))).containsExactly("or", "organ", "orchestra");
+		assertThat(keys(trie.complete("орк", 5))).containsExactly("orchestra");
+		assertThat(keys(trie.complete("орг", 5))).containsExactly("organ");
+		assertThat(trie.complete("орн", 5)).isEmpty();
+	}
+
+	@Test
+	void prefixEndingMidEdgeMatchesSubtree() {
+		RadixTrie trie = new RadixTrie(5);
+		trie.put("jazz", "джаз-бэнд", 1);
+
+		// единственное ребро «джаз-бэнд» не разрезано
+		assertThat(keys(trie.complete("дж", 5))).containsExactly("jazz");
+		assertThat(keys(trie.complete("джаз-б", 5))).containsExactly("jazz");
+		assertThat(trie.complete("джаз-бэнды", 5)).isEmpty();
+		assertThat(trie.complete("джем", 5)).isEmpty();
+	}
+
+	@Test
+	void treatsYoAsYe() {
+		RadixTrie trie = new RadixTrie(5);
+		trie.put("tree", "Ёлка в филармонии", 1);
+		trie.put("tree-2", "Новогодняя елка", 2);
+
+		assertThat(keys(trie.complete("ёл", 5))).containsExactly("tree-2", "tree");
+		assertThat(keys(trie.complete("ЕЛКА", 5))).containsExactly("tree-2", "tree");
+	}
+
+	@Test
+	void ordersByWeightThenTextAndKeepsTopK() {
+		RadixTrie trie = new RadixTrie(3);
+		trie.put("a", "Концерт Б", 5);
+		trie.put("b", "Концерт А", 5);
+		trie.put("c", "Концерт В", 9);
+		trie.put("d", "Концерт Г", 1);
+
+		assertThat(keys(trie.complete("конц", 10))).containsExactly("c", "b", "a");
+		assertThat(keys(trie.complete("конц", 2))).containsExactly("c", "b");
+
+		// удаление из top-K поднимает следующую подсказку
+		trie.remove("c");
+		assertThat(keys(trie.complete("конц", 10))).containsExactly("b", "a", "d");
+	}
+
+	@Test
+	void textMatchingSeveralWordsIsSuggestedOnce() {
+		RadixTrie trie = new RadixTrie(5);
+		trie.put("bach", "Бах и Бахман", 1);
+
+		assertThat(keys(trie.complete("бах", 5))).containsExactly("bach");
+	}
+
+	@Test
+	void putReplacesSuggestionWithSameKey() {
+		RadixTrie trie = new RadixTrie(5);
+		trie.put("event", "Джазовый вечер", 1);
+		trie.put("other", "Джаз на крыше", 2);
+		trie.put("event", "Органный вечер", 3);
+
+		assertThat(trie.size()).isEqualTo(2);
+		assertThat(keys(trie.complete("джаз", 5))).containsExactly("other");
+		assertThat(trie.complete("вечер", 5)).extracting(Suggestion::weight).containsExactly(3L);
+	}
+
+	@Test
+	void deleteMergesSingleChildAndKeepsSiblings() {
+		RadixTrie trie = new RadixTrie(5);
+		trie.put("or", "ор", 1);
+		trie.put("organ", "орган", 2);
+		trie.put("organist", "органист", 3);
+		trie.put("orchestra", "оркестр", 4);
+
+		// узел «ор» теряет подсказку, у него два ребёнка — остаётся развилкой
+		assertThat(trie.remove("or")).isTrue();
+		assertThat(keys(trie.complete("ор", 5))).containsExactly("orchestra", "organist", "organ");
+
+		// у «орга» остаётся один ребёнок «ист» — рёбра склеиваются
+		assertThat(trie.remove("organ")).isTrue();
+		assertThat(keys(trie.complete("орга", 5))).containsExactly("organist");
+		assertThat(keys(trie.complete("органи", 5))).containsExactly("organist");
+		assertThat(trie.complete("органа", 5)).isEmpty();
+
+		// лист удаляется, развилка «ор» склеивается с оставшимся ребёнком
+		assertThat(trie.remove("orchestra")).isTrue();
+		assertThat(keys(trie.complete("о", 5))).containsExactly("organist");
+		assertThat(trie.complete("орк", 5)).isEmpty();
+
+		assertThat(trie.remove("organist")).isTrue();
+		assertThat(trie.remove("organist")).isFalse();
+		assertThat(trie.size()).isZero();
+		assertThat(trie.complete("о", 5)).isEmpty();
+	}
+
+	@Test
+	void reinsertAfterMergeSplitsAgain() {
+		RadixTrie trie = new RadixTrie(5);
+		trie.put("organ", "орган", 1);
+		trie.put("organist", "органист", 2);
+		trie.remove("organ");
+		trie.put("orgy", "оргия", 3);
+
+		assertThat(keys(trie.complete("орг", 5))).containsExactly("orgy", "organist");
+		assertThat(keys(trie.complete("орга", 5))).containsExactly("organist");
+	}
+
+	@Test
+	void matchesBruteForceAfterRandomPutsAndRemoves() {
+		String[] words = {"Вечер", "органной", "музыки", "Ёлка", "елка", "джаз", "джаз-бэнд", "Свинг",
+				"орган", "оркестр", "ор", "Классика", "класс", "рок", "Рок-Волна"};
+		int topK = 5;
+		RadixTrie trie = new RadixTrie(topK);
+		Map<String, Suggestion> model = new HashMap<>();
+		Random random = new Random(7);
+
+		for (int step = 0; step < 5000; step++) {
+			String key = "k" + random.nextInt(200);
+			if (random.nextInt(3) == 0) {
+				assertThat(trie.remove(key)).isEqualTo(model.remove(key) != null);
+			} else {
+				StringBuilder text = new StringBuilder(words[random.nextInt(words.length)]);
+				for (int i = random.nextInt(3); i > 0; i--) {
+					text.append(' ').append(words[random.nextInt(words.length)]);
+				}
+				long weight = random.nextInt(20);
+				trie.put(key, text.toString(), weight);
+				model.put(key, new Suggestion(key, text.toString(), weight));
+			}
+
+			String word = words[random.nextInt(words.length)];
+			String prefix = word.substring(0, 1 + random.nextInt(word.length()));
+			assertThat(trie.complete(prefix, topK)).as("префикс %s, шаг %d", prefix, step)
+					.isEqualTo(expected(model, prefix, topK));
+		}
+
+		for (String key : new ArrayList<>(model.keySet())) {
+			trie.remove(key);
+		}
+		assertThat(trie.size()).isZero();
+		assertThat(trie.complete("о", topK)).isEmpty();
+	}
+
+	@Test
+	void rejectsEmptyTopK() {
+		assertThatThrownBy(() -> new RadixTrie(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static List<String> keys(List<Suggestion> suggestions) {
+		return suggestions.stream().map(Suggestion::key).toList();
+	}
+
+	private static List<Suggestion> expected(Map<String, Suggestion> model, String prefix, int limit) {
+		String normalized = TrigramIndex.normalize(prefix);
+		return model.values().stream()
+				.filter(suggestion -> startsWithWord(TrigramIndex.normalize(suggestion.text()), normalized))
+				.sorted(Comparator.comparingLong(Suggestion::weight).reversed()
+						.thenComparing(Suggestion::text)
+						.thenComparing(Suggestion::key))
+				.limit(limit)
+				.toList();
+	}
+
+	private static boolean startsWithWord(String text, String prefix) {
+		if (text.startsWith(prefix)) {
+			return true;
+		}
+		for (int i = 1; i < text.length(); i++) {
+			if (Character.isLetterOrDigit(text.charAt(i)) && !Character.isLetterOrDigit(text.charAt(i - 1))
+					&& text.startsWith(prefix, i)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
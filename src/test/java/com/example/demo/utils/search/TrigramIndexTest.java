@@ -0,0 +1,172 @@
+package com.example.demo.utils.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Поиск подстроки по триграммам: короткие запросы перебором, замена текста через put,
+ * удаление с переиспользованием номеров, ё = е и совпадение с прямым перебором на случайных данных.
+ */
+class TrigramIndexTest {
+
+	@Test
+	void findsSubstringIgnoringCase() {
+		TrigramIndex index = new TrigramIndex();
+		index.put("organ", "Вечер органной музыки");
+		index.put("jazz", "Джаз в филармонии");
+
+		assertThat(index.search("ОРГАН")).containsExactly("organ");
+		assertThat(index.search("  нной муз ")).containsExactly("organ");
+		assertThat(index.search("филармонии")).containsExactly("jazz");
+		assertThat(index.search("органный")).isEmpty();
+	}
+
+	@Test
+	void candidatesAreCheckedAgainstFullText() {
+		TrigramIndex index = new TrigramIndex();
+		// все триграммы запроса «абвгд» есть, но не подряд
+		index.put("split", "абвг бвгд");
+		index.put("whole", "xабвгдx");
+
+		assertThat(index.search("абвгд")).containsExactly("whole");
+	}
+
+	@Test
+	void shortQueriesAreScanned() {
+		TrigramIndex index = new TrigramIndex();
+		index.put("a", "Ор");
+		index.put("b", "Хор");
+		index.put("c", "Рок");
+
+		assertThat(index.search("ор")).containsExactly("a", "b");
+		assertThat(index.search("к")).containsExactly("c");
+		assertThat(index.search("ок")).containsExactly("c");
+		assertThat(index.search("ж")).isEmpty();
+		// пустой запрос содержится в любом тексте
+		assertThat(index.search("")).containsExactly("a", "b", "c");
+	}
+
+	@Test
+	void treatsYoAsYe() {
+		TrigramIndex index = new TrigramIndex();
+		index.put("tree", "Ёлка в филармонии");
+		index.put("tree-2", "Новогодняя елка");
+
+		assertThat(index.search("елка")).containsExactly("tree", "tree-2");
+		assertThat(index.search("ЁЛК")).containsExactly("tree", "tree-2");
+		assertThat(index.search("ёл")).containsExactly("tree", "tree-2");
+	}
+
+	@Test
+	void putReplacesTextOfSameKey() {
+		TrigramIndex index = new TrigramIndex();
+		index.put("event", "Джазовый вечер");
+		index.put("other", "Вечер романса");
+		index.put("event", "Органный вечер");
+
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.search("джаз")).isEmpty();
+		assertThat(index.search("органн")).containsExactly("event");
+		// заменённый документ получает освободившийся номер и остаётся на прежнем месте
+		assertThat(index.search("вечер")).containsExactly("event", "other");
+	}
+
+	@Test
+	void removeDropsDocumentAndEmptyPostings() {
+		TrigramIndex index = new TrigramIndex();
+		index.put("a", "Симфонический оркестр");
+		index.put("b", "Камерный оркестр");
+
+		assertThat(index.remove("a")).isTrue();
+		assertThat(index.remove("a")).isFalse();
+		assertThat(index.remove("missing")).isFalse();
+
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.search("симф")).isEmpty();
+		assertThat(index.search("си")).isEmpty();
+		assertThat(index.search("оркестр")).containsExactly("b");
+
+		index.put("a", "Симфонический оркестр");
+		assertThat(index.search("оркестр")).containsExactly("a", "b");
+	}
+
+	@Test
+	void reusedNumbersKeepPostingsSorted() {
+		TrigramIndex index = new TrigramIndex();
+		index.put("a", "оркестр");
+		index.put("b", "оркестр");
+		index.put("c", "оркестр");
+		index.remove("a");
+		index.remove("c");
+
+		// номера 2 и 0 выдаются снова и встают в списки вхождений перед и после b
+		index.put("d", "оркестр");
+		index.put("e", "оркестр");
+		index.put("f", "оркестр");
+
+		assertThat(index.size()).isEqualTo(4);
+		assertThat(index.search("оркестр")).containsExactly("e", "b", "d", "f");
+		assertThat(index.search("кест")).containsExactly("e", "b", "d", "f");
+	}
+
+	@Test
+	void repeatedTrigramsInQueryAndText() {
+		TrigramIndex index = new TrigramIndex();
+		index.put("long", "ааааааа");
+		index.put("short", "ааа");
+
+		assertThat(index.search("аааа")).containsExactly("long");
+		assertThat(index.search("ааа")).containsExactly("long", "short");
+	}
+
+	@Test
+	void matchesBruteForceAfterRandomPutsAndRemoves() {
+		String alphabet = "абвгдеёжз ";
+		TrigramIndex index = new TrigramIndex();
+		Map<String, String> model = new LinkedHashMap<>();
+		Random random = new Random(11);
+
+		for (int step = 0; step < 3000; step++) {
+			String key = "k" + random.nextInt(150);
+			if (random.nextInt(4) == 0) {
+				assertThat(index.remove(key)).isEqualTo(model.remove(key) != null);
+			} else {
+				String text = randomText(random, alphabet, 3 + random.nextInt(12));
+				index.put(key, text);
+				model.put(key, text);
+			}
+
+			String query = randomText(random, alphabet, 1 + random.nextInt(4));
+			// порядок — по внутренним номерам, которые переиспользуются
+			assertThat(index.search(query)).as("запрос '%s', шаг %d", query, step)
+					.containsExactlyInAnyOrderElementsOf(expected(model, query));
+		}
+		assertThat(index.size()).isEqualTo(model.size());
+	}
+
+	private static String randomText(Random random, String alphabet, int length) {
+		StringBuilder text = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return text.toString();
+	}
+
+	private static List<String> expected(Map<String, String> model, String query) {
+		String normalized = TrigramIndex.normalize(query);
+		List<String> keys = new ArrayList<>();
+		model.forEach((key, text) -> {
+			if (TrigramIndex.normalize(text).contains(normalized)) {
+				keys.add(key);
+			}
+		});
+		return keys;
+	}
+}
@@ -0,0 +1,178 @@
+package com.example.demo.utils.seating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Карта занятости: «лучшие N мест» (ряд ближе к сцене, места ближе к центру, иначе вразброс),
+ * занятие конкретных мест «всё или ничего», освобождение и границы рядов.
+ */
+class SeatBitmapTest {
+
+	private static final int ROW = SeatLayout.MAX_SEATS_PER_ROW;
+
+	@Test
+	void bestAvailableTakesCentreOfFirstRow() {
+		SeatBitmap bitmap = new SeatBitmap(SeatLayout.parse("Партер:3x10"), null);
+
+		assertThat(bitmap.allocateBestAvailable(2)).containsExactly(4, 5);
+		// слева и справа от занятого центра свободные места одинаково близко — берётся левый край
+		assertThat(bitmap.allocateBestAvailable(2)).containsExactly(2, 3);
+		assertThat(bitmap.allocateBestAvailable(3)).containsExactly(6, 7, 8);
+		assertThat(bitmap.freeSeats()).isEqualTo(30 - 7);
+	}
+
+	@Test
+	void bestAvailableMovesToNextRowWhenRunDoesNotFit() {
+		SeatBitmap bitmap = new SeatBitmap(SeatLayout.parse("Партер:2x10"), null);
+		bitmap.claim(new int[]{4});
+
+		// в первом ряду подряд свободно не больше пяти мест
+		assertThat(bitmap.allocateBestAvailable(6)).containsExactly(ROW + 2, ROW + 3, ROW + 4, ROW + 5, ROW + 6, ROW + 7);
+		assertThat(bitmap.allocateBestAvailable(5)).containsExactly(5, 6, 7, 8, 9);
+	}
+
+	@Test
+	void runDoesNotCrossRowBoundary() {
+		SeatLayout layout = SeatLayout.parse("Партер:3,3");
+		SeatBitmap bitmap = new SeatBitmap(layout, null);
+		bitmap.claim(new int[]{0, ROW + 2});
+
+		// «Партер/1/2,3» и «Партер/2/1,2» — не четыре места подряд
+		int[] seats = bitmap.allocateBestAvailable(4);
+
+		assertThat(seats).containsExactly(1, 2, ROW, ROW + 1);
+		assertThat(bitmap.freeSeats()).isZero();
+	}
+
+	@Test
+	void scattersWhenNoRowHasRun() {
+		SeatBitmap bitmap = new SeatBitmap(SeatLayout.parse("Партер:2x3"), null);
+		bitmap.claim(new int[]{1, ROW + 1});
+
+		assertThat(bitmap.allocateBestAvailable(3)).containsExactly(0, 2, ROW);
+		assertThat(bitmap.freeSeats()).isEqualTo(1);
+	}
+
+	@Test
+	void notEnoughSeatsLeavesMapUnchanged() {
+		SeatBitmap bitmap = new SeatBitmap(SeatLayout.parse("Партер:2x3"), null);
+		bitmap.claim(new int[]{1});
+
+		assertThat(bitmap.allocateBestAvailable(6)).isEmpty();
+		assertThat(bitmap.freeSeats()).isEqualTo(5);
+		assertThat(bitmap.allocateBestAvailable(5)).hasSize(5);
+	}
+
+	@Test
+	void rowMaskIgnoresBitsBeyondRowLength() {
+		SeatBitmap bitmap = new SeatBitmap(SeatLayout.parse("Ложа:5"), null);
+
+		assertThat(bitmap.freeSeats()).isEqualTo(5);
+		assertThat(bitmap.allocateBestAvailable(6)).isEmpty();
+		assertThat(bitmap.allocateBestAvailable(5)).containsExactly(0, 1, 2, 3, 4);
+		assertThat(bitmap.allocateBestAvailable(1)).isEmpty();
+	}
+
+	@Test
+	void fullWordRowAndMoreThanRowLength() {
+		SeatBitmap bitmap = new SeatBitmap(SeatLayout.parse("Амфитеатр:2x64"), null);
+
+		int[] wholeRow = bitmap.allocateBestAvailable(ROW);
+		assertThat(wholeRow).hasSize(ROW);
+		assertThat(wholeRow[0]).isZero();
+		assertThat(wholeRow[ROW - 1]).isEqualTo(ROW - 1);
+
+		bitmap.release(wholeRow);
+		// больше, чем в ряду, — только вразброс по рядам
+		assertThat(bitmap.allocateBestAvailable(ROW + 1)).hasSize(ROW + 1);
+		assertThat(bitmap.freeSeats()).isEqualTo(ROW - 1);
+	}
+
+	@Test
+	void claimIsAllOrNothing() {
+		SeatBitmap bitmap = new SeatBitmap(SeatLayout.parse("Партер:3x10"), null);
+
+		assertThat(bitmap.claim(new int[]{ROW + 3})).isTrue();
+		// конфликт во втором ряду отменяет уже занятое в первом
+		assertThat(bitmap.claim(new int[]{0, 1, ROW + 3, 2 * ROW})).isFalse();
+		assertThat(bitmap.freeSeats()).isEqualTo(29);
+		assertThat(bitmap.claim(new int[]{0, 1, 2 * ROW})).isTrue();
+		assertThat(bitmap.claim(new int[]{1})).isFalse();
+		assertThat(bitmap.freeSeats()).isEqualTo(26);
+	}
+
+	@Test
+	void releaseFreesOnlyGivenSeats() {
+		SeatBitmap bitmap = new SeatBitmap(SeatLayout.parse("Партер:2x10"), null);
+		int[] first = bitmap.allocateBestAvailable(4);
+		int[] second = bitmap.allocateBestAvailable(2);
+
+		bitmap.release(first);
+
+		assertThat(bitmap.freeSeats()).isEqualTo(18);
+		assertThat(bitmap.claim(second)).isFalse();
+		assertThat(bitmap.claim(first)).isTrue();
+	}
+
+	@Test
+	void restoresFromBytes() {
+		SeatLayout layout = SeatLayout.parse("Партер:2x10;Балкон:12");
+		SeatBitmap bitmap = new SeatBitmap(layout, null);
+		bitmap.claim(new int[]{3, ROW + 9, 2 * ROW + 11});
+
+		SeatBitmap restored = new SeatBitmap(layout, bitmap.toBytes());
+
+		assertThat(restored.freeSeats()).isEqualTo(29);
+		assertThat(restored.claim(new int[]{2 * ROW + 11})).isFalse();
+		assertThat(restored.toBytes()).isEqualTo(bitmap.toBytes());
+
+		// сохранённая карта короче схемы (в зал добавили ряд) — новые ряды свободны
+		SeatBitmap grown = new SeatBitmap(SeatLayout.parse("Партер:2x10;Балкон:12,12"), bitmap.toBytes());
+		assertThat(grown.freeSeats()).isEqualTo(29 + 12);
+	}
+
+	@Test
+	void concurrentAllocationsNeverOverlap() throws Exception {
+		SeatLayout layout = SeatLayout.parse("Партер:20x30;Балкон:10x24");
+		SeatBitmap bitmap = new SeatBitmap(layout, null);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Callable<List<Integer>>> workers = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			int seats = 1 + t % 4;
+			workers.add(() -> {
+				List<Integer> taken = new ArrayList<>();
+				int[] positions;
+				while ((positions = bitmap.allocateBestAvailable(seats)).length > 0) {
+					for (int position : positions) {
+						taken.add(position);
+					}
+				}
+				return taken;
+			});
+		}
+
+		Set<Integer> all = new HashSet<>();
+		int total = 0;
+		for (Future<List<Integer>> result : executor.invokeAll(workers)) {
+			total += result.get().size();
+			all.addAll(result.get());
+		}
+		executor.shutdown();
+
+		assertThat(all).hasSize(total);
+		assertThat(total + bitmap.freeSeats()).isEqualTo(layout.totalSeats());
+		assertThat(bitmap.freeSeats()).isZero();
+	}
+}
@@ -0,0 +1,81 @@
+package com.example.demo.utils.seating;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Разбор схемы зала и перевод мест «Секция/Ряд/Место» в позиции карты и обратно,
+ * включая границы рядов и секций.
+ */
+class SeatLayoutTest {
+
+	private final SeatLayout layout = SeatLayout.parse("Партер:2x10; Балкон:12,14");
+
+	@Test
+	void parsesSectionsAndRows() {
+		assertThat(layout.rowCount()).isEqualTo(4);
+		assertThat(layout.rowLength(0)).isEqualTo(10);
+		assertThat(layout.rowLength(1)).isEqualTo(10);
+		assertThat(layout.rowLength(2)).isEqualTo(12);
+		assertThat(layout.rowLength(3)).isEqualTo(14);
+		assertThat(layout.totalSeats()).isEqualTo(46);
+	}
+
+	@Test
+	void positionIsRowWordAndSeatBit() {
+		assertThat(layout.position("Партер/1/1")).isZero();
+		assertThat(layout.position(" Партер / 2 / 10 ")).isEqualTo(SeatLayout.MAX_SEATS_PER_ROW + 9);
+		// ряды нумеруются сквозь секции: первый ряд балкона — третье слово карты
+		assertThat(layout.position("Балкон/1/1")).isEqualTo(2 * SeatLayout.MAX_SEATS_PER_ROW);
+		assertThat(layout.position("Балкон/2/14")).isEqualTo(3 * SeatLayout.MAX_SEATS_PER_ROW + 13);
+	}
+
+	@Test
+	void labelIsInverseOfPosition() {
+		for (String label : new String[]{"Партер/1/1", "Партер/2/10", "Балкон/1/12", "Балкон/2/1"}) {
+			assertThat(layout.label(layout.position(label))).isEqualTo(label);
+		}
+	}
+
+	@Test
+	void rejectsSeatsOutsideRowsAndSections() {
+		// третьего ряда в партере нет, хотя третье слово карты существует (это балкон)
+		assertThatThrownBy(() -> layout.position("Партер/3/1")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> layout.position("Партер/0/1")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> layout.position("Партер/1/11")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> layout.position("Партер/1/0")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> layout.position("Балкон/3/1")).isInstanceOf(IllegalArgumentException.class);
+		// ряды разной длины: 13-е место есть только во втором ряду балкона
+		assertThatThrownBy(() -> layout.position("Балкон/1/13")).isInstanceOf(IllegalArgumentException.class);
+		assertThat(layout.position("Балкон/2/13")).isEqualTo(3 * SeatLayout.MAX_SEATS_PER_ROW + 12);
+	}
+
+	@Test
+	void rejectsMalformedLabels() {
+		assertThatThrownBy(() -> layout.position("Ложа/1/1")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> layout.position("Партер/1")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> layout.position("Партер/один/1")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void acceptsFullWordRow() {
+		SeatLayout wide = SeatLayout.parse("Амфитеатр:1x64");
+
+		assertThat(wide.position("Амфитеатр/1/64")).isEqualTo(63);
+		assertThat(wide.label(63)).isEqualTo("Амфитеатр/1/64");
+	}
+
+	@Test
+	void rejectsMalformedSpec() {
+		assertThatThrownBy(() -> SeatLayout.parse(null)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> SeatLayout.parse(" ")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> SeatLayout.parse("Партер")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> SeatLayout.parse(" :2x10")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> SeatLayout.parse("Партер:ax10")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> SeatLayout.parse("Партер:10,,12")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> SeatLayout.parse("Партер:1x65")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> SeatLayout.parse("Партер:10,0")).isInstanceOf(IllegalArgumentException.class);
+	}
+}